@@ -0,0 +1,58 @@
+// Compara a vazao com e sem virtual threads.
+//
+//   1. ./mvnw spring-boot:run
+//      k6 run -e BASE_URL=http://localhost:8080 benchmarks/k6/virtual-threads.js
+//   2. ./mvnw spring-boot:run -Dspring-boot.run.profiles=virtual-threads
+//      k6 run -e BASE_URL=http://localhost:8080 benchmarks/k6/virtual-threads.js
+//
+// Compare http_reqs (req/s) e http_req_duration p(95) de cada cenario. Com o perfil ativo,
+// verifique tambem no log se houve avisos de "Virtual thread fixada na carrier thread".
+//
+// Ainda nao ha resultados medidos com este script: o ganho do perfil virtual-threads nao foi
+// verificado. Rode os dois cenarios contra um MySQL antes de ativa-lo em producao.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USER_EMAIL = __ENV.USER_EMAIL || 'aluno@alura.com.br'; // precisa existir na base
+const COURSE_CODE = __ENV.COURSE_CODE || 'logica';
+
+const scenario = (exec, rate) => ({
+    executor: 'constant-arrival-rate',
+    exec,
+    rate,
+    timeUnit: '1s',
+    duration: __ENV.DURATION || '1m',
+    preAllocatedVUs: 200,
+    maxVUs: 2000,
+});
+
+export const options = {
+    scenarios: {
+        home: scenario('home', Number(__ENV.HOME_RATE || 500)),
+        registration: scenario('registration', Number(__ENV.REGISTRATION_RATE || 200)),
+        adminCourses: scenario('adminCourses', Number(__ENV.ADMIN_RATE || 200)),
+    },
+    thresholds: {
+        'http_req_failed{scenario:home}': ['rate<0.01'],
+        'http_req_failed{scenario:adminCourses}': ['rate<0.01'],
+    },
+};
+
+export function home() {
+    const res = http.get(`${BASE_URL}/`);
+    check(res, { 'home 200': (r) => r.status === 200 });
+}
+
+// Matriculas repetidas respondem 400; o objetivo aqui e medir a escrita concorrente no banco.
+export function registration() {
+    const res = http.post(`${BASE_URL}/registration/new`,
+        JSON.stringify({ studentEmail: USER_EMAIL, courseCode: COURSE_CODE }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'registration respondeu': (r) => r.status === 201 || r.status === 400 });
+}
+
+export function adminCourses() {
+    const res = http.get(`${BASE_URL}/admin/courses?size=10`);
+    check(res, { 'admin courses 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,84 @@
+-- Compares the cost of joining courses to Category by name (V3 schema)
+-- against the category_id foreign key introduced in V6, at 1M courses.
+--
+-- Run against a scratch MySQL 8 schema that already has the Flyway migrations applied:
+--   mysql -u root -p alura_bench < benchmarks/sql/course-category-join.sql
+-- The script creates its own bench_* tables and drops them at the end.
+
+SET SESSION cte_max_recursion_depth = 1000000;
+
+DROP TABLE IF EXISTS bench_courses_by_name;
+DROP TABLE IF EXISTS bench_courses_by_id;
+
+CREATE TABLE bench_courses_by_name (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    INDEX idx_bench_name_category (category)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE bench_courses_by_id (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    category_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    INDEX idx_bench_id_category_status (category_id, status),
+    CONSTRAINT fk_bench_category FOREIGN KEY (category_id) REFERENCES Category(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO bench_courses_by_id (name, category_id, status)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1
+    UNION ALL
+    SELECT n + 1 FROM seq WHERE n < 1000000
+)
+SELECT CONCAT('Curso ', seq.n),
+       (SELECT MIN(id) FROM Category) + MOD(seq.n, (SELECT COUNT(*) FROM Category)),
+       IF(MOD(seq.n, 10) = 0, 'INACTIVE', 'ACTIVE')
+FROM seq;
+
+INSERT INTO bench_courses_by_name (id, name, category, status)
+SELECT b.id, b.name, cat.name, b.status
+FROM bench_courses_by_id b
+INNER JOIN Category cat ON cat.id = b.category_id;
+
+ANALYZE TABLE Category, bench_courses_by_name, bench_courses_by_id;
+
+-- Home page: categories that have at least one active course.
+EXPLAIN ANALYZE
+SELECT c.* FROM Category c
+WHERE EXISTS (SELECT 1 FROM bench_courses_by_name co WHERE co.category = c.name AND co.status = 'ACTIVE')
+ORDER BY c.`order`;
+
+EXPLAIN ANALYZE
+SELECT c.* FROM Category c
+WHERE EXISTS (SELECT 1 FROM bench_courses_by_id co WHERE co.category_id = c.id AND co.status = 'ACTIVE')
+ORDER BY c.`order`;
+
+-- Active courses of a single category.
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM bench_courses_by_name co
+INNER JOIN Category cat ON cat.name = co.category
+WHERE cat.code = 'programacao' AND co.status = 'ACTIVE';
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM bench_courses_by_id co
+INNER JOIN Category cat ON cat.id = co.category_id
+WHERE cat.code = 'programacao' AND co.status = 'ACTIVE';
+
+-- Full join, as used by the catalog snapshot.
+EXPLAIN ANALYZE
+SELECT cat.id, COUNT(*) FROM bench_courses_by_name co
+INNER JOIN Category cat ON cat.name = co.category
+WHERE co.status = 'ACTIVE'
+GROUP BY cat.id;
+
+EXPLAIN ANALYZE
+SELECT cat.id, COUNT(*) FROM bench_courses_by_id co
+INNER JOIN Category cat ON cat.id = co.category_id
+WHERE co.status = 'ACTIVE'
+GROUP BY cat.id;
+
+DROP TABLE bench_courses_by_name;
+DROP TABLE bench_courses_by_id;
@@ -0,0 +1,138 @@
+package br.com.alura.projeto.catalog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping behind {@code LoginController.home}: flat catalog rows into categories with their courses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogGroupingBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    int rows;
+
+    private CatalogSnapshotService service;
+
+    @Setup
+    public void setUp() {
+        List<CatalogEntry> entries = new ArrayList<>(rows);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < rows; i++) {
+            long categoryId = i / CatalogSnapshotService.COURSES_PER_CATEGORY + 1;
+            entries.add(new Entry(categoryId, i + 1L, createdAt, (long) rows));
+        }
+        service = new CatalogSnapshotService((categoryLimit, coursesPerCategory) -> entries, new NoTransactionManager());
+    }
+
+    @Benchmark
+    public CatalogSnapshot groupCatalog() {
+        return service.refresh();
+    }
+
+    /**
+     * Never asked for a transaction: outside a read-only caller the rebuild reads without opening one.
+     */
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+
+    private record Entry(Long categoryId, Long courseId, LocalDateTime courseCreatedAt, Long totalCourses)
+            implements CatalogEntry {
+
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public String getCategoryName() {
+            return "Categoria " + categoryId;
+        }
+
+        @Override
+        public String getCategoryCode() {
+            return "categoria-" + categoryId;
+        }
+
+        @Override
+        public String getCategoryColor() {
+            return "#00C86F";
+        }
+
+        @Override
+        public Integer getCategoryOrder() {
+            return categoryId.intValue();
+        }
+
+        @Override
+        public Long getCourseId() {
+            return courseId;
+        }
+
+        @Override
+        public String getCourseName() {
+            return "Curso " + courseId;
+        }
+
+        @Override
+        public String getCourseCode() {
+            return "curso";
+        }
+
+        @Override
+        public String getCourseInstructor() {
+            return "Paulo Silveira";
+        }
+
+        @Override
+        public String getCourseDescription() {
+            return "Descrição do curso " + courseId;
+        }
+
+        @Override
+        public LocalDateTime getCourseCreatedAt() {
+            return courseCreatedAt;
+        }
+
+        @Override
+        public Long getTotalCourses() {
+            return totalCourses;
+        }
+    }
+}
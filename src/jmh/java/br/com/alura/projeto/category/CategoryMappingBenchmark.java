@@ -0,0 +1,76 @@
+package br.com.alura.projeto.category;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Datagrid rows built by {@code CategoryController.list} and the {@link CategoryDTO} entity constructor,
+ * with the former per-row {@code HashMap} mapping kept as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryMappingBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    int rows;
+
+    private List<Category> categories;
+
+    @Setup
+    public void setUp() {
+        categories = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Category category = new Category("Categoria " + i, "categoria", "#00C86F", i);
+            category.setId(i + 1L);
+            categories.add(category);
+        }
+    }
+
+    @Benchmark
+    public List<CategoryDatagridRow> datagridRows() {
+        return categories.stream()
+                .map(CategoryDatagridRow::of)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> legacyDatagridRows() {
+        return categories.stream()
+                .map(category -> {
+                    Map<String, Object> item = new HashMap<>();
+                    item.put("id", category.getId());
+                    item.put("name", category.getName());
+                    item.put("code", category.getCode());
+                    item.put("color", category.getColor());
+                    item.put("order", category.getOrder());
+                    return item;
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public List<CategoryDTO> categoryDtos() {
+        return categories.stream()
+                .map(CategoryDTO::new)
+                .toList();
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.alura.projeto.course;
+
+import br.com.alura.projeto.category.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Datagrid rows built by {@code CourseController.list} and the {@link CourseDTO} entity constructor.
+ * {@code legacyDatagridRows} keeps the former per-row {@code HashMap} mapping as a baseline; run with
+ * {@code -Djmh.args="CourseMapping -prof gc"} to compare bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseMappingBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    int rows;
+
+    private List<Course> courses;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category("Programação", "programacao", "#00C86F", 1);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        courses = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Course course = new Course("Curso " + i, "curso", "Paulo Silveira", category, "Descrição do curso " + i);
+            course.setId(i + 1L);
+            course.setCreatedAt(createdAt.plusMinutes(i));
+            if (i % 10 == 0) {
+                course.inactivate();
+            }
+            courses.add(course);
+        }
+    }
+
+    @Benchmark
+    public List<CourseDatagridRow> datagridRows() {
+        return courses.stream()
+                .map(CourseDatagridRow::of)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> legacyDatagridRows() {
+        return courses.stream()
+                .map(course -> {
+                    Map<String, Object> item = new HashMap<>();
+                    item.put("id", course.getId());
+                    item.put("name", course.getName());
+                    item.put("code", course.getCode());
+                    item.put("instructor", course.getInstructor());
+                    item.put("category", course.getCategoryName());
+                    item.put("description", course.getDescription());
+                    item.put("status", course.getStatus().toString());
+                    item.put("createdAt", Date.from(course.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()));
+                    item.put("inactivationDate", course.getInactivationDate() != null ?
+                            Date.from(course.getInactivationDate().atZone(ZoneId.systemDefault()).toInstant()) : null);
+                    return item;
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public List<CourseDTO> courseDtos() {
+        return courses.stream()
+                .map(CourseDTO::new)
+                .toList();
+    }
+}
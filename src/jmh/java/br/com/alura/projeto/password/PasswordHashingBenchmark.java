@@ -0,0 +1,65 @@
+package br.com.alura.projeto.password;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signup throughput per PBKDF2 work factor. {@code hash} is the cost of one hash on one core;
+ * {@code signupBurst} has 64 concurrent signups share {@link PasswordHashing}'s pool, which is what
+ * {@code POST /user/newStudent} sees under load (ops/s is signups/s). The legacy MD5 baseline is in
+ * {@code EncryptUtilBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"10000", "100000", "210000", "600000"})
+    int iterations;
+
+    private Pbkdf2PasswordHasher pbkdf2;
+    private PasswordHashing passwordHashing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pbkdf2 = new Pbkdf2PasswordHasher(iterations);
+        // Fila maior que a rajada: mede-se vazão, não rejeição
+        passwordHashing = new PasswordHashing(List.of(pbkdf2), Pbkdf2PasswordHasher.ALGORITHM, 0, 1024,
+                Duration.ofMinutes(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordHashing.destroy();
+    }
+
+    @Benchmark
+    public String hash() {
+        return pbkdf2.hash("mudar123");
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String signupBurst() {
+        return passwordHashing.hash("mudar123");
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.alura.projeto.registration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping behind {@code RegistrationController.report}: each cursor row becomes a
+ * {@link RegistrationReportItem}. The result set is an in-memory stand-in so only the mapping is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationReportMappingBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    int rows;
+
+    private String[] courseNames;
+    private String[] courseCodes;
+    private long[] totals;
+    private int current;
+    private ResultSet resultSet;
+
+    @Setup
+    public void setUp() {
+        courseNames = new String[rows];
+        courseCodes = new String[rows];
+        totals = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            courseNames[i] = "Curso " + i;
+            courseCodes[i] = "curso-" + i;
+            totals[i] = rows - i;
+        }
+
+        resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getString" -> switch ((String) args[0]) {
+                        case "courseName" -> courseNames[current];
+                        case "courseCode" -> courseCodes[current];
+                        default -> "Paulo Silveira";
+                    };
+                    case "getLong" -> totals[current];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Benchmark
+    public void mapReportRows(Blackhole blackhole) throws SQLException {
+        for (current = 0; current < rows; current++) {
+            blackhole.consume(RegistrationReportReader.toReportItem(resultSet));
+        }
+    }
+}
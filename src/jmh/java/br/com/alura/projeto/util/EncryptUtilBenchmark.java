@@ -0,0 +1,45 @@
+package br.com.alura.projeto.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptUtilBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    int rows;
+
+    private String[] passwords;
+
+    @Setup
+    public void setUp() {
+        passwords = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            passwords[i] = "senha-" + i;
+        }
+    }
+
+    @Benchmark
+    public void hashPasswords(Blackhole blackhole) {
+        for (String password : passwords) {
+            blackhole.consume(EncryptUtil.toMD5(password));
+        }
+    }
+}
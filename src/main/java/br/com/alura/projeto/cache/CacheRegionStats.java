@@ -0,0 +1,11 @@
+package br.com.alura.projeto.cache;
+
+public record CacheRegionStats(String region, long hits, long misses, long puts, long elementsInMemory,
+                               double hitRatio) {
+
+    public static CacheRegionStats of(String region, long hits, long misses, long puts, long elementsInMemory) {
+        long lookups = hits + misses;
+        return new CacheRegionStats(region, hits, misses, puts, elementsInMemory,
+                lookups == 0 ? 0 : (double) hits / lookups);
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.alura.projeto.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hit/miss counters of the Hibernate second-level and query caches, per region.
+ * Counters only move when {@code hibernate.generate_statistics} is enabled.
+ */
+@RestController
+public class CacheStatisticsController {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatisticsController(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @GetMapping("/admin/cache/stats")
+    public CacheStatisticsResponse statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<CacheRegionStats> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toRegionStats(region, statistics.getCacheRegionStatistics(region)))
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new CacheStatisticsResponse(statistics.isStatisticsEnabled(), statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(), regions);
+    }
+
+    private static CacheRegionStats toRegionStats(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return null;
+        }
+        return CacheRegionStats.of(region, statistics.getHitCount(),
+                statistics.getMissCount(), statistics.getPutCount(), statistics.getElementCountInMemory());
+    }
+}
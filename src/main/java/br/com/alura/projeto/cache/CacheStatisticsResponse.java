@@ -0,0 +1,7 @@
+package br.com.alura.projeto.cache;
+
+import java.util.List;
+
+public record CacheStatisticsResponse(boolean statisticsEnabled, long queryCacheHits, long queryCacheMisses,
+                                      long queryCachePuts, List<CacheRegionStats> regions) {
+}
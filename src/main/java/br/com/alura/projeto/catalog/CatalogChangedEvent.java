@@ -0,0 +1,8 @@
+package br.com.alura.projeto.catalog;
+
+/**
+ * Published by the admin controllers whenever a category or course is written, so the catalog snapshot
+ * can be rebuilt once the transaction commits.
+ */
+public record CatalogChangedEvent(Class<?> source) {
+}
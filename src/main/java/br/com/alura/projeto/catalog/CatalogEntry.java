@@ -0,0 +1,33 @@
+package br.com.alura.projeto.catalog;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the home catalog query: a category repeated alongside each of its ranked active courses.
+ */
+public interface CatalogEntry {
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getCategoryCode();
+
+    String getCategoryColor();
+
+    Integer getCategoryOrder();
+
+    Long getCourseId();
+
+    String getCourseName();
+
+    String getCourseCode();
+
+    String getCourseInstructor();
+
+    String getCourseDescription();
+
+    LocalDateTime getCourseCreatedAt();
+
+    Long getTotalCourses();
+}
@@ -0,0 +1,41 @@
+package br.com.alura.projeto.catalog;
+
+import br.com.alura.projeto.category.Category;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CatalogRepository extends Repository<Category, Long> {
+
+    @Query(value = """
+        SELECT ranked.categoryId, ranked.categoryName, ranked.categoryCode, ranked.categoryColor,
+               ranked.categoryOrder, ranked.courseId, ranked.courseName, ranked.courseCode,
+               ranked.courseInstructor, ranked.courseDescription, ranked.courseCreatedAt, ranked.totalCourses
+        FROM (
+            SELECT cat.id AS categoryId,
+                   cat.name AS categoryName,
+                   cat.code AS categoryCode,
+                   cat.color AS categoryColor,
+                   cat.`order` AS categoryOrder,
+                   co.id AS courseId,
+                   co.name AS courseName,
+                   co.code AS courseCode,
+                   co.instructor AS courseInstructor,
+                   co.description AS courseDescription,
+                   co.created_at AS courseCreatedAt,
+                   ROW_NUMBER() OVER (PARTITION BY co.category_id ORDER BY co.id) AS courseRank,
+                   DENSE_RANK() OVER (ORDER BY cat.`order`, cat.id) AS categoryRank,
+                   COUNT(*) OVER () AS totalCourses
+            FROM courses co
+            INNER JOIN Category cat ON cat.id = co.category_id
+            WHERE co.status = 'ACTIVE'
+        ) ranked
+        WHERE ranked.categoryRank <= :categoryLimit
+          AND ranked.courseRank <= :coursesPerCategory
+        ORDER BY ranked.categoryRank, ranked.courseRank
+        """, nativeQuery = true)
+    List<CatalogEntry> findCatalogEntries(@Param("categoryLimit") int categoryLimit,
+                                          @Param("coursesPerCategory") int coursesPerCategory);
+}
@@ -0,0 +1,15 @@
+package br.com.alura.projeto.catalog;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of the public catalog (categories with their first active courses already grouped).
+ * A new instance with a higher version replaces the previous one whenever the catalog changes.
+ */
+public record CatalogSnapshot(long version, List<CategoryWithCourses> categories, int totalCourses, Instant builtAt) {
+
+    public CatalogSnapshot {
+        categories = List.copyOf(categories);
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.alura.projeto.catalog;
+
+import br.com.alura.projeto.category.CategoryDTO;
+import br.com.alura.projeto.config.PrimaryReads;
+import br.com.alura.projeto.course.CourseDTO;
+import br.com.alura.projeto.course.CourseStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class CatalogSnapshotService {
+
+    static final int CATEGORY_LIMIT = 9;
+    static final int COURSES_PER_CATEGORY = 4;
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final CatalogRepository catalogRepository;
+    private final PrimaryReads primaryReads;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    // ReentrantLock instead of synchronized: rebuild() blocks on JDBC and must not pin virtual threads
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public CatalogSnapshotService(CatalogRepository catalogRepository, PlatformTransactionManager transactionManager) {
+        this.catalogRepository = catalogRepository;
+        // The rebuild follows the commit that triggered it, which the replica may not have yet
+        this.primaryReads = new PrimaryReads(transactionManager);
+    }
+
+    public CatalogSnapshot current() {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        rebuildLock.lock();
+        try {
+            snapshot = current.get();
+            return snapshot != null ? snapshot : rebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public CatalogSnapshot refresh() {
+        rebuildLock.lock();
+        try {
+            return rebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        current.set(null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao reconstruir o catálogo após alteração em {}; será reconstruído na próxima leitura",
+                    event.source().getSimpleName(), e);
+            invalidate();
+        }
+    }
+
+    private CatalogSnapshot rebuild() {
+        List<CatalogEntry> entries = primaryReads.read(
+                () -> catalogRepository.findCatalogEntries(CATEGORY_LIMIT, COURSES_PER_CATEGORY));
+        if (entries == null) {
+            entries = List.of();
+        }
+
+        Map<Long, CategoryDTO> categories = new LinkedHashMap<>();
+        Map<Long, List<CourseDTO>> coursesByCategory = new LinkedHashMap<>();
+        for (CatalogEntry entry : entries) {
+            categories.computeIfAbsent(entry.getCategoryId(), id -> new CategoryDTO(id, entry.getCategoryName(),
+                    entry.getCategoryCode(), entry.getCategoryColor(), entry.getCategoryOrder()));
+            coursesByCategory.computeIfAbsent(entry.getCategoryId(), id -> new ArrayList<>(COURSES_PER_CATEGORY))
+                    .add(new CourseDTO(entry.getCourseId(), entry.getCourseName(), entry.getCourseCode(),
+                            entry.getCourseInstructor(), entry.getCategoryName(), entry.getCourseDescription(),
+                            CourseStatus.ACTIVE, entry.getCourseCreatedAt(), null));
+        }
+
+        List<CategoryWithCourses> categoriesWithCourses = categories.values().stream()
+                .map(category -> new CategoryWithCourses(category, coursesByCategory.get(category.id())))
+                .toList();
+        int totalCourses = entries.isEmpty() ? 0 : entries.get(0).getTotalCourses().intValue();
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(versions.incrementAndGet(), categoriesWithCourses,
+                totalCourses, Instant.now());
+        current.set(snapshot);
+        return snapshot;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.alura.projeto.catalog;
+
+import br.com.alura.projeto.category.CategoryDTO;
+import br.com.alura.projeto.course.CourseDTO;
+
+import java.util.List;
+
+public record CategoryWithCourses(CategoryDTO category, List<CourseDTO> courses) {
+
+    public CategoryWithCourses {
+        courses = List.copyOf(courses);
+    }
+}
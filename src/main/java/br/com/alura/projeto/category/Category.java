@@ -1,26 +1,38 @@
 package br.com.alura.projeto.category;
 
+import br.com.alura.projeto.datagrid.EntityCountListener;
+import br.com.alura.projeto.existence.ExistenceFilterListener;
+import br.com.alura.projeto.id.PooledTableId;
+import br.com.alura.projeto.id.PreallocatedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.validator.constraints.Length;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Category")
+@Table(name = "Category", uniqueConstraints = @UniqueConstraint(name = Category.CODE_CONSTRAINT, columnNames = "code"))
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "category")
+@EntityListeners({EntityCountListener.class, ExistenceFilterListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Category {
+public class Category implements PreallocatedId {
+
+    public static final String CODE_CONSTRAINT = "UC_Category_Code";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId("Category")
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -41,6 +53,11 @@ public class Category {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Long preallocatedId;
+
     public Category(String name, String code, String color, int order) {
         this.name = name;
         this.code = code;
@@ -1,12 +1,25 @@
 package br.com.alura.projeto.category;
 
+import br.com.alura.projeto.catalog.CatalogChangedEvent;
+import br.com.alura.projeto.datagrid.DatagridAction;
+import br.com.alura.projeto.datagrid.DatagridColumn;
+import br.com.alura.projeto.datagrid.EntityCountService;
+import br.com.alura.projeto.datagrid.KeysetCursor;
+import br.com.alura.projeto.datagrid.KeysetCursors;
+import br.com.alura.projeto.id.EntityIds;
+import br.com.alura.projeto.util.ConstraintViolations;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Controller;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,96 +27,118 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Controller
 public class CategoryController {
 
+    private static final Sort LIST_SORT = Sort.by(Sort.Order.asc("order"), Sort.Order.asc("id"));
+
+    private static final List<DatagridColumn> DATAGRID_COLUMNS = List.of(
+            DatagridColumn.text("name", "Nome"),
+            DatagridColumn.text("code", "Código"),
+            DatagridColumn.text("color", "Cor"),
+            DatagridColumn.number("order", "Ordem"));
+
+    private static final List<DatagridAction> DATAGRID_ACTIONS =
+            List.of(DatagridAction.edit("Editar", "/admin/category/edit/"));
+
+    private static final Map<String, Function<String, ?>> CURSOR_PARSERS =
+            Map.of("order", Integer::valueOf, "id", Long::valueOf);
+
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityCountService entityCountService;
+    private final EntityIds entityIds;
 
-    public CategoryController(CategoryRepository categoryRepository) {
+    public CategoryController(CategoryRepository categoryRepository, ApplicationEventPublisher eventPublisher,
+                              EntityCountService entityCountService, EntityIds entityIds) {
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.entityCountService = entityCountService;
+        this.entityIds = entityIds;
     }
 
     @GetMapping("/admin/categories")
     public String list(@RequestParam(defaultValue = "0") int page,
                        @RequestParam(defaultValue = "10") int size,
+                       @RequestParam(required = false) String cursor,
                        Model model) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("order").ascending());
-        Page<Category> categoryPage = categoryRepository.findAll(pageable);
-
-        List<Map<String, Object>> items = categoryPage.getContent().stream()
-                .map(category -> {
-                    Map<String, Object> item = new HashMap<>();
-                    item.put("id", category.getId());
-                    item.put("name", category.getName());
-                    item.put("code", category.getCode());
-                    item.put("color", category.getColor());
-                    item.put("order", category.getOrder());
-                    return item;
-                })
-                .toList();
+        if (cursor != null) {
+            return listByCursor(cursor, size, model);
+        }
 
-        List<Map<String, Object>> columns = new ArrayList<>();
-        columns.add(createColumn("name", "Nome", "text"));
-        columns.add(createColumn("code", "Código", "text"));
-        columns.add(createColumn("color", "Cor", "text"));
-        columns.add(createColumn("order", "Ordem", "number"));
+        Pageable pageable = PageRequest.of(page, size, LIST_SORT);
+        Page<Category> categoryPage = PageableExecutionUtils.getPage(categoryRepository.findAllBy(pageable), pageable,
+                () -> entityCountService.count(Category.class));
 
-        List<Map<String, Object>> actions = new ArrayList<>();
-        actions.add(createAction("edit", "Editar", "/admin/category/edit/", "id"));
+        addDatagridAttributes(model, categoryPage.getContent(), size);
 
         int totalPages = categoryPage.getTotalPages();
         int currentPage = page;
         int startPage = Math.max(0, currentPage - 2);
         int endPage = Math.min(totalPages - 1, currentPage + 2);
 
-        model.addAttribute("datagridTitle", "Categorias");
-        model.addAttribute("datagridNewUrl", "/admin/category/new");
-        model.addAttribute("datagridNewText", "Nova Categoria");
-        model.addAttribute("datagridItems", items);
-        model.addAttribute("datagridColumns", columns);
-        model.addAttribute("datagridActions", actions);
         model.addAttribute("datagridCurrentPage", currentPage);
         model.addAttribute("datagridTotalPages", totalPages);
         model.addAttribute("datagridStartPage", startPage);
         model.addAttribute("datagridEndPage", endPage);
-        model.addAttribute("datagridItemsPerPage", size);
         model.addAttribute("datagridTotalItems", categoryPage.getTotalElements());
         model.addAttribute("datagridStartItem", page * size + 1);
         model.addAttribute("datagridEndItem", Math.min((long) (page + 1) * size, categoryPage.getTotalElements()));
 
+        if (categoryPage.hasNext()) {
+            Category last = categoryPage.getContent().get(categoryPage.getNumberOfElements() - 1);
+            model.addAttribute("datagridSeekCursor", KeysetCursors.nextOf(cursorKeys(last)));
+        }
+
         return "admin/category/list";
     }
-    
-    private Map<String, Object> createColumn(String field, String label, String type) {
-        Map<String, Object> column = new HashMap<>();
-        column.put("field", field);
-        column.put("label", label);
-        column.put("type", type);
-        return column;
+
+    private String listByCursor(String cursor, int size, Model model) {
+        KeysetScrollPosition position = KeysetCursor.parseOrStart(cursor, CURSOR_PARSERS);
+        Window<Category> window = categoryRepository.findBy(position, LIST_SORT, Limit.of(size));
+        KeysetCursors cursors = KeysetCursors.of(window, position);
+
+        addDatagridAttributes(model, window.getContent(), size);
+        model.addAttribute("datagridKeyset", true);
+        model.addAttribute("datagridPrevCursor", cursors.previous());
+        model.addAttribute("datagridNextCursor", cursors.next());
+
+        return "admin/category/list";
     }
-    
-    private Map<String, Object> createAction(String type, String label, String url, String idField) {
-        Map<String, Object> action = new HashMap<>();
-        action.put("type", type);
-        action.put("label", label);
-        action.put("url", url);
-        action.put("idField", idField);
-        return action;
+
+    private void addDatagridAttributes(Model model, List<Category> categories, int size) {
+        List<CategoryDatagridRow> items = categories.stream()
+                .map(CategoryDatagridRow::of)
+                .toList();
+
+        model.addAttribute("datagridTitle", "Categorias");
+        model.addAttribute("datagridNewUrl", "/admin/category/new");
+        model.addAttribute("datagridNewText", "Nova Categoria");
+        model.addAttribute("datagridItems", items);
+        model.addAttribute("datagridColumns", DATAGRID_COLUMNS);
+        model.addAttribute("datagridActions", DATAGRID_ACTIONS);
+        model.addAttribute("datagridItemsPerPage", size);
     }
 
+    private static Map<String, Object> cursorKeys(Category category) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("order", category.getOrder());
+        keys.put("id", category.getId());
+        return keys;
+    }
+    
     @GetMapping("/admin/category/new")
     public String create(NewCategoryForm newCategory, Model model) {
         return "admin/category/newForm";
     }
 
-    @Transactional
     @PostMapping("/admin/category/new")
     public String save(@Valid NewCategoryForm form, BindingResult result, Model model) {
 
@@ -111,11 +146,12 @@ public class CategoryController {
             return create(form, model);
         }
 
-        if (categoryRepository.existsByCode(form.getCode())) {
+        if (!saved(form.toModel())) {
+            result.rejectValue("code", "error.code", "Código já existe");
             return create(form, model);
         }
 
-        categoryRepository.save(form.toModel());
+        eventPublisher.publishEvent(new CatalogChangedEvent(Category.class));
         return "redirect:/admin/categories";
     }
 
@@ -136,7 +172,6 @@ public class CategoryController {
         return "admin/category/editForm";
     }
 
-    @Transactional
     @PostMapping("/admin/category/edit/{id}")
     public String update(@PathVariable Long id, @Valid EditCategoryForm form, BindingResult result, Model model) {
         
@@ -152,16 +187,34 @@ public class CategoryController {
         
         Category category = categoryOpt.get();
 
-        if (!category.getCode().equals(form.getCode()) && categoryRepository.existsByCode(form.getCode())) {
+        form.updateCategory(category);
+        if (!saved(category)) {
             result.rejectValue("code", "error.code", "Código já existe");
             model.addAttribute("categoryId", id);
             return "admin/category/editForm";
         }
-        
-        form.updateCategory(category);
-        categoryRepository.save(category);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Category.class));
         
         return "redirect:/admin/categories";
     }
 
+    /**
+     * No lookup before the write: {@code UC_Category_Code} decides, with the column's own collation, so
+     * a taken code costs the failed statement alone and comes back as {@code false}.
+     */
+    private boolean saved(Category category) {
+        if (category.getId() == null) {
+            entityIds.preallocate(category);
+        }
+        try {
+            categoryRepository.saveAndFlush(category);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, Category.CODE_CONSTRAINT)) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
 }
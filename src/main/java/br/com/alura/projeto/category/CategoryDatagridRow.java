@@ -0,0 +1,18 @@
+package br.com.alura.projeto.category;
+
+import lombok.Value;
+
+@Value
+public class CategoryDatagridRow {
+
+    Long id;
+    String name;
+    String code;
+    String color;
+    int order;
+
+    public static CategoryDatagridRow of(Category category) {
+        return new CategoryDatagridRow(category.getId(), category.getName(), category.getCode(),
+                category.getColor(), category.getOrder());
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.alura.projeto.category;
+
+import lombok.Value;
+
+/**
+ * Lightweight category entry for form dropdowns. Getter-based so {@code form:options} and JSP EL can read it.
+ */
+@Value
+public class CategoryOption {
+
+    Long id;
+    String name;
+    String color;
+}
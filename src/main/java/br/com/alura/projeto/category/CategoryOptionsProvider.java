@@ -0,0 +1,84 @@
+package br.com.alura.projeto.category;
+
+import br.com.alura.projeto.catalog.CatalogChangedEvent;
+import br.com.alura.projeto.config.PrimaryReads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves the category dropdown options already sorted by {@code order}, loading them once and reloading
+ * only after a category write commits.
+ */
+@Service
+public class CategoryOptionsProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryOptionsProvider.class);
+
+    private final CategoryRepository categoryRepository;
+    private final PrimaryReads primaryReads;
+
+    private final AtomicReference<List<CategoryOption>> current = new AtomicReference<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public CategoryOptionsProvider(CategoryRepository categoryRepository, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        // Reloads come right after a category commit; a lagging replica would bring back the old list
+        this.primaryReads = new PrimaryReads(transactionManager);
+    }
+
+    public List<CategoryOption> options() {
+        List<CategoryOption> options = current.get();
+        if (options != null) {
+            return options;
+        }
+
+        reloadLock.lock();
+        try {
+            options = current.get();
+            return options != null ? options : reload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public List<CategoryOption> refresh() {
+        reloadLock.lock();
+        try {
+            return reload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        current.set(null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.source() != Category.class) {
+            return;
+        }
+
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao recarregar as opções de categoria; serão recarregadas na próxima leitura", e);
+            invalidate();
+        }
+    }
+
+    private List<CategoryOption> reload() {
+        List<CategoryOption> options = List.copyOf(
+                primaryReads.read(() -> categoryRepository.findAllOptions()));
+        current.set(options);
+        return options;
+    }
+}
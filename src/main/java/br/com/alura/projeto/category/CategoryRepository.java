@@ -1,7 +1,15 @@
 package br.com.alura.projeto.category;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
@@ -9,14 +17,17 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     boolean existsByCode(String code);
 
+    List<Category> findAllBy(Pageable pageable);
+
+    Window<Category> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+
     @Query("SELECT c FROM Category c ORDER BY c.order ASC")
     List<Category> findAllOrderedByOrder();
     
-    @Query("""
-        SELECT DISTINCT c FROM Category c
-        INNER JOIN Course co ON c.name = co.category
-        WHERE co.status = 'ACTIVE'
-        ORDER BY c.order
-        """)
-    List<Category> findTop9CategoriesWithActiveCourses();
+    @Query("SELECT new br.com.alura.projeto.category.CategoryOption(c.id, c.name, c.color) FROM Category c ORDER BY c.order, c.id")
+    List<CategoryOption> findAllOptions();
 }
\ No newline at end of file
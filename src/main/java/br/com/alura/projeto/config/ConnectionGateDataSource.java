@@ -0,0 +1,152 @@
+package br.com.alura.projeto.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds how many callers may hold or wait for a pooled connection at once. With virtual threads
+ * every request gets its own thread, so without this gate thousands of them would pile up inside
+ * the pool; here they queue fairly on a semaphore and give up after {@code acquireTimeout}.
+ * <p>
+ * A thread that already holds a gated connection and asks for another one goes straight to the
+ * pool: waiting for a permit there could deadlock once every permit is held by such a thread. Size
+ * the gate below the pool so those nested connections find one free.
+ */
+public class ConnectionGateDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public ConnectionGateDataSource(DataSource target, int maxConcurrent, Duration acquireTimeout) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return open(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return open(() -> super.getConnection(username, password));
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    private Connection open(ConnectionSource source) throws SQLException {
+        AtomicInteger heldByThread = held.get();
+        boolean nested = heldByThread.get() > 0;
+        if (!nested) {
+            acquire();
+        }
+        try {
+            Connection connection = source.get();
+            heldByThread.incrementAndGet();
+            return gated(connection, heldByThread, !nested);
+        } catch (SQLException | RuntimeException e) {
+            if (!nested) {
+                permits.release();
+            }
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Tempo esgotado aguardando conexão com o banco após " + acquireTimeout.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão com o banco", e);
+        }
+    }
+
+    private Connection gated(Connection connection, AtomicInteger heldByThread, boolean permit) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ReleaseOnClose(connection, heldByThread, permit));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private final class ReleaseOnClose implements InvocationHandler {
+
+        private final Connection target;
+        // The counter of the opening thread, so a close from another thread still balances it
+        private final AtomicInteger heldByThread;
+        private final boolean permit;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnClose(Connection target, AtomicInteger heldByThread, boolean permit) {
+            this.target = target;
+            this.heldByThread = heldByThread;
+            this.permit = permit;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            heldByThread.decrementAndGet();
+                            if (permit) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    return null;
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
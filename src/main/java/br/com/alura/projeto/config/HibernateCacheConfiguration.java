@@ -0,0 +1,35 @@
+package br.com.alura.projeto.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+
+/**
+ * Hands Hibernate an in-process Caffeine {@link CacheManager} for the second-level and query caches.
+ * Built here rather than through {@code hibernate.javax.cache.uri} because Hibernate turns that URI into a
+ * file/jar URL, which Caffeine cannot read from inside the packaged jar and silently replaces with defaults.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class HibernateCacheConfiguration {
+
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(
+            @Value("${app.hibernate-cache.config:classpath:hibernate-cache.conf}") URI config) {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(config, HibernateCacheConfiguration.class.getClassLoader());
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
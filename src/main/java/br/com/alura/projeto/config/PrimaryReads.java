@@ -0,0 +1,32 @@
+package br.com.alura.projeto.config;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a read on the primary whatever the caller's transaction. Only a read-only transaction would send it
+ * to the replica (see {@link ReadReplicaRoutingDataSource}), so that case gets a read-write transaction of
+ * its own; anywhere else the read runs as is and still sees the caller's uncommitted writes.
+ */
+public class PrimaryReads {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PrimaryReads(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> T read(Supplier<T> query) {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            return query.get();
+        }
+        return transactionTemplate.execute(status -> query.get());
+    }
+}
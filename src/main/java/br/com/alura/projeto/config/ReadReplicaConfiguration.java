@@ -0,0 +1,61 @@
+package br.com.alura.projeto.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Active when {@code app.datasource.replica.url} is set: the primary pool keeps using {@code spring.datasource.*}
+ * and a second pool points at the replica. The application-wide {@link DataSource} routes between them.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    HikariDataSource replicaDataSource(ReadReplicaProperties properties) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.url())
+                .username(properties.username())
+                .password(properties.password())
+                .driverClassName(properties.driverClassName())
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(properties.maximumPoolSize());
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                        ReadReplicaProperties properties) {
+        return new ReplicaLagMonitor(replicaDataSource, properties.lagQuery(), properties.maxLag());
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                          @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                          ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+}
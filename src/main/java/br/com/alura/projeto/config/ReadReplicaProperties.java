@@ -0,0 +1,24 @@
+package br.com.alura.projeto.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Connection and lag settings of the optional read replica ({@code app.datasource.replica.*}).
+ *
+ * @param lagQuery query run against the replica to measure its lag in seconds. Reads the
+ *                 {@code Seconds_Behind_Source} column when present (MySQL {@code SHOW REPLICA STATUS}),
+ *                 otherwise the first column; no rows means the server is not replicating and has no lag.
+ */
+@ConfigurationProperties("app.datasource.replica")
+public record ReadReplicaProperties(String url,
+                                    String username,
+                                    String password,
+                                    String driverClassName,
+                                    @DefaultValue("10") int maximumPoolSize,
+                                    @DefaultValue("PT5S") Duration maxLag,
+                                    @DefaultValue("PT5S") Duration lagCheckInterval,
+                                    @DefaultValue("SHOW REPLICA STATUS") String lagQuery) {
+}
@@ -0,0 +1,68 @@
+package br.com.alura.projeto.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends connections requested inside {@code @Transactional(readOnly = true)} work to the read replica and
+ * everything else to the primary. Falls back to the primary while the replica is lagging or unreachable.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the
+ * connection is only fetched once the transaction's read-only flag is known.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && lagMonitor.isUsable() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Target.PRIMARY) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            lagMonitor.markUnavailable(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (determineCurrentLookupKey() == Target.PRIMARY) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException e) {
+            lagMonitor.markUnavailable(e);
+            return primary.getConnection(username, password);
+        }
+    }
+}
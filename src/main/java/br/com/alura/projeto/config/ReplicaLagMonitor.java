@@ -0,0 +1,85 @@
+package br.com.alura.projeto.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Periodically measures how far the read replica is behind the primary. Read-only work is only routed to
+ * the replica while the last measurement succeeded and stayed within {@code maxLag}.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final String MYSQL_LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public void markUnavailable(Exception cause) {
+        if (usable) {
+            log.warn("Réplica de leitura indisponível; leituras seguem para o primário até a próxima verificação", cause);
+        }
+        usable = false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+    public void check() {
+        boolean wasUsable = usable;
+        OptionalLong lag;
+        try {
+            lag = replica.query(lagQuery, lagExtractor());
+        } catch (RuntimeException e) {
+            markUnavailable(e);
+            return;
+        }
+
+        usable = lag != null && lag.isPresent() && lag.getAsLong() <= maxLag.toSeconds();
+        if (wasUsable && !usable) {
+            log.warn("Réplica de leitura atrasada além de {} s (atraso medido: {}); leituras seguem para o primário",
+                    maxLag.toSeconds(), lag != null && lag.isPresent() ? lag.getAsLong() + " s" : "replicação parada");
+        } else if (!wasUsable && usable) {
+            log.info("Réplica de leitura disponível; transações somente leitura voltam a usá-la");
+        }
+    }
+
+    private static ResultSetExtractor<OptionalLong> lagExtractor() {
+        return rs -> {
+            if (!rs.next()) {
+                return OptionalLong.of(0);
+            }
+            long lag = rs.getLong(lagColumn(rs.getMetaData()));
+            return rs.wasNull() ? OptionalLong.empty() : OptionalLong.of(lag);
+        };
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (MYSQL_LAG_COLUMN.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return i;
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.alura.projeto.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events and logs where a virtual thread stayed pinned
+ * to its carrier (typically blocking I/O inside a {@code synchronized} block) for longer than
+ * the configured threshold.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final AtomicLong pinnedEvents = new AtomicLong();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Monitorando virtual threads fixadas na carrier thread por mais de {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    public long pinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        if (log.isWarnEnabled()) {
+            log.warn("Virtual thread fixada na carrier thread por {} ms:\n{}",
+                    event.getDuration().toMillis(), describe(event));
+        }
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t(sem stack trace)";
+        }
+
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.alura.projeto.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled=true}. Spring Boot then runs Tomcat request
+ * handling, the application task executor ({@code @Async}, MVC async, streaming responses) and
+ * scheduling on virtual threads; this configuration adds the pieces that mode needs around JDBC.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    @Bean
+    static BeanPostProcessor connectionGateBeanPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Gate the pools themselves, so a primary and a replica pool each get their own gate
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+
+                // Headroom below the pool for connections a thread opens while it holds one, see
+                // ConnectionGateDataSource
+                int headroom = environment.getProperty("app.datasource.gate.headroom", Integer.class, 2);
+                int permits = environment.getProperty("app.datasource.gate.max-concurrent", Integer.class,
+                        Math.max(1, pool.getMaximumPoolSize() - headroom));
+                Duration timeout = environment.getProperty("app.datasource.gate.acquire-timeout", Duration.class,
+                        Duration.ofSeconds(30));
+                return new ConnectionGateDataSource(pool, permits, timeout);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionGateMetrics(ObjectProvider<ConnectionGateDataSource> gates) {
+        return registry -> gates.orderedStream().forEach(gate -> {
+            String pool = ((HikariDataSource) gate.getTargetDataSource()).getPoolName();
+            Gauge.builder("app.datasource.gate.available", gate, ConnectionGateDataSource::availablePermits)
+                    .tag("pool", pool)
+                    .register(registry);
+            Gauge.builder("app.datasource.gate.waiting", gate, ConnectionGateDataSource::queueLength)
+                    .tag("pool", pool)
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinning-threshold:PT0.02S}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+
+    @Bean
+    MeterBinder virtualThreadPinningMetrics(VirtualThreadPinningMonitor monitor) {
+        return registry -> FunctionCounter.builder("app.virtual.threads.pinned", monitor,
+                        VirtualThreadPinningMonitor::pinnedEvents)
+                .register(registry);
+    }
+}
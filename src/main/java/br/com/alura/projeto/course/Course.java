@@ -1,26 +1,39 @@
 package br.com.alura.projeto.course;
 
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.datagrid.EntityCountListener;
+import br.com.alura.projeto.existence.ExistenceFilterListener;
+import br.com.alura.projeto.id.PooledTableId;
+import br.com.alura.projeto.id.PreallocatedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", uniqueConstraints = @UniqueConstraint(name = Course.CODE_CONSTRAINT, columnNames = "code"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
+@EntityListeners({EntityCountListener.class, ExistenceFilterListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-public class Course {
+public class Course implements PreallocatedId {
+
+    public static final String CODE_CONSTRAINT = "UC_Course_Code";
+    public static final String CATEGORY_CONSTRAINT = "fk_course_category";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId("courses")
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -31,7 +44,7 @@ public class Course {
     @NotBlank(message = "Código é obrigatório")
     @Size(min = 4, max = 15, message = "Código deve ter entre 4 e 15 caracteres")
     @Pattern(regexp = "^[a-zA-Z]+(-[a-zA-Z]+)*$", message = "Código deve conter apenas letras e hífens, sem espaços, números ou caracteres especiais")
-    @Column(name = "code", nullable = false, unique = true, length = 10)
+    @Column(name = "code", nullable = false, length = 10)
     @EqualsAndHashCode.Include
     private String code;
 
@@ -40,10 +53,11 @@ public class Course {
     @Column(name = "instructor", nullable = false, length = 100)
     private String instructor;
 
-    @NotBlank(message = "Categoria é obrigatória")
-    @Size(max = 50, message = "Categoria não pode exceder 50 caracteres")
-    @Column(name = "category", nullable = false, length = 50)
-    private String category;
+    @NotNull(message = "Categoria é obrigatória")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id", nullable = false, foreignKey = @ForeignKey(name = CATEGORY_CONSTRAINT))
+    @ToString.Exclude
+    private Category category;
 
     @Size(max = 500, message = "Descrição não pode exceder 500 caracteres")
     @Column(name = "description", length = 500)
@@ -64,7 +78,11 @@ public class Course {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
-    public Course(String name, String code, String instructor, String category, String description) {
+    @Transient
+    @ToString.Exclude
+    private Long preallocatedId;
+
+    public Course(String name, String code, String instructor, Category category, String description) {
         this.name = name;
         this.code = code;
         this.instructor = instructor;
@@ -85,4 +103,8 @@ public class Course {
     public boolean isActive() {
         return this.status == CourseStatus.ACTIVE;
     }
+
+    public String getCategoryName() {
+        return this.category != null ? this.category.getName() : null;
+    }
 }
\ No newline at end of file
@@ -1,14 +1,28 @@
 package br.com.alura.projeto.course;
 
+import br.com.alura.projeto.catalog.CatalogChangedEvent;
 import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.category.CategoryOptionsProvider;
 import br.com.alura.projeto.category.CategoryRepository;
+import br.com.alura.projeto.datagrid.DatagridAction;
+import br.com.alura.projeto.datagrid.DatagridColumn;
+import br.com.alura.projeto.datagrid.EntityCountService;
+import br.com.alura.projeto.datagrid.KeysetCursor;
+import br.com.alura.projeto.datagrid.KeysetCursors;
+import br.com.alura.projeto.id.EntityIds;
+import br.com.alura.projeto.util.ConstraintViolations;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Controller;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,133 +30,142 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Controller
 public class CourseController {
 
+    private static final Sort LIST_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private static final List<DatagridColumn> DATAGRID_COLUMNS = List.of(
+            DatagridColumn.text("name", "Nome"),
+            DatagridColumn.text("code", "Código"),
+            DatagridColumn.text("instructor", "Instrutor"),
+            DatagridColumn.text("category", "Categoria"),
+            DatagridColumn.status("status", "Status"),
+            DatagridColumn.date("createdAt", "Criado em"),
+            DatagridColumn.date("inactivationDate", "Desativado em"));
+
+    private static final List<DatagridAction> DATAGRID_ACTIONS =
+            List.of(DatagridAction.edit("Editar", "/admin/course/edit/"));
+
+    private static final Map<String, Function<String, ?>> CURSOR_PARSERS =
+            Map.of("createdAt", LocalDateTime::parse, "id", Long::valueOf);
+
     private final CourseRepository courseRepository;
     private final CategoryRepository categoryRepository;
-
-    public CourseController(CourseRepository courseRepository, CategoryRepository categoryRepository) {
+    private final CategoryOptionsProvider categoryOptionsProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityCountService entityCountService;
+    private final EntityIds entityIds;
+
+    public CourseController(CourseRepository courseRepository, CategoryRepository categoryRepository,
+                            CategoryOptionsProvider categoryOptionsProvider, ApplicationEventPublisher eventPublisher,
+                            EntityCountService entityCountService, EntityIds entityIds) {
         this.courseRepository = courseRepository;
         this.categoryRepository = categoryRepository;
+        this.categoryOptionsProvider = categoryOptionsProvider;
+        this.eventPublisher = eventPublisher;
+        this.entityCountService = entityCountService;
+        this.entityIds = entityIds;
     }
 
     @GetMapping("/admin/courses")
     public String list(@RequestParam(defaultValue = "0") int page,
                        @RequestParam(defaultValue = "10") int size,
+                       @RequestParam(required = false) String cursor,
                        Model model) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Course> coursePage = courseRepository.findAll(pageable);
-
-        List<Map<String, Object>> items = coursePage.getContent().stream()
-                .map(course -> {
-                    Map<String, Object> item = new HashMap<>();
-                    item.put("id", course.getId());
-                    item.put("name", course.getName());
-                    item.put("code", course.getCode());
-                    item.put("instructor", course.getInstructor());
-                    item.put("category", course.getCategory());
-                    item.put("description", course.getDescription());
-                    item.put("status", course.getStatus().toString());
-                    item.put("createdAt", Date.from(course.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()));
-                    item.put("inactivationDate", course.getInactivationDate() != null ? 
-                        Date.from(course.getInactivationDate().atZone(ZoneId.systemDefault()).toInstant()) : null);
-                    return item;
-                })
-                .toList();
+        if (cursor != null) {
+            return listByCursor(cursor, size, model);
+        }
 
-        List<Map<String, Object>> columns = new ArrayList<>();
-        columns.add(createColumn("name", "Nome", "text"));
-        columns.add(createColumn("code", "Código", "text"));
-        columns.add(createColumn("instructor", "Instrutor", "text"));
-        columns.add(createColumn("category", "Categoria", "text"));
-        columns.add(createColumn("status", "Status", "status"));
-        columns.add(createColumn("createdAt", "Criado em", "date"));
-        columns.add(createColumn("inactivationDate", "Desativado em", "date"));
+        Pageable pageable = PageRequest.of(page, size, LIST_SORT);
+        Page<Course> coursePage = PageableExecutionUtils.getPage(courseRepository.findAllBy(pageable), pageable,
+                () -> entityCountService.count(Course.class));
 
-        List<Map<String, Object>> actions = new ArrayList<>();
-        actions.add(createAction("edit", "Editar", "/admin/course/edit/", "id"));
+        addDatagridAttributes(model, coursePage.getContent(), size);
 
         int totalPages = coursePage.getTotalPages();
         int currentPage = page;
         int startPage = Math.max(0, currentPage - 2);
         int endPage = Math.min(totalPages - 1, currentPage + 2);
 
-        model.addAttribute("datagridTitle", "Cursos");
-        model.addAttribute("datagridNewUrl", "/admin/course/new");
-        model.addAttribute("datagridNewText", "Novo Curso");
-        model.addAttribute("datagridItems", items);
-        model.addAttribute("datagridColumns", columns);
-        model.addAttribute("datagridActions", actions);
         model.addAttribute("datagridCurrentPage", currentPage);
         model.addAttribute("datagridTotalPages", totalPages);
         model.addAttribute("datagridStartPage", startPage);
         model.addAttribute("datagridEndPage", endPage);
-        model.addAttribute("datagridItemsPerPage", size);
         model.addAttribute("datagridTotalItems", coursePage.getTotalElements());
         model.addAttribute("datagridStartItem", page * size + 1);
         model.addAttribute("datagridEndItem", Math.min((long) (page + 1) * size, coursePage.getTotalElements()));
 
+        if (coursePage.hasNext()) {
+            Course last = coursePage.getContent().get(coursePage.getNumberOfElements() - 1);
+            model.addAttribute("datagridSeekCursor", KeysetCursors.nextOf(cursorKeys(last)));
+        }
+
         return "admin/course/list";
     }
-    
-    private Map<String, Object> createColumn(String field, String label, String type) {
-        Map<String, Object> column = new HashMap<>();
-        column.put("field", field);
-        column.put("label", label);
-        column.put("type", type);
-        return column;
+
+    private String listByCursor(String cursor, int size, Model model) {
+        KeysetScrollPosition position = KeysetCursor.parseOrStart(cursor, CURSOR_PARSERS);
+        Window<Course> window = courseRepository.findBy(position, LIST_SORT, Limit.of(size));
+        KeysetCursors cursors = KeysetCursors.of(window, position);
+
+        addDatagridAttributes(model, window.getContent(), size);
+        model.addAttribute("datagridKeyset", true);
+        model.addAttribute("datagridPrevCursor", cursors.previous());
+        model.addAttribute("datagridNextCursor", cursors.next());
+
+        return "admin/course/list";
     }
-    
-    private Map<String, Object> createAction(String type, String label, String url, String idField) {
-        Map<String, Object> action = new HashMap<>();
-        action.put("type", type);
-        action.put("label", label);
-        action.put("url", url);
-        action.put("idField", idField);
-        return action;
+
+    private void addDatagridAttributes(Model model, List<Course> courses, int size) {
+        List<CourseDatagridRow> items = courses.stream()
+                .map(CourseDatagridRow::of)
+                .toList();
+
+        model.addAttribute("datagridTitle", "Cursos");
+        model.addAttribute("datagridNewUrl", "/admin/course/new");
+        model.addAttribute("datagridNewText", "Novo Curso");
+        model.addAttribute("datagridItems", items);
+        model.addAttribute("datagridColumns", DATAGRID_COLUMNS);
+        model.addAttribute("datagridActions", DATAGRID_ACTIONS);
+        model.addAttribute("datagridItemsPerPage", size);
     }
-    
 
+    private static Map<String, Object> cursorKeys(Course course) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", course.getCreatedAt());
+        keys.put("id", course.getId());
+        return keys;
+    }
+    
     @GetMapping("/admin/course/new")
     public String create(NewCourseForm newCourse, Model model) {
-        List<Category> categories = categoryRepository.findAll()
-                .stream()
-                .sorted((c1, c2) -> Integer.compare(c1.getOrder(), c2.getOrder()))
-                .toList();
-        
-        model.addAttribute("categories", categories);
+        model.addAttribute("categories", categoryOptionsProvider.options());
         return "admin/course/newForm";
     }
 
-    @Transactional
     @PostMapping("/admin/course/new")
     public String save(@Valid NewCourseForm form, BindingResult result, Model model) {
 
         if (result.hasErrors()) {
-            List<Category> categories = categoryRepository.findAll()
-                    .stream()
-                    .sorted((c1, c2) -> Integer.compare(c1.getOrder(), c2.getOrder()))
-                    .toList();
-            
-            model.addAttribute("categories", categories);
+            model.addAttribute("categories", categoryOptionsProvider.options());
             return "admin/course/newForm";
         }
 
-        if (courseRepository.existsByCode(form.getCode())) {
+        // A taken code or a missing category comes back from the INSERT itself, see saved
+        Category category = categoryRepository.getReferenceById(form.getCategoryId());
+        if (!saved(form.toModel(category), result)) {
             return create(form, model);
         }
-
-        courseRepository.save(form.toModel());
+        eventPublisher.publishEvent(new CatalogChangedEvent(Course.class));
         return "redirect:/admin/courses";
     }
 
@@ -158,29 +181,18 @@ public class CourseController {
         Course course = courseOpt.get();
         EditCourseForm editForm = new EditCourseForm(course);
         
-        List<Category> categories = categoryRepository.findAll()
-                .stream()
-                .sorted((c1, c2) -> Integer.compare(c1.getOrder(), c2.getOrder()))
-                .toList();
-        
         model.addAttribute("editCourseForm", editForm);
         model.addAttribute("courseId", id);
-        model.addAttribute("categories", categories);
+        model.addAttribute("categories", categoryOptionsProvider.options());
         
         return "admin/course/editForm";
     }
 
-    @Transactional
     @PostMapping("/admin/course/edit/{id}")
     public String update(@PathVariable Long id, @Valid EditCourseForm form, BindingResult result, Model model) {
         
         if (result.hasErrors()) {
-            List<Category> categories = categoryRepository.findAll()
-                    .stream()
-                    .sorted((c1, c2) -> Integer.compare(c1.getOrder(), c2.getOrder()))
-                    .toList();
-            
-            model.addAttribute("categories", categories);
+            model.addAttribute("categories", categoryOptionsProvider.options());
             model.addAttribute("courseId", id);
             return "admin/course/editForm";
         }
@@ -192,22 +204,35 @@ public class CourseController {
         
         Course course = courseOpt.get();
 
-        if (!course.getCode().equals(form.getCode()) && courseRepository.existsByCode(form.getCode())) {
-            result.rejectValue("code", "error.code", "Código já existe");
-            List<Category> categories = categoryRepository.findAll()
-                    .stream()
-                    .sorted((c1, c2) -> Integer.compare(c1.getOrder(), c2.getOrder()))
-                    .toList();
-            
-            model.addAttribute("categories", categories);
+        form.updateCourse(course, categoryRepository.getReferenceById(form.getCategoryId()));
+        if (!saved(course, result)) {
+            model.addAttribute("categories", categoryOptionsProvider.options());
             model.addAttribute("courseId", id);
             return "admin/course/editForm";
         }
-        
-        form.updateCourse(course);
-        courseRepository.save(course);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Course.class));
         
         return "redirect:/admin/courses";
     }
 
+    private boolean saved(Course course, BindingResult result) {
+        if (course.getId() == null) {
+            entityIds.preallocate(course);
+        }
+        try {
+            courseRepository.saveAndFlush(course);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, Course.CODE_CONSTRAINT)) {
+                result.rejectValue("code", "error.code", "Código já existe");
+                return false;
+            }
+            if (ConstraintViolations.violates(e, Course.CATEGORY_CONSTRAINT)) {
+                result.rejectValue("categoryId", "error.categoryId", "Categoria não encontrada");
+                return false;
+            }
+            throw e;
+        }
+    }
+
 }
@@ -8,7 +8,7 @@ public record CourseDTO(Long id, String name, String code, String instructor, St
     
     public CourseDTO(Course course) {
         this(course.getId(), course.getName(), course.getCode(), course.getInstructor(), 
-             course.getCategory(), course.getDescription(), course.getStatus(), 
+             course.getCategoryName(), course.getDescription(), course.getStatus(), 
              course.getCreatedAt(), course.getInactivationDate());
     }
 }
\ No newline at end of file
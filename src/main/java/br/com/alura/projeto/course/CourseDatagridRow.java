@@ -0,0 +1,24 @@
+package br.com.alura.projeto.course;
+
+import br.com.alura.projeto.datagrid.DatagridDates;
+import lombok.Value;
+
+@Value
+public class CourseDatagridRow {
+
+    Long id;
+    String name;
+    String code;
+    String instructor;
+    String category;
+    String description;
+    CourseStatus status;
+    String createdAt;
+    String inactivationDate;
+
+    public static CourseDatagridRow of(Course course) {
+        return new CourseDatagridRow(course.getId(), course.getName(), course.getCode(), course.getInstructor(),
+                course.getCategoryName(), course.getDescription(), course.getStatus(),
+                DatagridDates.format(course.getCreatedAt()), DatagridDates.format(course.getInactivationDate()));
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.alura.projeto.course;
+
+import br.com.alura.projeto.util.ErrorItemDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+public class CourseImportController {
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final CourseImporter courseImporter;
+    private final ObjectMapper objectMapper;
+
+    public CourseImportController(CourseImporter courseImporter, ObjectMapper objectMapper) {
+        this.courseImporter = courseImporter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the request body as it arrives (CSV with a header, or NDJSON) instead of binding it, so the
+     * upload is never held in memory as a whole.
+     */
+    @PostMapping(value = "/admin/course/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importCourses(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                           InputStream body) throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset));
+
+        try {
+            CourseImportReader lines = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    ? new NdjsonCourseImportReader(reader, objectMapper)
+                    : new CsvCourseImportReader(reader);
+            return ResponseEntity.ok(courseImporter.importCourses(lines));
+        } catch (CourseImportFormatException e) {
+            return ResponseEntity.badRequest().body(new ErrorItemDTO("file", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.alura.projeto.course;
+
+/**
+ * @param field the rejected field, or {@code null} when the whole line was rejected
+ */
+public record CourseImportError(long line, String field, String message) {
+}
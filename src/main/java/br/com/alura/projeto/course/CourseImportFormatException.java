@@ -0,0 +1,11 @@
+package br.com.alura.projeto.course;
+
+/**
+ * The upload as a whole cannot be read as courses, e.g. a CSV header without a required column.
+ */
+public class CourseImportFormatException extends RuntimeException {
+
+    public CourseImportFormatException(String message) {
+        super(message);
+    }
+}
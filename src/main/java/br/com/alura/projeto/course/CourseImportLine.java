@@ -0,0 +1,16 @@
+package br.com.alura.projeto.course;
+
+/**
+ * One parsed line of an import: either the form to validate, with the category as written in the file, or
+ * the reason it could not be parsed.
+ */
+record CourseImportLine(long line, NewCourseForm form, String category, String parseError) {
+
+    static CourseImportLine parsed(long line, NewCourseForm form, String category) {
+        return new CourseImportLine(line, form, category, null);
+    }
+
+    static CourseImportLine unreadable(long line, String parseError) {
+        return new CourseImportLine(line, null, null, parseError);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.alura.projeto.course;
+
+import java.io.IOException;
+
+/**
+ * Yields an upload line by line, so the importer never holds more than one chunk of it.
+ */
+interface CourseImportReader {
+
+    /**
+     * @return the next line, or {@code null} at the end of the upload
+     */
+    CourseImportLine next() throws IOException;
+}
@@ -0,0 +1,11 @@
+package br.com.alura.projeto.course;
+
+import java.util.List;
+
+/**
+ * Outcome of a course import. Only the first {@link CourseImporter#MAX_REPORTED_ERRORS} errors are listed,
+ * so a file that is wrong throughout still gets a bounded answer; {@code rejected} counts every bad line.
+ */
+public record CourseImportReport(long lines, long created, long updated, long rejected,
+                                 List<CourseImportError> errors, boolean errorsTruncated) {
+}
@@ -0,0 +1,367 @@
+package br.com.alura.projeto.course;
+
+import br.com.alura.projeto.catalog.CatalogChangedEvent;
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.category.CategoryRepository;
+import br.com.alura.projeto.datagrid.EntityCountService;
+import br.com.alura.projeto.existence.ExistenceFilters;
+import br.com.alura.projeto.existence.ExistenceKeySpace;
+import br.com.alura.projeto.id.EntityIds;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Bulk course import behind {@code POST /admin/course/import}. The upload is consumed in chunks of
+ * {@code app.course-import.batch-size} lines: each chunk is validated in parallel against the
+ * {@link NewCourseForm} rules, categories are resolved from maps loaded once per import, and the valid
+ * rows are upserted by code in one JDBC batch and one transaction. Memory therefore stays at one chunk
+ * whatever the file size. A chunk the database rejects is retried row by row, so only the offending lines
+ * are reported.
+ */
+@Service
+public class CourseImporter {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(CourseImporter.class);
+
+    // VALUES(col) rather than repeated parameters: Connector/J only rewrites the batch into multi-row
+    // INSERTs when the ON DUPLICATE KEY UPDATE clause has no placeholders
+    private static final String UPSERT_SQL = """
+        INSERT INTO courses (id, name, code, instructor, category_id, description, status, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            name = VALUES(name),
+            instructor = VALUES(instructor),
+            category_id = VALUES(category_id),
+            description = VALUES(description),
+            updated_at = VALUES(updated_at)
+        """;
+
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityIds entityIds;
+    private final Validator validator;
+    private final ExistenceFilters existenceFilters;
+    private final EntityCountService entityCountService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public CourseImporter(CategoryRepository categoryRepository, JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory,
+                          EntityIds entityIds, Validator validator, ExistenceFilters existenceFilters,
+                          EntityCountService entityCountService, ApplicationEventPublisher eventPublisher,
+                          @Value("${app.course-import.batch-size:1000}") int batchSize) {
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityIds = entityIds;
+        this.validator = validator;
+        this.existenceFilters = existenceFilters;
+        this.entityCountService = entityCountService;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    public CourseImportReport importCourses(CourseImportReader reader) throws IOException {
+        Categories categories = new Categories(categoryRepository.findAll());
+        Progress progress = new Progress();
+
+        try {
+            List<CourseImportLine> chunk = new ArrayList<>(batchSize);
+            for (CourseImportLine line = reader.next(); line != null; line = reader.next()) {
+                chunk.add(line);
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, categories, progress);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, categories, progress);
+        } finally {
+            if (progress.created + progress.updated > 0) {
+                afterImport();
+            }
+        }
+
+        return progress.report();
+    }
+
+    private void importChunk(List<CourseImportLine> chunk, Categories categories, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        progress.lines += chunk.size();
+
+        List<CourseImportRow> rows = new ArrayList<>(chunk.size());
+        for (CheckedLine checked : chunk.parallelStream().map(line -> check(line, categories)).toList()) {
+            if (checked.errors().isEmpty()) {
+                rows.add(new CourseImportRow(checked.line().line(), checked.line().form(), checked.categoryId()));
+            } else {
+                progress.reject(checked.errors());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        assignIds(rows);
+        LocalDateTime now = LocalDateTime.now();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(rows, now));
+            rows.forEach(row -> written(row, progress));
+        } catch (DataAccessException e) {
+            log.warn("Lote de {} cursos recusado pelo banco ({}); gravando linha a linha",
+                    rows.size(), e.getMostSpecificCause().getMessage());
+            for (CourseImportRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> upsert(List.of(row), now));
+                    written(row, progress);
+                } catch (DataAccessException rowFailure) {
+                    progress.reject(List.of(new CourseImportError(row.line(), null,
+                            "Não foi possível gravar o curso: " + rowFailure.getMostSpecificCause().getMessage())));
+                }
+            }
+        }
+    }
+
+    private CheckedLine check(CourseImportLine line, Categories categories) {
+        if (line.parseError() != null) {
+            return new CheckedLine(line, null, List.of(new CourseImportError(line.line(), null, line.parseError())));
+        }
+
+        String category = StringUtils.hasText(line.category()) ? line.category().trim() : null;
+        Long categoryId = category == null ? null : categories.resolve(category);
+        line.form().setCategoryId(categoryId);
+
+        // The file names the category, so its violations are reported under that column
+        List<CourseImportError> errors = new ArrayList<>();
+        validator.validate(line.form()).forEach(violation -> {
+            if (violation.getPropertyPath().toString().equals("categoryId")) {
+                errors.add(new CourseImportError(line.line(), "category",
+                        category == null ? violation.getMessage() : categories.unresolved(category)));
+            } else {
+                errors.add(new CourseImportError(line.line(), violation.getPropertyPath().toString(),
+                        violation.getMessage()));
+            }
+        });
+
+        errors.sort(Comparator.comparing(CourseImportError::field).thenComparing(CourseImportError::message));
+        return new CheckedLine(line, categoryId, errors);
+    }
+
+    /**
+     * Codes already in the table keep their id and are updated; the rest get one from the course table
+     * generator. A code repeated within the chunk reuses the id of its first occurrence, so the later line
+     * wins through the upsert.
+     */
+    private void assignIds(List<CourseImportRow> rows) {
+        Map<String, Long> ids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        ids.putAll(existingIds(rows));
+
+        List<CourseImportRow> fresh = new ArrayList<>();
+        for (CourseImportRow row : rows) {
+            Long id = ids.get(row.form().getCode());
+            if (id != null) {
+                row.assign(id, false);
+            } else {
+                ids.put(row.form().getCode(), 0L);
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<Long> freshIds = entityIds.next(Course.class, fresh.size());
+        for (int i = 0; i < fresh.size(); i++) {
+            CourseImportRow row = fresh.get(i);
+            ids.put(row.form().getCode(), freshIds.get(i));
+            row.assign(freshIds.get(i), true);
+        }
+
+        for (CourseImportRow row : rows) {
+            if (row.id() == null) {
+                row.assign(ids.get(row.form().getCode()), false);
+            }
+        }
+    }
+
+    private Map<String, Long> existingIds(List<CourseImportRow> rows) {
+        List<String> codes = rows.stream().map(row -> row.form().getCode()).distinct().toList();
+        String placeholders = String.join(",", Collections.nCopies(codes.size(), "?"));
+
+        Map<String, Long> ids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        jdbcTemplate.query("SELECT id, code FROM courses WHERE code IN (" + placeholders + ")",
+                (RowCallbackHandler) row -> ids.put(row.getString("code"), row.getLong("id")), codes.toArray());
+        return ids;
+    }
+
+    private void upsert(List<CourseImportRow> rows, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (statement, row) -> setRow(statement, row, timestamp));
+    }
+
+    private static void setRow(PreparedStatement statement, CourseImportRow row, Timestamp now) throws SQLException {
+        NewCourseForm form = row.form();
+        statement.setLong(1, row.id());
+        statement.setString(2, form.getName());
+        statement.setString(3, form.getCode());
+        statement.setString(4, form.getInstructor());
+        statement.setLong(5, row.categoryId());
+        statement.setString(6, form.getDescription());
+        statement.setString(7, CourseStatus.ACTIVE.name());
+        statement.setTimestamp(8, now);
+        statement.setTimestamp(9, now);
+    }
+
+    private void written(CourseImportRow row, Progress progress) {
+        existenceFilters.put(ExistenceKeySpace.COURSE_CODE, row.form().getCode());
+        if (row.created()) {
+            progress.created++;
+        } else {
+            progress.updated++;
+        }
+    }
+
+    /**
+     * The rows bypassed Hibernate, so the course cache regions, the cached queries and the datagrid count
+     * are dropped here, and the catalog snapshot is rebuilt.
+     */
+    private void afterImport() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Course.class);
+        sessionFactory.getCache().evictQueryRegions();
+        entityCountService.invalidate(Course.class);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Course.class));
+    }
+
+    /**
+     * Codes are unique, names are not: a name shared by two categories resolves to nothing, so the line is
+     * rejected instead of landing in whichever category happened to come first.
+     */
+    private static final class Categories {
+
+        private final Map<String, Long> byCode = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<String, Long> byName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Set<String> sharedNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+        Categories(List<Category> categories) {
+            for (Category category : categories) {
+                byCode.put(category.getCode(), category.getId());
+                if (byName.putIfAbsent(category.getName(), category.getId()) != null) {
+                    sharedNames.add(category.getName());
+                }
+            }
+            byName.keySet().removeAll(sharedNames);
+        }
+
+        Long resolve(String category) {
+            Long id = byCode.get(category);
+            return id != null ? id : byName.get(category);
+        }
+
+        String unresolved(String category) {
+            return sharedNames.contains(category)
+                    ? "Categoria com nome repetido, informe o código"
+                    : "Categoria não encontrada";
+        }
+    }
+
+    private record CheckedLine(CourseImportLine line, Long categoryId, List<CourseImportError> errors) {
+    }
+
+    private static final class CourseImportRow {
+
+        private final long line;
+        private final NewCourseForm form;
+        private final Long categoryId;
+        private Long id;
+        private boolean created;
+
+        CourseImportRow(long line, NewCourseForm form, Long categoryId) {
+            this.line = line;
+            this.form = form;
+            this.categoryId = categoryId;
+        }
+
+        void assign(Long id, boolean created) {
+            this.id = id;
+            this.created = created;
+        }
+
+        long line() {
+            return line;
+        }
+
+        NewCourseForm form() {
+            return form;
+        }
+
+        Long categoryId() {
+            return categoryId;
+        }
+
+        Long id() {
+            return id;
+        }
+
+        boolean created() {
+            return created;
+        }
+    }
+
+    private static final class Progress {
+
+        private final List<CourseImportError> errors = new ArrayList<>();
+        private long lines;
+        private long created;
+        private long updated;
+        private long rejected;
+        private boolean truncated;
+
+        void reject(List<CourseImportError> lineErrors) {
+            rejected++;
+            for (CourseImportError error : lineErrors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+
+        CourseImportReport report() {
+            return new CourseImportReport(lines, created, updated, rejected, List.copyOf(errors), truncated);
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package br.com.alura.projeto.course;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,12 +19,20 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     boolean existsByCode(String code);
     
     Optional<Course> findByCode(String code);
+
+    List<Course> findByCodeIn(Collection<String> codes);
+
+    @EntityGraph(attributePaths = "category")
+    List<Course> findAllBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    Window<Course> findBy(ScrollPosition position, Sort sort, Limit limit);
     
     @Query("SELECT c FROM Course c WHERE c.status = 'ACTIVE'")
     List<Course> findAllActiveCourses();
     
-    @Query("SELECT c FROM Course c WHERE c.status = 'ACTIVE' AND c.category = :categoryName ORDER BY c.createdAt DESC")
-    List<Course> findActiveCoursesByCategory(@Param("categoryName") String categoryName);
+    @Query("SELECT c FROM Course c WHERE c.status = 'ACTIVE' AND c.category.id = :categoryId ORDER BY c.createdAt DESC")
+    List<Course> findActiveCoursesByCategory(@Param("categoryId") Long categoryId);
     
     @Query("SELECT c FROM Course c WHERE c.status = 'ACTIVE' ORDER BY c.createdAt DESC")
     List<Course> findAllActiveCoursesOrdered();
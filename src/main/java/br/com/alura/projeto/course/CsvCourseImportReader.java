@@ -0,0 +1,69 @@
+package br.com.alura.projeto.course;
+
+import br.com.alura.projeto.util.CsvReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV with a header naming the {@link NewCourseForm} columns in any order: {@code name}, {@code code},
+ * {@code instructor}, {@code category} (the category code, or its name when no other category shares it)
+ * and the optional {@code description}. Unknown columns are ignored.
+ */
+class CsvCourseImportReader implements CourseImportReader {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "code", "instructor", "category");
+
+    private final CsvReader csv;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final int width;
+
+    CsvCourseImportReader(Reader reader) throws IOException {
+        this.csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new CourseImportFormatException("Arquivo vazio");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new CourseImportFormatException("Coluna obrigatória ausente no cabeçalho: " + column);
+            }
+        }
+        this.width = header.size();
+    }
+
+    @Override
+    public CourseImportLine next() throws IOException {
+        List<String> fields = csv.next();
+        if (fields == null) {
+            return null;
+        }
+        if (fields.size() != width) {
+            return CourseImportLine.unreadable(csv.line(),
+                    "Esperadas " + width + " colunas, encontradas " + fields.size());
+        }
+
+        NewCourseForm form = new NewCourseForm();
+        form.setName(column(fields, "name"));
+        form.setCode(column(fields, "code"));
+        form.setInstructor(column(fields, "instructor"));
+        form.setDescription(column(fields, "description"));
+        return CourseImportLine.parsed(csv.line(), form, column(fields, "category"));
+    }
+
+    private String column(List<String> fields, String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -1,6 +1,8 @@
 package br.com.alura.projeto.course;
 
+import br.com.alura.projeto.category.Category;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -23,9 +25,8 @@ public class EditCourseForm {
     @Size(max = 100, message = "Nome do instrutor não pode exceder 100 caracteres")
     private String instructor;
 
-    @NotBlank(message = "Categoria é obrigatória")
-    @Size(max = 50, message = "Categoria não pode exceder 50 caracteres")
-    private String category;
+    @NotNull(message = "Categoria é obrigatória")
+    private Long categoryId;
 
     @Size(max = 500, message = "Descrição não pode exceder 500 caracteres")
     private String description;
@@ -36,16 +37,16 @@ public class EditCourseForm {
         this.name = course.getName();
         this.code = course.getCode();
         this.instructor = course.getInstructor();
-        this.category = course.getCategory();
+        this.categoryId = course.getCategory().getId();
         this.description = course.getDescription();
         this.status = course.getStatus();
     }
 
-    public void updateCourse(Course course) {
+    public void updateCourse(Course course, Category category) {
         course.setName(this.name);
         course.setCode(this.code);
         course.setInstructor(this.instructor);
-        course.setCategory(this.category);
+        course.setCategory(category);
         course.setDescription(this.description);
 
         if (this.status == CourseStatus.ACTIVE) {
@@ -0,0 +1,49 @@
+package br.com.alura.projeto.course;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line with the {@link NewCourseForm} properties and a {@code category} read as in
+ * {@link CsvCourseImportReader}. Blank lines are skipped.
+ */
+class NdjsonCourseImportReader implements CourseImportReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    NdjsonCourseImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public CourseImportLine next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+        } while (text != null && text.isBlank());
+
+        if (text == null) {
+            return null;
+        }
+
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            if (!node.isObject()) {
+                return CourseImportLine.unreadable(line, "Linha não contém um objeto JSON");
+            }
+            JsonNode category = node.path("category");
+            return CourseImportLine.parsed(line, objectMapper.treeToValue(node, NewCourseForm.class),
+                    category.isValueNode() && !category.isNull() ? category.asText() : null);
+        } catch (JsonProcessingException e) {
+            return CourseImportLine.unreadable(line, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+}
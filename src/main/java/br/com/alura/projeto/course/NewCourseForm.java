@@ -1,6 +1,8 @@
 package br.com.alura.projeto.course;
 
+import br.com.alura.projeto.category.Category;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -23,14 +25,13 @@ public class NewCourseForm {
     @Size(max = 100, message = "Nome do instrutor não pode exceder 100 caracteres")
     private String instructor;
 
-    @NotBlank(message = "Categoria é obrigatória")
-    @Size(max = 50, message = "Categoria não pode exceder 50 caracteres")
-    private String category;
+    @NotNull(message = "Categoria é obrigatória")
+    private Long categoryId;
 
     @Size(max = 500, message = "Descrição não pode exceder 500 caracteres")
     private String description;
 
-    public Course toModel() {
+    public Course toModel(Category category) {
         return new Course(name, code, instructor, category, description);
     }
 }
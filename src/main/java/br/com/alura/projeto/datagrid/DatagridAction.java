@@ -0,0 +1,26 @@
+package br.com.alura.projeto.datagrid;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Row action rendered by {@code shared/datagrid.jsp}. {@code idField} names a getter on the row type.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DatagridAction {
+
+    public enum Type {
+        EDIT
+    }
+
+    Type type;
+    String label;
+    String url;
+    String idField;
+
+    public static DatagridAction edit(String label, String url) {
+        return new DatagridAction(Type.EDIT, label, url, "id");
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.alura.projeto.datagrid;
+
+import lombok.Value;
+
+/**
+ * Column descriptor rendered by {@code shared/datagrid.jsp}; {@code field} names a getter on the row type.
+ * Getter-based rather than a record because the JSP EL resolver only understands JavaBean properties.
+ */
+@Value
+public class DatagridColumn {
+
+    public enum Type {
+        TEXT, STATUS, DATE, NUMBER, CURRENCY
+    }
+
+    String field;
+    String label;
+    Type type;
+
+    public static DatagridColumn text(String field, String label) {
+        return new DatagridColumn(field, label, Type.TEXT);
+    }
+
+    public static DatagridColumn status(String field, String label) {
+        return new DatagridColumn(field, label, Type.STATUS);
+    }
+
+    public static DatagridColumn number(String field, String label) {
+        return new DatagridColumn(field, label, Type.NUMBER);
+    }
+
+    public static DatagridColumn date(String field, String label) {
+        return new DatagridColumn(field, label, Type.DATE);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.alura.projeto.datagrid;
+
+import java.time.LocalDateTime;
+
+/**
+ * Formats datagrid dates as {@code dd/MM/yyyy HH:mm} once, while the row is built, instead of converting
+ * to {@link java.util.Date} for {@code fmt:formatDate} on every render. The pattern is fixed-width, so it
+ * is written straight into a char array rather than going through a {@code DateTimeFormatter}.
+ */
+public final class DatagridDates {
+
+    private DatagridDates() {
+    }
+
+    public static String format(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+
+        char[] chars = new char[16];
+        twoDigits(chars, 0, dateTime.getDayOfMonth());
+        chars[2] = '/';
+        twoDigits(chars, 3, dateTime.getMonthValue());
+        chars[5] = '/';
+        int year = dateTime.getYear();
+        twoDigits(chars, 6, year / 100);
+        twoDigits(chars, 8, year % 100);
+        chars[10] = ' ';
+        twoDigits(chars, 11, dateTime.getHour());
+        chars[13] = ':';
+        twoDigits(chars, 14, dateTime.getMinute());
+        return new String(chars);
+    }
+
+    private static void twoDigits(char[] chars, int offset, int value) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+}
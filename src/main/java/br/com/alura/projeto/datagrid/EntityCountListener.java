@@ -0,0 +1,55 @@
+package br.com.alura.projeto.datagrid;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps {@link EntityCountService} in step with inserts and deletes. Changes are applied after
+ * commit so rolled back writes never move the counters.
+ */
+@Component
+public class EntityCountListener {
+
+    private final ObjectProvider<EntityCountService> countService;
+
+    public EntityCountListener(ObjectProvider<EntityCountService> countService) {
+        this.countService = countService;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        afterCommit(entity, EntityCountService::increment);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        afterCommit(entity, EntityCountService::decrement);
+    }
+
+    private void afterCommit(Object entity, BiConsumer<EntityCountService, Class<?>> update) {
+        EntityCountService service = countService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+
+        Class<?> entityType = Hibernate.getClass(entity);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.accept(service, entityType);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.accept(service, entityType);
+            }
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.alura.projeto.datagrid;
+
+import br.com.alura.projeto.config.PrimaryReads;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory row counts used to fill datagrid totals without a {@code COUNT(*)} per request.
+ * Counters are loaded on first use, kept current by {@link EntityCountListener} and
+ * periodically reconciled with the database.
+ */
+@Service
+public class EntityCountService {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityCountService.class);
+
+    private final EntityManager entityManager;
+    private final PrimaryReads primaryReads;
+
+    private final ConcurrentMap<Class<?>, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    public EntityCountService(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        // Counted on the primary: right after an import the replica may not have the rows yet
+        this.primaryReads = new PrimaryReads(transactionManager);
+    }
+
+    public long count(Class<?> entityType) {
+        return counts.computeIfAbsent(entityType, type -> new AtomicLong(countInDatabase(type))).get();
+    }
+
+    public void increment(Class<?> entityType) {
+        AtomicLong counter = counts.get(entityType);
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    public void decrement(Class<?> entityType) {
+        AtomicLong counter = counts.get(entityType);
+        if (counter != null) {
+            counter.updateAndGet(value -> Math.max(0, value - 1));
+        }
+    }
+
+    /**
+     * Drops the counter after writes that bypassed {@link EntityCountListener}; it is reloaded on next use.
+     */
+    public void invalidate(Class<?> entityType) {
+        counts.remove(entityType);
+    }
+
+    @Scheduled(fixedDelayString = "${datagrid.counts.reconcile-interval:PT5M}",
+            initialDelayString = "${datagrid.counts.reconcile-interval:PT5M}")
+    public void reconcile() {
+        counts.forEach((type, counter) -> {
+            try {
+                long actual = countInDatabase(type);
+                long previous = counter.getAndSet(actual);
+                if (previous != actual) {
+                    log.debug("Contagem de {} reconciliada: {} -> {}", type.getSimpleName(), previous, actual);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Falha ao reconciliar a contagem de {}", type.getSimpleName(), e);
+            }
+        });
+    }
+
+    private long countInDatabase(Class<?> entityType) {
+        String entityName = entityManager.getMetamodel().entity(entityType).getName();
+        return primaryReads.read(() -> entityManager
+                .createQuery("SELECT COUNT(e) FROM " + entityName + " e", Long.class)
+                .getSingleResult());
+    }
+}
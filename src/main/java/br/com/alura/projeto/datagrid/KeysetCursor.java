@@ -0,0 +1,81 @@
+package br.com.alura.projeto.datagrid;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Opaque, URL-safe representation of a {@link KeysetScrollPosition} so datagrids can seek
+ * with {@code ?cursor=} instead of {@code OFFSET}.
+ */
+public final class KeysetCursor {
+
+    private static final String FORWARD = "F";
+    private static final String BACKWARD = "B";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(KeysetScrollPosition position) {
+        StringJoiner joiner = new StringJoiner("&", (position.scrollsForward() ? FORWARD : BACKWARD) + ":", "");
+        position.getKeys().forEach((key, value) ->
+                joiner.add(key + "=" + URLEncoder.encode(String.valueOf(value), UTF_8)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joiner.toString().getBytes(UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(String cursor, Map<String, Function<String, ?>> parsers) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+
+        int separator = raw.indexOf(':');
+        String direction = separator > 0 ? raw.substring(0, separator) : "";
+        if (!FORWARD.equals(direction) && !BACKWARD.equals(direction)) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String pair : raw.substring(separator + 1).split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals > 0 ? pair.substring(0, equals) : pair;
+            Function<String, ?> parser = parsers.get(key);
+            if (parser == null) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            try {
+                keys.put(key, parser.apply(URLDecoder.decode(pair.substring(equals + 1), UTF_8)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido", e);
+            }
+        }
+
+        if (!keys.keySet().equals(parsers.keySet())) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+
+        return FORWARD.equals(direction) ? ScrollPosition.forward(keys) : ScrollPosition.backward(keys);
+    }
+
+    public static KeysetScrollPosition parseOrStart(String cursor, Map<String, Function<String, ?>> parsers) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            return decode(cursor, parsers);
+        } catch (IllegalArgumentException e) {
+            return ScrollPosition.keyset();
+        }
+    }
+}
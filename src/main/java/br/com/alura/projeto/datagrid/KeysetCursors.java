@@ -0,0 +1,36 @@
+package br.com.alura.projeto.datagrid;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.Map;
+
+public record KeysetCursors(String previous, String next) {
+
+    public static KeysetCursors of(Window<?> window, KeysetScrollPosition requested) {
+        if (window.isEmpty()) {
+            return new KeysetCursors(null, null);
+        }
+
+        Map<String, ?> first = keysAt(window, 0);
+        Map<String, ?> last = keysAt(window, window.size() - 1);
+
+        if (requested.scrollsForward()) {
+            String previous = requested.isInitial() ? null : KeysetCursor.encode(ScrollPosition.backward(first));
+            String next = window.hasNext() ? KeysetCursor.encode(ScrollPosition.forward(last)) : null;
+            return new KeysetCursors(previous, next);
+        }
+
+        String previous = window.hasNext() ? KeysetCursor.encode(ScrollPosition.backward(first)) : null;
+        return new KeysetCursors(previous, KeysetCursor.encode(ScrollPosition.forward(last)));
+    }
+
+    public static String nextOf(Map<String, ?> lastKeys) {
+        return KeysetCursor.encode(ScrollPosition.forward(lastKeys));
+    }
+
+    private static Map<String, ?> keysAt(Window<?> window, int index) {
+        return ((KeysetScrollPosition) window.positionAt(index)).getKeys();
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.alura.projeto.existence;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings. {@link #mightContain} never answers {@code false} for a
+ * key that was {@link #put}, and answers {@code true} for absent keys with roughly the
+ * probability it was sized for.
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        this.bits = new AtomicLongArray(Math.toIntExact(bitSize / Long.SIZE));
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability deve estar entre 0 e 1");
+        }
+        long insertions = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveProbability) / (LN2 * LN2));
+        long bitSize = Math.max(Long.SIZE, (optimalBits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+        int hashFunctions = Math.max(1, (int) Math.round((double) bitSize / insertions * LN2));
+        return new BloomFilter(bitSize, hashFunctions);
+    }
+
+    public void put(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitSize);
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            if ((bits.get(word) & mask) == 0) {
+                bits.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+            }
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Probability that an absent key is reported as present, given how many bits are set now.
+     */
+    public double expectedFalsePositiveProbability() {
+        long setBits = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            setBits += Long.bitCount(bits.get(i));
+        }
+        return Math.pow((double) setBits / bitSize, hashFunctions);
+    }
+
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
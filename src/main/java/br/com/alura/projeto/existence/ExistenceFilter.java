@@ -0,0 +1,103 @@
+package br.com.alura.projeto.existence;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Bloom filter for one key space plus the counters needed to judge it. Until the first build
+ * completes every check goes to the database.
+ */
+final class ExistenceFilter {
+
+    private final ExistenceKeySpace keySpace;
+
+    private volatile BloomFilter current;
+    private BloomFilter building;
+
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder definitelyAbsent = new LongAdder();
+    private final LongAdder maybePresent = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    ExistenceFilter(ExistenceKeySpace keySpace) {
+        this.keySpace = keySpace;
+    }
+
+    boolean exists(String key, Predicate<String> database) {
+        BloomFilter filter = current;
+        if (filter == null || key == null) {
+            bypassed.increment();
+            return database.test(key);
+        }
+
+        if (!filter.mightContain(normalize(key))) {
+            definitelyAbsent.increment();
+            return false;
+        }
+
+        maybePresent.increment();
+        boolean exists = database.test(key);
+        if (!exists) {
+            falsePositives.increment();
+        }
+        return exists;
+    }
+
+    synchronized void put(String key) {
+        if (key == null) {
+            return;
+        }
+        String normalized = normalize(key);
+        if (current != null) {
+            current.put(normalized);
+        }
+        if (building != null) {
+            building.put(normalized);
+        }
+    }
+
+    /**
+     * Fills {@code next} from {@code scan} and swaps it in. Keys {@link #put} while the table is
+     * being scanned land in both filters, so none is lost in the swap.
+     */
+    void rebuild(BloomFilter next, Consumer<Consumer<String>> scan) {
+        synchronized (this) {
+            building = next;
+        }
+        try {
+            scan.accept(key -> {
+                if (key != null) {
+                    next.put(normalize(key));
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                building = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            current = next;
+            building = null;
+        }
+    }
+
+    ExistenceFilterStats stats() {
+        BloomFilter filter = current;
+        long absent = definitelyAbsent.sum();
+        long falsePositive = falsePositives.sum();
+        long negatives = absent + falsePositive;
+        return new ExistenceFilterStats(keySpace, filter != null,
+                filter == null ? 0 : filter.bitSize(),
+                filter == null ? 0 : filter.hashFunctions(),
+                bypassed.sum(), absent, maybePresent.sum(), falsePositive,
+                negatives == 0 ? 0 : (double) falsePositive / negatives,
+                filter == null ? 0 : filter.expectedFalsePositiveProbability());
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.alura.projeto.existence;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class ExistenceFilterController {
+
+    private final ExistenceFilters existenceFilters;
+
+    public ExistenceFilterController(ExistenceFilters existenceFilters) {
+        this.existenceFilters = existenceFilters;
+    }
+
+    @GetMapping("/admin/existence-filters/stats")
+    public List<ExistenceFilterStats> statistics() {
+        return existenceFilters.stats();
+    }
+
+    @PostMapping("/admin/existence-filters/rebuild")
+    public List<ExistenceFilterStats> rebuild() {
+        existenceFilters.rebuildAll();
+        return existenceFilters.stats();
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.alura.projeto.existence;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adds the key of every inserted or updated entity to its {@link ExistenceFilters} key space.
+ * The key is added right away and again after commit, so a rebuild running concurrently with
+ * the transaction cannot drop it.
+ */
+@Component
+public class ExistenceFilterListener {
+
+    private final ObjectProvider<ExistenceFilters> existenceFilters;
+
+    public ExistenceFilterListener(ObjectProvider<ExistenceFilters> existenceFilters) {
+        this.existenceFilters = existenceFilters;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Object entity) {
+        ExistenceFilters filters = existenceFilters.getIfAvailable();
+        if (filters == null) {
+            return;
+        }
+
+        ExistenceKeySpace.of(Hibernate.getClass(entity)).ifPresent(keySpace -> {
+            String key = keySpace.keyOf(entity);
+            filters.put(keySpace, key);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        filters.put(keySpace, key);
+                    }
+                });
+            }
+        });
+    }
+}
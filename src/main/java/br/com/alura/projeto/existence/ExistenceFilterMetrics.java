@@ -0,0 +1,55 @@
+package br.com.alura.projeto.existence;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes {@link ExistenceFilterStats} as {@code existence.filter.checks} counters (tagged by
+ * outcome) and false positive rate gauges, per key space.
+ */
+@Component
+public class ExistenceFilterMetrics implements MeterBinder {
+
+    private final ExistenceFilters existenceFilters;
+
+    public ExistenceFilterMetrics(ExistenceFilters existenceFilters) {
+        this.existenceFilters = existenceFilters;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ExistenceKeySpace keySpace : ExistenceKeySpace.values()) {
+            String space = keySpace.name().toLowerCase(Locale.ROOT);
+            checks(registry, space, "bypassed", keySpace, ExistenceFilterStats::bypassed);
+            checks(registry, space, "absent", keySpace, ExistenceFilterStats::definitelyAbsent);
+            checks(registry, space, "maybe", keySpace, ExistenceFilterStats::maybePresent);
+            checks(registry, space, "false_positive", keySpace, ExistenceFilterStats::falsePositives);
+
+            Gauge.builder("existence.filter.false.positive.rate", existenceFilters,
+                            filters -> filters.stats(keySpace).observedFalsePositiveRate())
+                    .tag("key_space", space)
+                    .tag("kind", "observed")
+                    .register(registry);
+            Gauge.builder("existence.filter.false.positive.rate", existenceFilters,
+                            filters -> filters.stats(keySpace).expectedFalsePositiveRate())
+                    .tag("key_space", space)
+                    .tag("kind", "expected")
+                    .register(registry);
+        }
+    }
+
+    private void checks(MeterRegistry registry, String space, String outcome, ExistenceKeySpace keySpace,
+                        ToDoubleFunction<ExistenceFilterStats> count) {
+        FunctionCounter.builder("existence.filter.checks", existenceFilters,
+                        filters -> count.applyAsDouble(filters.stats(keySpace)))
+                .tag("key_space", space)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
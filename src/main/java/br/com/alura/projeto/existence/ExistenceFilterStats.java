@@ -0,0 +1,10 @@
+package br.com.alura.projeto.existence;
+
+/**
+ * {@code observedFalsePositiveRate} is the share of absent keys that still cost a database
+ * check; {@code expectedFalsePositiveRate} is what the current bit occupancy predicts.
+ */
+public record ExistenceFilterStats(ExistenceKeySpace keySpace, boolean ready, long bitSize, int hashFunctions,
+                                   long bypassed, long definitelyAbsent, long maybePresent, long falsePositives,
+                                   double observedFalsePositiveRate, double expectedFalsePositiveRate) {
+}
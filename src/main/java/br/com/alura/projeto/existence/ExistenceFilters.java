@@ -0,0 +1,108 @@
+package br.com.alura.projeto.existence;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.AvailableHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefilter for "is this email/code taken?" checks. A key the Bloom filter has never
+ * seen is answered without a database round trip; only "maybe" answers reach the database.
+ * Filters are built from a streaming scan when the application is ready, fed by
+ * {@link ExistenceFilterListener} on every insert and update, and periodically rebuilt so keys
+ * written by other instances are picked up.
+ */
+@Service
+public class ExistenceFilters {
+
+    private static final Logger log = LoggerFactory.getLogger(ExistenceFilters.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final double falsePositiveProbability;
+    private final long minExpectedInsertions;
+    private final int fetchSize;
+
+    private final Map<ExistenceKeySpace, ExistenceFilter> filters = new EnumMap<>(ExistenceKeySpace.class);
+
+    public ExistenceFilters(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                            @Value("${app.existence-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+                            @Value("${app.existence-filter.min-expected-insertions:10000}") long minExpectedInsertions,
+                            @Value("${app.existence-filter.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        // Deliberately not read-only: a lagging read replica could miss keys that were just written.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.fetchSize = fetchSize;
+        for (ExistenceKeySpace keySpace : ExistenceKeySpace.values()) {
+            filters.put(keySpace, new ExistenceFilter(keySpace));
+        }
+    }
+
+    public boolean exists(ExistenceKeySpace keySpace, String key, Predicate<String> database) {
+        return filters.get(keySpace).exists(key, database);
+    }
+
+    public void put(ExistenceKeySpace keySpace, String key) {
+        filters.get(keySpace).put(key);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuildAll();
+    }
+
+    @Scheduled(fixedDelayString = "${app.existence-filter.rebuild-interval:PT6H}",
+            initialDelayString = "${app.existence-filter.rebuild-interval:PT6H}")
+    public void rebuildAll() {
+        for (ExistenceKeySpace keySpace : ExistenceKeySpace.values()) {
+            try {
+                rebuild(keySpace);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao reconstruir o filtro de existência {}", keySpace, e);
+            }
+        }
+    }
+
+    public void rebuild(ExistenceKeySpace keySpace) {
+        transactionTemplate.executeWithoutResult(status -> {
+            String entityName = entityManager.getMetamodel().entity(keySpace.entityType()).getName();
+            long rows = entityManager.createQuery("SELECT COUNT(e) FROM " + entityName + " e", Long.class)
+                    .getSingleResult();
+            BloomFilter next = BloomFilter.create(Math.max(minExpectedInsertions, rows * 2), falsePositiveProbability);
+
+            filters.get(keySpace).rebuild(next, sink -> {
+                try (Stream<String> keys = entityManager
+                        .createQuery("SELECT e." + keySpace.attribute() + " FROM " + entityName + " e", String.class)
+                        .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                        .getResultStream()) {
+                    keys.forEach(sink);
+                }
+            });
+            log.info("Filtro de existência {} construído com {} chaves", keySpace, rows);
+        });
+    }
+
+    public List<ExistenceFilterStats> stats() {
+        return Arrays.stream(ExistenceKeySpace.values()).map(this::stats).toList();
+    }
+
+    public ExistenceFilterStats stats(ExistenceKeySpace keySpace) {
+        return filters.get(keySpace).stats();
+    }
+}
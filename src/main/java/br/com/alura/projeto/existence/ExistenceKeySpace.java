@@ -0,0 +1,40 @@
+package br.com.alura.projeto.existence;
+
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.user.User;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+public enum ExistenceKeySpace {
+
+    USER_EMAIL(User.class, "email", user -> ((User) user).getEmail()),
+    COURSE_CODE(Course.class, "code", course -> ((Course) course).getCode());
+
+    private final Class<?> entityType;
+    private final String attribute;
+    private final Function<Object, String> keyOf;
+
+    ExistenceKeySpace(Class<?> entityType, String attribute, Function<Object, String> keyOf) {
+        this.entityType = entityType;
+        this.attribute = attribute;
+        this.keyOf = keyOf;
+    }
+
+    public Class<?> entityType() {
+        return entityType;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    public String keyOf(Object entity) {
+        return keyOf.apply(entity);
+    }
+
+    public static Optional<ExistenceKeySpace> of(Class<?> entityType) {
+        return Arrays.stream(values()).filter(space -> space.entityType == entityType).findFirst();
+    }
+}
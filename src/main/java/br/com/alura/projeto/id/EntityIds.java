@@ -0,0 +1,60 @@
+package br.com.alura.projeto.id;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.Generator;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws ids from the entity's {@link PooledTableId} generator in a session of its own. Call it before
+ * opening the transaction that inserts: refilling the generator's block takes a second connection, and a
+ * request already holding one could otherwise wait on a pool that requests like it exhausted.
+ */
+@Component
+public class EntityIds {
+
+    private final SessionFactory sessionFactory;
+
+    public EntityIds(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Sets the id the entity's insert will use.
+     */
+    public void preallocate(PreallocatedId entity) {
+        entity.setPreallocatedId(next(entity.getClass()));
+    }
+
+    public Long next(Class<?> entityType) {
+        return next(entityType, 1).get(0);
+    }
+
+    public List<Long> next(Class<?> entityType, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+            IdentifierGenerator generator = generatorOf(implementor, entityType);
+            for (int i = 0; i < count; i++) {
+                ids.add((Long) generator.generate(implementor, null));
+            }
+        }
+        return ids;
+    }
+
+    private static IdentifierGenerator generatorOf(SharedSessionContractImplementor session, Class<?> entityType) {
+        Generator generator = session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entityType)
+                .getGenerator();
+        if (!(generator instanceof IdentifierGenerator identifierGenerator)) {
+            throw new IllegalArgumentException(entityType.getSimpleName() + " não usa um gerador de tabela");
+        }
+        return identifierGenerator;
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.alura.projeto.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id drawn in blocks of {@link PreallocatedTableGenerator#BLOCK_SIZE} from the {@code id_generator} row named
+ * {@link #value()}, unless the entity carries one drawn beforehand by {@link EntityIds}.
+ */
+@IdGeneratorType(PreallocatedTableGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledTableId {
+
+    /**
+     * @return the {@code sequence_name} of the row in {@code id_generator}
+     */
+    String value();
+}
@@ -0,0 +1,11 @@
+package br.com.alura.projeto.id;
+
+/**
+ * Entity whose id can be drawn by {@link EntityIds} before the transaction that inserts it starts.
+ */
+public interface PreallocatedId {
+
+    Long getPreallocatedId();
+
+    void setPreallocatedId(Long preallocatedId);
+}
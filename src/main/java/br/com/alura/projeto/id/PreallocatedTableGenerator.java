@@ -0,0 +1,46 @@
+package br.com.alura.projeto.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Hibernate's table generator over {@code id_generator}, returning the id an entity already drew through
+ * {@link EntityIds} instead of taking one from the current block. Refilling a block reads and updates
+ * {@code id_generator} on a connection of its own, so it must not happen while a transaction holds one.
+ */
+public class PreallocatedTableGenerator extends TableGenerator {
+
+    public static final int BLOCK_SIZE = 50;
+
+    private final String segment;
+
+    public PreallocatedTableGenerator(PooledTableId config, Member idMember,
+                                      CustomIdGeneratorCreationContext creationContext) {
+        this.segment = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        parameters.setProperty(TABLE_PARAM, "id_generator");
+        parameters.setProperty(SEGMENT_COLUMN_PARAM, "sequence_name");
+        parameters.setProperty(VALUE_COLUMN_PARAM, "next_val");
+        parameters.setProperty(SEGMENT_VALUE_PARAM, segment);
+        parameters.setProperty(INITIAL_PARAM, "1");
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(BLOCK_SIZE));
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (object instanceof PreallocatedId entity && entity.getPreallocatedId() != null) {
+            return entity.getPreallocatedId();
+        }
+        return super.generate(session, object);
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.alura.projeto.password;
+
+import br.com.alura.projeto.util.EncryptUtil;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
+
+/**
+ * Unsalted MD5, as every password was stored before the work-factor hash. Kept only to verify those
+ * hashes until their owners log in again and get rehashed.
+ */
+@Component
+public class LegacyMd5PasswordHasher implements PasswordHasher {
+
+    public static final String ALGORITHM = "md5";
+
+    private static final Pattern MD5_HEX = Pattern.compile("^[a-f0-9]{32}$");
+
+    @Override
+    public String algorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return EncryptUtil.toMD5(rawPassword);
+    }
+
+    @Override
+    public boolean supports(String encodedPassword) {
+        return MD5_HEX.matcher(encodedPassword).matches();
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return MessageDigest.isEqual(hash(rawPassword).getBytes(StandardCharsets.US_ASCII),
+                encodedPassword.getBytes(StandardCharsets.US_ASCII));
+    }
+}
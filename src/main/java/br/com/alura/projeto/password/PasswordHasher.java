@@ -0,0 +1,24 @@
+package br.com.alura.projeto.password;
+
+/**
+ * One password hashing algorithm. Implementations are Spring beans; {@link PasswordHashing} hashes new
+ * passwords with the one named by {@code app.password.algorithm} and verifies stored hashes with
+ * whichever implementation {@link #supports} them.
+ */
+public interface PasswordHasher {
+
+    String algorithm();
+
+    String hash(String rawPassword);
+
+    boolean supports(String encodedPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * Whether a hash this hasher supports was produced with weaker settings than it uses now.
+     */
+    default boolean isOutdated(String encodedPassword) {
+        return false;
+    }
+}
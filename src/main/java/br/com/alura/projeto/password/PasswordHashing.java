@@ -0,0 +1,122 @@
+package br.com.alura.projeto.password;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hashes and verifies passwords on a dedicated pool sized to the CPU cores. A work-factor hash costs
+ * tens of milliseconds of CPU; run on request threads (virtual ones in particular) hundreds of
+ * signups would compete for the cores at once and every request would slow down together. Here they
+ * wait in a bounded queue, and past it the caller gets a {@link PasswordHashingBusyException}.
+ */
+@Service
+public class PasswordHashing implements MeterBinder, DisposableBean {
+
+    private final List<PasswordHasher> hashers;
+    private final PasswordHasher current;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public PasswordHashing(List<PasswordHasher> hashers,
+                           @Value("${app.password.algorithm:" + Pbkdf2PasswordHasher.ALGORITHM + "}") String algorithm,
+                           @Value("${app.password.hashing.threads:0}") int threads,
+                           @Value("${app.password.hashing.queue-capacity:256}") int queueCapacity,
+                           @Value("${app.password.hashing.timeout:PT10S}") Duration timeout) {
+        this.hashers = List.copyOf(hashers);
+        this.current = hashers.stream()
+                .filter(hasher -> hasher.algorithm().equals(algorithm))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Algoritmo de senha desconhecido: " + algorithm));
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+    }
+
+    public String hash(String rawPassword) {
+        return run(() -> current.hash(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        PasswordHasher hasher = hasherFor(encodedPassword);
+        return hasher != null && run(() -> hasher.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether the stored hash should be replaced the next time the plain password is known, because it
+     * was made by another algorithm or with a lower work factor than the current one.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return hasherFor(encodedPassword) != current || current.isOutdated(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.password.hashing.queued", this, PasswordHashing::queued)
+                .register(registry);
+        Gauge.builder("app.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+    }
+
+    int queued() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private PasswordHasher hasherFor(String encodedPassword) {
+        if (encodedPassword == null) {
+            return null;
+        }
+        return hashers.stream()
+                .filter(hasher -> hasher.supports(encodedPassword))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Fila de hashing de senhas cheia", e);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingBusyException("Hashing de senha excedeu " + timeout, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Hashing de senha interrompido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
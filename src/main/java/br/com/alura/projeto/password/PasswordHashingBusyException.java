@@ -0,0 +1,15 @@
+package br.com.alura.projeto.password;
+
+/**
+ * Thrown when the hashing executor's queue is full or a hash waited longer than the configured timeout.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
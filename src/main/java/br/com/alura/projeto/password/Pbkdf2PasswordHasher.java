@@ -0,0 +1,111 @@
+package br.com.alura.projeto.password;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 with a random salt. Stored as {@code $pbkdf2-sha256$<iterations>$<salt>$<hash>},
+ * so the work factor can be raised later and older hashes are recognised as outdated.
+ */
+@Component
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    public static final String ALGORITHM = "pbkdf2-sha256";
+
+    private static final String PREFIX = "$" + ALGORITHM + "$";
+    private static final String KEY_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iterations;
+
+    public Pbkdf2PasswordHasher(@Value("${app.password.pbkdf2.iterations:210000}") int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("app.password.pbkdf2.iterations deve ser positivo");
+        }
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String algorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(rawPassword, salt, iterations);
+        return PREFIX + iterations + "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(hash);
+    }
+
+    @Override
+    public boolean supports(String encodedPassword) {
+        return encodedPassword.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        String[] parts = parts(encodedPassword);
+        if (parts == null) {
+            return false;
+        }
+        try {
+            byte[] expected = DECODER.decode(parts[2]);
+            byte[] actual = derive(rawPassword, DECODER.decode(parts[1]), Integer.parseInt(parts[0]));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isOutdated(String encodedPassword) {
+        String[] parts = parts(encodedPassword);
+        try {
+            return parts == null || Integer.parseInt(parts[0]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    int iterations() {
+        return iterations;
+    }
+
+    /**
+     * @return iterations, salt and hash, or {@code null} when the value is not a well-formed hash
+     */
+    private static String[] parts(String encodedPassword) {
+        if (!encodedPassword.startsWith(PREFIX)) {
+            return null;
+        }
+        String[] parts = encodedPassword.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3 || parts[0].isEmpty() || !parts[0].chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return parts;
+    }
+
+    private static byte[] derive(String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(KEY_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.alura.projeto.registration;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "course_registration_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseRegistrationStats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+
+    @Column(name = "last_registration_at")
+    private LocalDateTime lastRegistrationAt;
+}
@@ -0,0 +1,59 @@
+package br.com.alura.projeto.registration;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface CourseRegistrationStatsRepository extends JpaRepository<CourseRegistrationStats, Long> {
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO course_registration_stats (course_id, total, last_registration_at)
+        VALUES (:courseId, 1, :registeredAt)
+        ON DUPLICATE KEY UPDATE
+            total = total + 1,
+            last_registration_at = GREATEST(COALESCE(last_registration_at, :registeredAt), :registeredAt)
+        """, nativeQuery = true)
+    void incrementTotal(@Param("courseId") Long courseId, @Param("registeredAt") LocalDateTime registeredAt);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO course_registration_stats (course_id, total, last_registration_at)
+        VALUES (:courseId, :amount, :registeredAt)
+        ON DUPLICATE KEY UPDATE
+            total = total + :amount,
+            last_registration_at = GREATEST(COALESCE(last_registration_at, :registeredAt), :registeredAt)
+        """, nativeQuery = true)
+    void incrementTotalBy(@Param("courseId") Long courseId, @Param("amount") long amount,
+                          @Param("registeredAt") LocalDateTime registeredAt);
+
+    @Query("SELECT c.id FROM Course c ORDER BY c.id")
+    List<Long> findAllCourseIds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<CourseRegistrationStats> findWithLockByCourseId(Long courseId);
+
+    @Query("SELECT COUNT(r) FROM Registration r WHERE r.course.id = :courseId")
+    long countRegistrations(@Param("courseId") Long courseId);
+
+    @Query("SELECT MAX(r.registrationDate) FROM Registration r WHERE r.course.id = :courseId")
+    LocalDateTime findLastRegistrationAt(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO course_registration_stats (course_id, total, last_registration_at)
+        VALUES (:courseId, :total, :lastRegistrationAt)
+        ON DUPLICATE KEY UPDATE
+            total = :total,
+            last_registration_at = :lastRegistrationAt
+        """, nativeQuery = true)
+    void overwrite(@Param("courseId") Long courseId, @Param("total") long total,
+                   @Param("lastRegistrationAt") LocalDateTime lastRegistrationAt);
+}
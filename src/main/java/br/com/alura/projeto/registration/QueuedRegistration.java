@@ -0,0 +1,17 @@
+package br.com.alura.projeto.registration;
+
+import java.util.UUID;
+
+public record QueuedRegistration(UUID trackingId, String studentEmail, String courseCode) {
+
+    public static QueuedRegistration of(NewRegistrationDTO request) {
+        return new QueuedRegistration(UUID.randomUUID(), request.getStudentEmail(), request.getCourseCode());
+    }
+
+    public NewRegistrationDTO toRequest() {
+        NewRegistrationDTO request = new NewRegistrationDTO();
+        request.setStudentEmail(studentEmail);
+        request.setCourseCode(courseCode);
+        return request;
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.alura.projeto.registration;
 
 import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.id.PooledTableId;
 import br.com.alura.projeto.user.User;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -10,14 +11,15 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Registration")
+@Table(name = "Registration", uniqueConstraints =
+        @UniqueConstraint(name = "UC_User_Course", columnNames = {"user_id", "course_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Registration {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId("registration")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
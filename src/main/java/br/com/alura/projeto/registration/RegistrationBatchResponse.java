@@ -0,0 +1,11 @@
+package br.com.alura.projeto.registration;
+
+import java.util.List;
+
+public record RegistrationBatchResponse(long created, long rejected, List<RegistrationBatchResult> results) {
+
+    public static RegistrationBatchResponse of(List<RegistrationBatchResult> results) {
+        long created = results.stream().filter(r -> r.status() == RegistrationBatchStatus.CREATED).count();
+        return new RegistrationBatchResponse(created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,5 @@
+package br.com.alura.projeto.registration;
+
+public record RegistrationBatchResult(int index, String studentEmail, String courseCode,
+                                      RegistrationBatchStatus status, String message) {
+}
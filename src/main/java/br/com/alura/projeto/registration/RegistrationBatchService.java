@@ -0,0 +1,179 @@
+package br.com.alura.projeto.registration;
+
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseRepository;
+import br.com.alura.projeto.course.CourseStatus;
+import br.com.alura.projeto.id.EntityIds;
+import br.com.alura.projeto.user.User;
+import br.com.alura.projeto.user.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Enrolls many students at once with a fixed number of round trips: one {@code IN} lookup for
+ * users, one for courses and one batch of {@code INSERT IGNORE}, where a pair that already exists,
+ * even one enrolled concurrently, simply writes nothing. Ids for the valid items are drawn through
+ * {@link EntityIds} before the transaction opens.
+ */
+@Service
+public class RegistrationBatchService {
+
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final RegistrationRepository registrationRepository;
+    private final CourseRegistrationStatsRepository statsRepository;
+    private final EntityIds entityIds;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    public RegistrationBatchService(UserRepository userRepository, CourseRepository courseRepository,
+                                    RegistrationRepository registrationRepository,
+                                    CourseRegistrationStatsRepository statsRepository, EntityIds entityIds,
+                                    PlatformTransactionManager transactionManager, Validator validator) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.registrationRepository = registrationRepository;
+        this.statsRepository = statsRepository;
+        this.entityIds = entityIds;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+    }
+
+    public List<RegistrationBatchResult> register(List<NewRegistrationDTO> requests) {
+        List<String> invalid = requests.stream().map(this::validationMessage).toList();
+        int valid = (int) invalid.stream().filter(Objects::isNull).count();
+        List<Long> ids = valid == 0 ? List.of() : entityIds.next(Registration.class, valid);
+
+        return transactionTemplate.execute(status -> register(requests, invalid, ids.iterator()));
+    }
+
+    private List<RegistrationBatchResult> register(List<NewRegistrationDTO> requests, List<String> invalid,
+                                                   Iterator<Long> ids) {
+
+        Set<String> emails = new LinkedHashSet<>();
+        Set<String> codes = new LinkedHashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (invalid.get(i) == null) {
+                emails.add(requests.get(i).getStudentEmail());
+                codes.add(requests.get(i).getCourseCode());
+            }
+        }
+
+        Map<String, User> users = index(inChunks(emails, userRepository::findByEmailIn), User::getEmail);
+        Map<String, Course> courses = index(inChunks(codes, courseRepository::findByCodeIn), Course::getCode);
+
+        LocalDateTime registeredAt = LocalDateTime.now();
+        List<RegistrationBatchResult> results = new ArrayList<>(requests.size());
+        List<Registration> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        Set<RegistrationKey> inBatch = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            NewRegistrationDTO request = requests.get(i);
+            if (invalid.get(i) != null) {
+                results.add(result(i, request, RegistrationBatchStatus.INVALID, invalid.get(i)));
+                continue;
+            }
+
+            User user = users.get(request.getStudentEmail());
+            Course course = courses.get(request.getCourseCode());
+            if (user == null) {
+                results.add(result(i, request, RegistrationBatchStatus.USER_NOT_FOUND,
+                        "Usuário não encontrado com o email: " + request.getStudentEmail()));
+            } else if (course == null) {
+                results.add(result(i, request, RegistrationBatchStatus.COURSE_NOT_FOUND,
+                        "Curso não encontrado: " + request.getCourseCode()));
+            } else if (course.getStatus() != CourseStatus.ACTIVE) {
+                results.add(result(i, request, RegistrationBatchStatus.COURSE_INACTIVE,
+                        "Não pode se registrar no curso inativo: " + course.getCode()));
+            } else {
+                RegistrationKey key = new RegistrationKey(user.getId(), course.getId());
+                if (!inBatch.add(key)) {
+                    results.add(result(i, request, RegistrationBatchStatus.DUPLICATED_IN_BATCH,
+                            "Matrícula repetida no lote"));
+                } else {
+                    Registration registration = new Registration(user, course);
+                    registration.setRegistrationDate(registeredAt);
+                    registration.setId(ids.next());
+                    accepted.add(registration);
+                    acceptedIndexes.add(i);
+                    results.add(result(i, request, RegistrationBatchStatus.CREATED, null));
+                }
+            }
+        }
+
+        List<Registration> inserted = registrationRepository.insertAllIfAbsent(accepted);
+        for (int i = 0; i < accepted.size(); i++) {
+            if (accepted.get(i).getId() == null) {
+                int index = acceptedIndexes.get(i);
+                results.set(index, result(index, requests.get(index), RegistrationBatchStatus.ALREADY_REGISTERED,
+                        "O usuário já está registrado nesse curso"));
+            }
+        }
+
+        inserted.stream()
+                .collect(Collectors.groupingBy(registration -> registration.getCourse().getId(),
+                        LinkedHashMap::new, Collectors.counting()))
+                .forEach((courseId, total) -> statsRepository.incrementTotalBy(courseId, total, registeredAt));
+        return results;
+    }
+
+    private String validationMessage(NewRegistrationDTO request) {
+        if (request == null) {
+            return "Matrícula vazia";
+        }
+
+        Set<ConstraintViolation<NewRegistrationDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static RegistrationBatchResult result(int index, NewRegistrationDTO request,
+                                                  RegistrationBatchStatus status, String message) {
+        return request == null
+                ? new RegistrationBatchResult(index, null, null, status, message)
+                : new RegistrationBatchResult(index, request.getStudentEmail(), request.getCourseCode(), status, message);
+    }
+
+    private static <T> Map<String, T> index(List<T> values, Function<T, String> key) {
+        Map<String, T> index = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        values.forEach(value -> index.put(key.apply(value), value));
+        return index;
+    }
+
+    private static <K, V> List<V> inChunks(Collection<K> keys, Function<List<K>, List<V>> query) {
+        List<K> all = List.copyOf(keys);
+        List<V> values = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_CLAUSE_SIZE) {
+            values.addAll(query.apply(all.subList(from, Math.min(from + IN_CLAUSE_SIZE, all.size()))));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.alura.projeto.registration;
+
+public enum RegistrationBatchStatus {
+    CREATED,
+    INVALID,
+    USER_NOT_FOUND,
+    COURSE_NOT_FOUND,
+    COURSE_INACTIVE,
+    ALREADY_REGISTERED,
+    DUPLICATED_IN_BATCH,
+    FAILED
+}
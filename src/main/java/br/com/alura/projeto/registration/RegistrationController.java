@@ -3,24 +3,45 @@ package br.com.alura.projeto.registration;
 import br.com.alura.projeto.course.Course;
 import br.com.alura.projeto.course.CourseRepository;
 import br.com.alura.projeto.course.CourseStatus;
+import br.com.alura.projeto.existence.ExistenceFilters;
+import br.com.alura.projeto.existence.ExistenceKeySpace;
+import br.com.alura.projeto.id.EntityIds;
 import br.com.alura.projeto.user.User;
 import br.com.alura.projeto.user.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 public class RegistrationController {
 
+    static final int MAX_PAGE_SIZE = 100;
+    static final String RETRY_AFTER_SECONDS = "1";
+
     @Autowired
     private RegistrationRepository registrationRepository;
 
@@ -30,18 +51,51 @@ public class RegistrationController {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private CourseRegistrationStatsRepository courseRegistrationStatsRepository;
+
+    @Autowired
+    private RegistrationReportReader registrationReportReader;
+
+    @Autowired
+    private RegistrationBatchService registrationBatchService;
+
+    @Autowired
+    private ObjectProvider<RegistrationWriteBehind> registrationWriteBehind;
+
+    @Autowired
+    private EntityIds entityIds;
+
+    @Autowired
+    private ExistenceFilters existenceFilters;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/registration/new")
     public ResponseEntity<?> createRegistration(@Valid @RequestBody NewRegistrationDTO newRegistration) {
+        RegistrationWriteBehind writeBehind = registrationWriteBehind.getIfAvailable();
+        if (writeBehind != null) {
+            return enqueue(writeBehind, newRegistration);
+        }
+
+        Long registrationId = entityIds.next(Registration.class);
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> register(registrationId, newRegistration));
+    }
+
+    private ResponseEntity<?> register(Long registrationId, NewRegistrationDTO newRegistration) {
         Optional<User> userOpt = userRepository.findByEmail(newRegistration.getStudentEmail());
         if (userOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body("Usuário não encontrado com o email: " + newRegistration.getStudentEmail());
+            return userNotFound(newRegistration);
         }
 
         Optional<Course> courseOpt = courseRepository.findByCode(newRegistration.getCourseCode());
         if (courseOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body("Curso não encontrado: " + newRegistration.getCourseCode());
+            return courseNotFound(newRegistration);
         }
 
         User user = userOpt.get();
@@ -52,32 +106,115 @@ public class RegistrationController {
                     .body("Não pode se registrar no curso inativo: " + course.getCode());
         }
 
-        if (registrationRepository.existsByUserAndCourse(user, course)) {
+        Registration registration = new Registration(user, course);
+        registration.setId(registrationId);
+        if (!registrationRepository.insertIfAbsent(registration)) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
                     .body("O usuário já está registrado nesse curso");
         }
 
-        Registration registration = new Registration(user, course);
-        registrationRepository.save(registration);
+        courseRegistrationStatsRepository.incrementTotal(course.getId(), registration.getRegistrationDate());
 
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    private ResponseEntity<?> enqueue(RegistrationWriteBehind writeBehind, NewRegistrationDTO newRegistration) {
+        // Unknown students and courses are refused before the 202, most of them by the Bloom filters alone
+        if (!existenceFilters.exists(ExistenceKeySpace.USER_EMAIL, newRegistration.getStudentEmail(),
+                userRepository::existsByEmail)) {
+            return userNotFound(newRegistration);
+        }
+        if (!existenceFilters.exists(ExistenceKeySpace.COURSE_CODE, newRegistration.getCourseCode(),
+                courseRepository::existsByCode)) {
+            return courseNotFound(newRegistration);
+        }
+
+        Optional<UUID> trackingId = writeBehind.submit(newRegistration);
+        if (trackingId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body("Fila de matrículas cheia, tente novamente");
+        }
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/registration/tracking/" + trackingId.get()))
+                .body(Map.of("trackingId", trackingId.get()));
+    }
+
+    private static ResponseEntity<String> userNotFound(NewRegistrationDTO newRegistration) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("Usuário não encontrado com o email: " + newRegistration.getStudentEmail());
+    }
+
+    private static ResponseEntity<String> courseNotFound(NewRegistrationDTO newRegistration) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("Curso não encontrado: " + newRegistration.getCourseCode());
+    }
+
+    @GetMapping("/registration/tracking/{trackingId}")
+    public ResponseEntity<RegistrationTracking> tracking(@PathVariable UUID trackingId) {
+        return registrationWriteBehind.stream()
+                .flatMap(writeBehind -> writeBehind.tracking(trackingId).stream())
+                .findFirst()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/registration/batch")
+    public ResponseEntity<?> createRegistrations(@RequestBody List<NewRegistrationDTO> registrations) {
+        if (registrations.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Nenhuma matrícula informada");
+        }
+
+        if (registrations.size() > RegistrationBatchService.MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("O lote pode ter no máximo " + RegistrationBatchService.MAX_BATCH_SIZE + " matrículas");
+        }
+
+        List<RegistrationBatchResult> results = registrationBatchService.register(registrations);
+        return ResponseEntity.ok(RegistrationBatchResponse.of(results));
+    }
+
+    @GetMapping("/registration/by-user/{email}")
+    public RegistrationListPage listByUser(@PathVariable String email,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "20") int size) {
+        return RegistrationListPage.of(registrationRepository.findItemsByUserEmail(email, pageRequest(page, size)));
+    }
+
+    @GetMapping("/registration/by-course/{code}")
+    public RegistrationListPage listByCourse(@PathVariable String code,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size) {
+        return RegistrationListPage.of(registrationRepository.findItemsByCourseCode(code, pageRequest(page, size)));
+    }
+
+    private static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
     @GetMapping("/registration/report")
-    public ResponseEntity<List<RegistrationReportItem>> report() {
-        List<Object[]> results = registrationRepository.findCourseRegistrationReport();
-        
-        List<RegistrationReportItem> items = results.stream()
-                .map(row -> new RegistrationReportItem(
-                        (String) row[0], // courseName
-                        (String) row[1], // courseCode
-                        (String) row[2], // instructorName
-                        (String) row[3], // instructorEmail
-                        ((Number) row[4]).longValue() // totalRegistrations
-                ))
-                .toList();
-
-        return ResponseEntity.ok(items);
+    public ResponseEntity<StreamingResponseBody> report() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                registrationReportReader.readAll(item -> writeItem(generator, item));
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private void writeItem(JsonGenerator generator, RegistrationReportItem item) {
+        try {
+            generator.writeObject(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
 }
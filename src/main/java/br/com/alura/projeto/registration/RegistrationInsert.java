@@ -0,0 +1,22 @@
+package br.com.alura.projeto.registration;
+
+import java.util.List;
+
+public interface RegistrationInsert {
+
+    /**
+     * Inserts the registration unless the student is already enrolled in the course, relying on the
+     * {@code UC_User_Course} constraint instead of a prior lookup. The id must already be set, drawn by
+     * {@link br.com.alura.projeto.id.EntityIds} before the transaction started.
+     *
+     * @return {@code false} when the pair already existed and nothing was written
+     */
+    boolean insertIfAbsent(Registration registration);
+
+    /**
+     * {@link #insertIfAbsent} for many registrations, sent as one JDBC batch.
+     *
+     * @return the registrations written; the others were already enrolled and keep a {@code null} id
+     */
+    List<Registration> insertAllIfAbsent(List<Registration> registrations);
+}
@@ -0,0 +1,164 @@
+package br.com.alura.projeto.registration;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@code INSERT IGNORE} turns a duplicate (user, course) pair into "0 rows affected" in the same
+ * statement that would write the row, so concurrent requests for the same pair cannot both pass a
+ * check and then race on the constraint.
+ * <p>
+ * {@code IGNORE} also downgrades every other error, a missing user or course among them, to a
+ * warning. A skipped row is only reported as a duplicate when MySQL said so with error 1062, or,
+ * when the warnings cannot account for every skipped row, once the pair is found in the table;
+ * any other warning fails the statement.
+ */
+class RegistrationInsertImpl implements RegistrationInsert {
+
+    private static final String INSERT_IGNORE_SQL = """
+            INSERT IGNORE INTO registration (id, user_id, course_id, registration_date)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final int ER_DUP_ENTRY = 1062;
+
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean insertIfAbsent(Registration registration) {
+        // The statement runs on the JDBC connection; a student or course persisted just before must be there
+        entityManager.flush();
+        return !insertAllIfAbsent(List.of(registration)).isEmpty();
+    }
+
+    @Override
+    public List<Registration> insertAllIfAbsent(List<Registration> registrations) {
+        if (registrations.isEmpty()) {
+            return List.of();
+        }
+        registrations.forEach(registration ->
+                Objects.requireNonNull(registration.getId(), "Matrícula sem id reservado"));
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            int[] counts;
+            int duplicates;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_IGNORE_SQL)) {
+                for (Registration registration : registrations) {
+                    statement.setLong(1, registration.getId());
+                    statement.setLong(2, registration.getUser().getId());
+                    statement.setLong(3, registration.getCourse().getId());
+                    statement.setTimestamp(4, Timestamp.valueOf(registration.getRegistrationDate()));
+                    statement.addBatch();
+                }
+                counts = statement.executeBatch();
+                duplicates = duplicateWarnings(statement.getWarnings());
+            }
+
+            // With rewriteBatchedStatements Connector/J reports SUCCESS_NO_INFO for every row; the ids
+            // that made it into the table tell which rows were written
+            Set<Long> unknown = new HashSet<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                    unknown.add(registrations.get(i).getId());
+                }
+            }
+            Set<Long> written = unknown.isEmpty() ? Set.of() : existingIds(connection, List.copyOf(unknown));
+
+            List<Registration> inserted = new ArrayList<>();
+            List<Registration> skipped = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                Registration registration = registrations.get(i);
+                if (counts[i] > 0 || written.contains(registration.getId())) {
+                    inserted.add(registration);
+                } else {
+                    skipped.add(registration);
+                }
+            }
+
+            // Warnings only cover the last statement of an unrewritten batch and stop at max_error_count
+            if (skipped.size() > duplicates) {
+                requireRegistered(connection, skipped);
+            }
+            skipped.forEach(registration -> registration.setId(null));
+            return inserted;
+        });
+    }
+
+    private static int duplicateWarnings(SQLWarning warning) throws SQLException {
+        int duplicates = 0;
+        for (; warning != null; warning = warning.getNextWarning()) {
+            if (warning.getErrorCode() != ER_DUP_ENTRY) {
+                throw new SQLException("Matrícula recusada pelo banco: " + warning.getMessage(),
+                        warning.getSQLState(), warning.getErrorCode(), warning);
+            }
+            duplicates++;
+        }
+        return duplicates;
+    }
+
+    private static void requireRegistered(Connection connection, List<Registration> skipped) throws SQLException {
+        Set<RegistrationKey> registered = new HashSet<>();
+        for (int from = 0; from < skipped.size(); from += IN_CLAUSE_SIZE) {
+            List<Registration> chunk = skipped.subList(from, Math.min(from + IN_CLAUSE_SIZE, skipped.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "(?, ?)"));
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT user_id, course_id FROM registration WHERE (user_id, course_id) IN (" + placeholders + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setLong(2 * i + 1, chunk.get(i).getUser().getId());
+                    statement.setLong(2 * i + 2, chunk.get(i).getCourse().getId());
+                }
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        registered.add(new RegistrationKey(rows.getLong(1), rows.getLong(2)));
+                    }
+                }
+            }
+        }
+
+        for (Registration registration : skipped) {
+            RegistrationKey key = new RegistrationKey(registration.getUser().getId(), registration.getCourse().getId());
+            if (!registered.contains(key)) {
+                throw new SQLException("Matrícula não gravada e sem registro anterior: usuário "
+                        + key.userId() + ", curso " + key.courseId());
+            }
+        }
+    }
+
+    private static Set<Long> existingIds(Connection connection, List<Long> ids) throws SQLException {
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_SIZE, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id FROM registration WHERE id IN (" + placeholders + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setLong(i + 1, chunk.get(i));
+                }
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        existing.add(rows.getLong(1));
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,242 @@
+package br.com.alura.projeto.registration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only spill file for registrations accepted by {@link RegistrationWriteBehind} but not yet
+ * committed. {@code A} lines hold a registration and are forced to disk before the request is
+ * acknowledged; {@code K} lines list registrations already committed and {@code F} lines the ones
+ * given up on, which are not replayed either. The file is emptied whenever
+ * nothing is pending and rewritten with only the pending lines once it grows past a threshold.
+ * <p>
+ * Locks rather than {@code synchronized}, so virtual threads waiting here release their carrier, and
+ * the {@code force} runs outside the lock that appends take: lines keep being written while it syncs.
+ */
+public class RegistrationJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationJournal.class);
+
+    private final Path file;
+    private final long compactAbove;
+    private final ObjectMapper objectMapper;
+
+    // Guards the channel, pending and appended; syncLock lets one force run at a time
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private final Map<UUID, QueuedRegistration> pending = new LinkedHashMap<>();
+    private FileChannel channel;
+    private long appended;
+    private final AtomicLong synced = new AtomicLong();
+
+    public RegistrationJournal(Path file, long compactAbove, ObjectMapper objectMapper) {
+        this.file = file;
+        this.compactAbove = compactAbove;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads what a previous run left uncommitted and opens the journal for appending.
+     */
+    public List<QueuedRegistration> recover() {
+        lock.lock();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            if (Files.exists(file)) {
+                for (String line : Files.readAllLines(file, UTF_8)) {
+                    replay(line);
+                }
+            }
+            rewrite();
+            if (!pending.isEmpty()) {
+                log.info("{} matrículas pendentes recuperadas de {}", pending.size(), file);
+            }
+            return new ArrayList<>(pending.values());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns once the registration is on disk. Concurrent callers share one {@code force}: whoever
+     * gets to sync first covers every line appended before it.
+     */
+    public void append(QueuedRegistration registration) {
+        long sequence;
+        lock.lock();
+        try {
+            write(channel, "A " + objectMapper.writeValueAsString(registration) + "\n");
+            pending.put(registration.trackingId(), registration);
+            sequence = ++appended;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (synced.get() >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced.get() < sequence) {
+                sync();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    public void acknowledge(Collection<UUID> committed) {
+        settle("K", committed);
+    }
+
+    public void fail(Collection<UUID> failed) {
+        settle("F", failed);
+    }
+
+    /**
+     * Forces every line written so far. A channel closed meanwhile by a compaction is fine: the
+     * compacted file was forced with every pending line before it replaced this one.
+     */
+    private void sync() {
+        FileChannel target;
+        long covered;
+        lock.lock();
+        try {
+            target = channel;
+            covered = appended;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            target.force(false);
+        } catch (ClosedChannelException e) {
+            lock.lock();
+            try {
+                if (channel == target) {
+                    throw new UncheckedIOException(e);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        synced.accumulateAndGet(covered, Math::max);
+    }
+
+    private void settle(String marker, Collection<UUID> settled) {
+        lock.lock();
+        try {
+            settled.forEach(pending::remove);
+            if (pending.isEmpty()) {
+                channel.truncate(0);
+            } else if (channel.size() > compactAbove) {
+                rewrite();
+            } else {
+                List<String> ids = settled.stream().map(UUID::toString).toList();
+                write(channel, marker + " " + String.join(",", ids) + "\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closeChannel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void replay(String line) {
+        try {
+            if (line.startsWith("A ")) {
+                QueuedRegistration registration = objectMapper.readValue(line.substring(2), QueuedRegistration.class);
+                pending.put(registration.trackingId(), registration);
+            } else if (line.startsWith("K ") || line.startsWith("F ")) {
+                for (String id : line.substring(2).split(",")) {
+                    pending.remove(UUID.fromString(id));
+                }
+            }
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            // Only the last line can be torn by a crash, and it was never acknowledged
+            log.warn("Linha ignorada no journal de matrículas {}: {}", file, line);
+        }
+    }
+
+    private void rewrite() throws IOException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            for (QueuedRegistration registration : pending.values()) {
+                write(out, "A " + objectMapper.writeValueAsString(registration) + "\n");
+            }
+            out.force(true);
+        }
+        closeChannel();
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, CREATE, WRITE, APPEND);
+        synced.accumulateAndGet(appended, Math::max);
+    }
+
+    private static void write(FileChannel target, String line) throws IOException {
+        ByteBuffer buffer = UTF_8.encode(line);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+}
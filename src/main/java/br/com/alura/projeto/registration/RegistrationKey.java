@@ -0,0 +1,4 @@
+package br.com.alura.projeto.registration;
+
+public record RegistrationKey(Long userId, Long courseId) {
+}
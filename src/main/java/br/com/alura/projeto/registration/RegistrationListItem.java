@@ -0,0 +1,7 @@
+package br.com.alura.projeto.registration;
+
+import java.time.LocalDateTime;
+
+public record RegistrationListItem(Long id, LocalDateTime registrationDate, String studentName, String studentEmail,
+                                   String courseName, String courseCode) {
+}
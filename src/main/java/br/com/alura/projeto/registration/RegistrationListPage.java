@@ -0,0 +1,12 @@
+package br.com.alura.projeto.registration;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public record RegistrationListPage(List<RegistrationListItem> items, int page, int size, boolean hasNext) {
+
+    public static RegistrationListPage of(Slice<RegistrationListItem> slice) {
+        return new RegistrationListPage(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+}
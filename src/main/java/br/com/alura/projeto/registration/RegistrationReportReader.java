@@ -0,0 +1,60 @@
+package br.com.alura.projeto.registration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Reads the registration report row by row through a forward-only JDBC cursor, so callers can
+ * write each item out without holding the whole report in memory.
+ */
+@Component
+public class RegistrationReportReader {
+
+    private static final String REPORT_SQL = """
+        SELECT c.name as courseName,
+               c.code as courseCode,
+               c.instructor as instructorName,
+               c.instructor as instructorEmail,
+               s.total as totalRegistrations
+        FROM course_registration_stats s
+        INNER JOIN courses c ON s.course_id = c.id
+        WHERE c.status = 'ACTIVE' AND s.total > 0
+        ORDER BY s.total DESC
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public RegistrationReportReader(JdbcTemplate jdbcTemplate,
+                                    @Value("${registration.report.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public void readAll(Consumer<RegistrationReportItem> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(REPORT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) row -> consumer.accept(toReportItem(row)));
+    }
+
+    static RegistrationReportItem toReportItem(ResultSet row) throws SQLException {
+        return new RegistrationReportItem(
+                row.getString("courseName"),
+                row.getString("courseCode"),
+                row.getString("instructorName"),
+                row.getString("instructorEmail"),
+                row.getLong("totalRegistrations"));
+    }
+}
@@ -1,7 +1,8 @@
 package br.com.alura.projeto.registration;
 
-import br.com.alura.projeto.course.Course;
-import br.com.alura.projeto.user.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,30 +10,34 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
-public interface RegistrationRepository extends JpaRepository<Registration, Long> {
+public interface RegistrationRepository extends JpaRepository<Registration, Long>, RegistrationInsert {
 
-    boolean existsByUserAndCourse(User user, Course course);
-
-    @Query("SELECT r FROM Registration r WHERE r.course.status = 'ACTIVE'")
+    @Query("SELECT r FROM Registration r JOIN FETCH r.user JOIN FETCH r.course c WHERE c.status = 'ACTIVE'")
     List<Registration> findAllActiveRegistrations();
 
-    @Query(value = """
-        SELECT c.name as courseName, 
-               c.code as courseCode, 
-               c.instructor as instructorName, 
-               c.instructor as instructorEmail, 
-               COUNT(r.id) as totalRegistrations
-        FROM registration r
-        INNER JOIN courses c ON r.course_id = c.id
-        WHERE c.status = 'ACTIVE'
-        GROUP BY c.id, c.name, c.code, c.instructor
-        ORDER BY totalRegistrations DESC
-        """, nativeQuery = true)
-    List<Object[]> findCourseRegistrationReport();
-
+    @EntityGraph(attributePaths = {"user", "course"})
     @Query("SELECT r FROM Registration r WHERE r.user.email = :email")
     List<Registration> findByUserEmail(@Param("email") String email);
 
+    @EntityGraph(attributePaths = {"user", "course"})
     @Query("SELECT r FROM Registration r WHERE r.course.code = :courseCode")
     List<Registration> findByCourseCode(@Param("courseCode") String courseCode);
+
+    @Query("""
+        SELECT new br.com.alura.projeto.registration.RegistrationListItem(
+            r.id, r.registrationDate, u.name, u.email, c.name, c.code)
+        FROM Registration r JOIN r.user u JOIN r.course c
+        WHERE u.email = :email
+        ORDER BY r.registrationDate DESC, r.id DESC
+        """)
+    Slice<RegistrationListItem> findItemsByUserEmail(@Param("email") String email, Pageable pageable);
+
+    @Query("""
+        SELECT new br.com.alura.projeto.registration.RegistrationListItem(
+            r.id, r.registrationDate, u.name, u.email, c.name, c.code)
+        FROM Registration r JOIN r.user u JOIN r.course c
+        WHERE c.code = :courseCode
+        ORDER BY r.registrationDate DESC, r.id DESC
+        """)
+    Slice<RegistrationListItem> findItemsByCourseCode(@Param("courseCode") String courseCode, Pageable pageable);
 }
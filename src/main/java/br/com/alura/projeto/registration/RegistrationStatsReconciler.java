@@ -0,0 +1,58 @@
+package br.com.alura.projeto.registration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks {@code course_registration_stats} against the raw {@code registration} table so any drift
+ * in the incrementally maintained counters is corrected. Each course is checked in its own short
+ * transaction that locks only its counter row, and only counters that differ are rewritten, so
+ * registrations keep flowing while the job runs.
+ */
+@Component
+public class RegistrationStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationStatsReconciler.class);
+
+    private final CourseRegistrationStatsRepository statsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RegistrationStatsReconciler(CourseRegistrationStatsRepository statsRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${registration.stats.reconcile-cron:0 0 3 * * *}")
+    public void reconcile() {
+        int corrected = 0;
+        for (Long courseId : statsRepository.findAllCourseIds()) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(courseId)))) {
+                corrected++;
+            }
+        }
+        log.info("Estatísticas de matrícula conferidas; {} cursos corrigidos", corrected);
+    }
+
+    /**
+     * The counter row is locked before counting, so an increment racing with the check either is
+     * already in the count or waits and lands on top of the corrected total.
+     */
+    private boolean reconcile(Long courseId) {
+        long current = statsRepository.findWithLockByCourseId(courseId)
+                .map(CourseRegistrationStats::getTotal)
+                .orElse(0L);
+        long counted = statsRepository.countRegistrations(courseId);
+        if (current == counted) {
+            return false;
+        }
+
+        statsRepository.overwrite(courseId, counted, statsRepository.findLastRegistrationAt(courseId));
+        log.warn("Total de matrículas do curso {} corrigido de {} para {}", courseId, current, counted);
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.alura.projeto.registration;
+
+import java.util.UUID;
+
+public record RegistrationTracking(UUID trackingId, boolean pending, RegistrationBatchStatus status, String message) {
+
+    public static RegistrationTracking pending(UUID trackingId) {
+        return new RegistrationTracking(trackingId, true, null, null);
+    }
+
+    public static RegistrationTracking failed(UUID trackingId, String message) {
+        return new RegistrationTracking(trackingId, false, RegistrationBatchStatus.FAILED, message);
+    }
+
+    public static RegistrationTracking of(UUID trackingId, RegistrationBatchResult result) {
+        return new RegistrationTracking(trackingId, false, result.status(), result.message());
+    }
+}
@@ -0,0 +1,253 @@
+package br.com.alura.projeto.registration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous registration mode: {@link #submit} forces the request to the {@link RegistrationJournal},
+ * queues it and returns a tracking id, and a single writer thread commits the queue through
+ * {@link RegistrationBatchService} in batches of up to {@code batchSize}, so one commit covers hundreds
+ * of registrations. At most {@code capacity} registrations are in flight; past that {@code submit}
+ * waits {@code offerTimeout} for room and then refuses. A batch is retried for as long as the database
+ * is unreachable; one failing for any other reason {@code maxAttempts} times is split in halves, so a
+ * registration that can never be written ends up alone and is marked {@code FAILED} instead of holding
+ * the queue. Whatever is still pending at shutdown or after a crash is replayed from the journal on start.
+ */
+public class RegistrationWriteBehind implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationWriteBehind.class);
+
+    private static final int TRACKED = 100_000;
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final RegistrationBatchService batchService;
+    private final RegistrationJournal journal;
+    private final int batchSize;
+    private final Duration maxWait;
+    private final Duration offerTimeout;
+    private final int maxAttempts;
+
+    private final Semaphore capacity;
+    private final BlockingQueue<QueuedRegistration> queue = new LinkedBlockingQueue<>();
+    private final Map<UUID, RegistrationTracking> tracking = Collections.synchronizedMap(
+            new LinkedHashMap<>(1024, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, RegistrationTracking> eldest) {
+                    return size() > TRACKED;
+                }
+            });
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public RegistrationWriteBehind(RegistrationBatchService batchService, RegistrationJournal journal,
+                                   RegistrationWriteBehindProperties properties) {
+        this.batchService = batchService;
+        this.journal = journal;
+        this.batchSize = properties.batchSize();
+        this.maxWait = properties.maxWait();
+        this.offerTimeout = properties.offerTimeout();
+        this.maxAttempts = properties.maxAttempts();
+        this.capacity = new Semaphore(properties.capacity());
+    }
+
+    /**
+     * @return the tracking id once the registration is durable, or empty when the queue stayed full
+     */
+    public Optional<UUID> submit(NewRegistrationDTO request) {
+        if (!running) {
+            return Optional.empty();
+        }
+        try {
+            if (!capacity.tryAcquire(offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return Optional.empty();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+
+        QueuedRegistration registration = QueuedRegistration.of(request);
+        try {
+            journal.append(registration);
+        } catch (RuntimeException e) {
+            capacity.release();
+            // The caller gets the error, so a line that did reach the disk must not be replayed either
+            try {
+                journal.fail(List.of(registration.trackingId()));
+            } catch (RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+        tracking.put(registration.trackingId(), RegistrationTracking.pending(registration.trackingId()));
+        queue.add(registration);
+        return Optional.of(registration.trackingId());
+    }
+
+    public Optional<RegistrationTracking> tracking(UUID trackingId) {
+        return Optional.ofNullable(tracking.get(trackingId));
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        List<QueuedRegistration> recovered = journal.recover();
+        running = true;
+        writer = Thread.ofPlatform().name("registration-writer").start(this::drain);
+        for (QueuedRegistration registration : recovered) {
+            capacity.acquireUninterruptibly();
+            tracking.put(registration.trackingId(), RegistrationTracking.pending(registration.trackingId()));
+            queue.add(registration);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} matrículas continuam no journal e serão gravadas na próxima inicialização", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        List<QueuedRegistration> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedRegistration first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                if (!write(batch)) {
+                    return;
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void fill(List<QueuedRegistration> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        queue.drainTo(batch, batchSize - batch.size());
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            QueuedRegistration next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    /**
+     * Commits the batch, retrying with backoff. Returns {@code false} only when the application is
+     * stopping; the batch then stays in the journal.
+     */
+    private boolean write(List<QueuedRegistration> batch) throws InterruptedException {
+        long delay = 100;
+        int attempts = 0;
+        while (true) {
+            try {
+                commit(batch);
+                return true;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.warn("Lote de {} matrículas não gravado antes do encerramento", batch.size(), e);
+                    return false;
+                }
+                if (!unreachable(e) && ++attempts >= maxAttempts) {
+                    return giveUp(batch, e);
+                }
+                log.warn("Falha ao gravar lote de {} matrículas; nova tentativa em {} ms", batch.size(), delay, e);
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    private void commit(List<QueuedRegistration> batch) {
+        List<RegistrationBatchResult> results = batchService.register(
+                batch.stream().map(QueuedRegistration::toRequest).toList());
+        for (int i = 0; i < batch.size(); i++) {
+            UUID id = batch.get(i).trackingId();
+            tracking.put(id, RegistrationTracking.of(id, results.get(i)));
+        }
+        journal.acknowledge(batch.stream().map(QueuedRegistration::trackingId).toList());
+        capacity.release(batch.size());
+    }
+
+    /**
+     * Halves keep being written on their own until the registration that fails is alone.
+     */
+    private boolean giveUp(List<QueuedRegistration> batch, RuntimeException failure) throws InterruptedException {
+        if (batch.size() > 1) {
+            log.warn("Lote de {} matrículas falhou {} vezes; gravando em duas metades", batch.size(), maxAttempts);
+            int middle = batch.size() / 2;
+            return write(batch.subList(0, middle)) && write(batch.subList(middle, batch.size()));
+        }
+
+        QueuedRegistration registration = batch.get(0);
+        log.error("Matrícula de {} em {} descartada após {} tentativas", registration.studentEmail(),
+                registration.courseCode(), maxAttempts, failure);
+        tracking.put(registration.trackingId(), RegistrationTracking.failed(registration.trackingId(),
+                "Não foi possível gravar a matrícula: " + failure.getMessage()));
+        journal.fail(List.of(registration.trackingId()));
+        capacity.release();
+        return true;
+    }
+
+    /**
+     * The database being down or out of connections says nothing about the batch, so it does not count
+     * as an attempt.
+     */
+    private static boolean unreachable(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+}
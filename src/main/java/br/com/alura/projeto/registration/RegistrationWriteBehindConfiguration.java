@@ -0,0 +1,28 @@
+package br.com.alura.projeto.registration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Active when {@code registration.write-behind.enabled=true}: {@code POST /registration/new} then answers
+ * 202 with a tracking id and the registration is committed by {@link RegistrationWriteBehind}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "registration.write-behind", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RegistrationWriteBehindProperties.class)
+public class RegistrationWriteBehindConfiguration {
+
+    @Bean
+    RegistrationJournal registrationJournal(RegistrationWriteBehindProperties properties, ObjectMapper objectMapper) {
+        return new RegistrationJournal(properties.journal(), properties.compactAbove().toBytes(), objectMapper);
+    }
+
+    @Bean
+    RegistrationWriteBehind registrationWriteBehind(RegistrationBatchService batchService, RegistrationJournal journal,
+                                                    RegistrationWriteBehindProperties properties) {
+        return new RegistrationWriteBehind(batchService, journal, properties);
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.alura.projeto.registration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the asynchronous registration mode ({@code registration.write-behind.*}).
+ *
+ * @param capacity       registrations accepted but not yet committed; beyond it new requests wait
+ *                       {@code offerTimeout} for room and are then refused with 503
+ * @param batchSize      most registrations committed in one transaction
+ * @param maxWait        how long the writer waits for a batch to fill once it has a first registration
+ * @param journal        spill file every accepted registration is forced to before it is acknowledged
+ * @param compactAbove   journal size above which it is rewritten with only the pending registrations
+ * @param maxAttempts    attempts of a batch failing for a reason other than the database being unreachable
+ *                       before it is split in halves; a single registration failing that often is marked
+ *                       {@link RegistrationBatchStatus#FAILED}
+ */
+@ConfigurationProperties("registration.write-behind")
+public record RegistrationWriteBehindProperties(@DefaultValue("false") boolean enabled,
+                                                @DefaultValue("10000") int capacity,
+                                                @DefaultValue("500") int batchSize,
+                                                @DefaultValue("PT0.05S") Duration maxWait,
+                                                @DefaultValue("PT0.1S") Duration offerTimeout,
+                                                @DefaultValue("data/registration-write-behind.log") Path journal,
+                                                @DefaultValue("64MB") DataSize compactAbove,
+                                                @DefaultValue("5") int maxAttempts) {
+}
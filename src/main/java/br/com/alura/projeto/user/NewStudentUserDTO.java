@@ -25,8 +25,8 @@ public class NewStudentUserDTO {
     @Length(min = 8, max = 16)
     private String password;
 
-    public User toModel() {
-        return new User(name, email, STUDENT, password);
+    public User toModel(String encodedPassword) {
+        return new User(name, email, STUDENT, encodedPassword);
     }
 
 }
@@ -1,22 +1,29 @@
 package br.com.alura.projeto.user;
 
-import br.com.alura.projeto.util.EncryptUtil;
+import br.com.alura.projeto.existence.ExistenceFilterListener;
+import br.com.alura.projeto.id.PooledTableId;
+import br.com.alura.projeto.id.PreallocatedId;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "\"User\"")
+@EntityListeners(ExistenceFilterListener.class)
+@Table(name = "\"User\"", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class User {
+public class User implements PreallocatedId {
+
+    public static final String EMAIL_CONSTRAINT = "UC_Email";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId("User")
     private Long id;
 
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -28,10 +35,18 @@ public class User {
     private String email;
     private String password;
 
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Long preallocatedId;
+
+    /**
+     * @param password already encoded by {@link br.com.alura.projeto.password.PasswordHashing}
+     */
     public User(String name, String email, Role role, String password) {
         this.name = name;
         this.role = role;
         this.email = email;
-        this.password = EncryptUtil.toMD5(password);
+        this.password = password;
     }
 }
@@ -0,0 +1,52 @@
+package br.com.alura.projeto.user;
+
+import br.com.alura.projeto.password.PasswordHashing;
+import br.com.alura.projeto.password.PasswordHashingBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Checks credentials and, when the stored hash is legacy MD5 or weaker than the current work factor,
+ * replaces it while the plain password is at hand. Hashing runs on {@link PasswordHashing}'s pool and
+ * outside any transaction, so no connection is held while the CPU works.
+ */
+@Service
+public class UserAuthenticator {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAuthenticator.class);
+
+    private final UserRepository userRepository;
+    private final PasswordHashing passwordHashing;
+
+    public UserAuthenticator(UserRepository userRepository, PasswordHashing passwordHashing) {
+        this.userRepository = userRepository;
+        this.passwordHashing = passwordHashing;
+    }
+
+    public Optional<User> authenticate(String email, String rawPassword) {
+        Optional<User> user = userRepository.findByEmail(email)
+                .filter(candidate -> passwordHashing.matches(rawPassword, candidate.getPassword()));
+        user.ifPresent(authenticated -> rehashIfNeeded(authenticated, rawPassword));
+        return user;
+    }
+
+    private void rehashIfNeeded(User user, String rawPassword) {
+        String currentPassword = user.getPassword();
+        if (!passwordHashing.needsRehash(currentPassword)) {
+            return;
+        }
+
+        try {
+            String newPassword = passwordHashing.hash(rawPassword);
+            if (userRepository.updatePassword(user.getId(), currentPassword, newPassword) > 0) {
+                user.setPassword(newPassword);
+            }
+        } catch (PasswordHashingBusyException e) {
+            // O login já foi validado; a troca do hash fica para a próxima vez
+            log.warn("Rehash da senha do usuário {} adiado: {}", user.getId(), e.getMessage());
+        }
+    }
+}
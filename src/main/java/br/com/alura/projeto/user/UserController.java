@@ -1,43 +1,143 @@
 package br.com.alura.projeto.user;
 
+import br.com.alura.projeto.datagrid.KeysetCursor;
+import br.com.alura.projeto.datagrid.KeysetCursors;
+import br.com.alura.projeto.existence.ExistenceFilters;
+import br.com.alura.projeto.existence.ExistenceKeySpace;
+import br.com.alura.projeto.id.EntityIds;
+import br.com.alura.projeto.password.PasswordHashing;
+import br.com.alura.projeto.password.PasswordHashingBusyException;
+import br.com.alura.projeto.util.ConstraintViolations;
 import br.com.alura.projeto.util.ErrorItemDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 public class UserController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_PAGE_SIZE = 500;
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private static final Map<String, Function<String, ?>> CURSOR_PARSERS = Map.of("id", Long::valueOf);
+
     private final UserRepository userRepository;
+    private final UserListReader userListReader;
+    private final ObjectMapper objectMapper;
+    private final ExistenceFilters existenceFilters;
+    private final PasswordHashing passwordHashing;
+    private final EntityIds entityIds;
 
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, UserListReader userListReader, ObjectMapper objectMapper,
+                          ExistenceFilters existenceFilters, PasswordHashing passwordHashing,
+                          EntityIds entityIds) {
         this.userRepository = userRepository;
+        this.userListReader = userListReader;
+        this.objectMapper = objectMapper;
+        this.existenceFilters = existenceFilters;
+        this.passwordHashing = passwordHashing;
+        this.entityIds = entityIds;
     }
 
-    @Transactional
     @PostMapping("/user/newStudent")
     public ResponseEntity newStudent(@RequestBody @Valid NewStudentUserDTO newStudent) {
-        if(userRepository.existsByEmail(newStudent.getEmail())) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorItemDTO("email", "Email já cadastrado no sistema"));
+        if(existenceFilters.exists(ExistenceKeySpace.USER_EMAIL, newStudent.getEmail(), userRepository::existsByEmail)) {
+            return emailTaken();
         }
 
-        User user = newStudent.toModel();
-        userRepository.save(user);
+        String encodedPassword;
+        try {
+            encodedPassword = passwordHashing.hash(newStudent.getPassword());
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body("Muitos cadastros simultâneos, tente novamente");
+        }
+
+        User user = newStudent.toModel(encodedPassword);
+        entityIds.preallocate(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, User.EMAIL_CONSTRAINT)) {
+                return emailTaken();
+            }
+            throw e;
+        }
 
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @GetMapping("/user/all")
-    public List<UserListItemDTO> listAllUsers() {
-        return userRepository.findAll().stream().map(UserListItemDTO::new).toList();
+    private static ResponseEntity<ErrorItemDTO> emailTaken() {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorItemDTO("email", "Email já cadastrado no sistema"));
+    }
+
+    @Transactional(readOnly = true)
+    @GetMapping(value = "/user/all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity listAllUsers(@RequestParam(defaultValue = "100") int size,
+                                       @RequestParam(required = false) String cursor) {
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = (Long) KeysetCursor.decode(cursor, CURSOR_PARSERS).getKeys().get("id");
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorItemDTO("cursor", "Cursor inválido"));
+            }
+        }
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<UserListItem> page = userRepository.findListItemsAfter(afterId, Limit.of(limit));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == limit) {
+            response.header(NEXT_CURSOR_HEADER, KeysetCursors.nextOf(Map.of("id", page.get(limit - 1).getId())));
+        }
+        return response.body(page.stream().map(UserListItemDTO::new).toList());
+    }
+
+    @GetMapping(value = "/user/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                userListReader.readAll(item -> writeLine(generator, new UserListItemDTO(item)));
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLine(JsonGenerator generator, UserListItemDTO item) {
+        try {
+            generator.writeObject(item);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
 }
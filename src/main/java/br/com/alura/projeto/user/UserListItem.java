@@ -0,0 +1,15 @@
+package br.com.alura.projeto.user;
+
+/**
+ * Projection for the user listing: only the columns it shows, plus the id used as keyset cursor.
+ */
+public interface UserListItem {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    Role getRole();
+}
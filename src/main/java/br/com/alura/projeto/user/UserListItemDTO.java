@@ -18,4 +18,10 @@ public class UserListItemDTO implements Serializable {
         this.email = user.getEmail();
         this.role = user.getRole();
     }
+
+    public UserListItemDTO(UserListItem item) {
+        this.name = item.getName();
+        this.email = item.getEmail();
+        this.role = item.getRole();
+    }
 }
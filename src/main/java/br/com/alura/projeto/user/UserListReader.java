@@ -0,0 +1,28 @@
+package br.com.alura.projeto.user;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads every user through a forward-only cursor over the {@link UserListItem} projection, so the
+ * listing never materializes entities or the whole table.
+ */
+@Component
+public class UserListReader {
+
+    private final UserRepository userRepository;
+
+    public UserListReader(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public void readAll(Consumer<UserListItem> consumer) {
+        try (Stream<UserListItem> items = userRepository.streamListItems()) {
+            items.forEach(consumer);
+        }
+    }
+}
@@ -1,12 +1,43 @@
 package br.com.alura.projeto.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
     
     Optional<User> findByEmail(String email);
+
+    List<User> findByEmailIn(Collection<String> emails);
+
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email, u.role AS role FROM User u " +
+            "WHERE u.id > :afterId ORDER BY u.id")
+    List<UserListItem> findListItemsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email, u.role AS role FROM User u ORDER BY u.id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<UserListItem> streamListItems();
+
+    /**
+     * Replaces the password only if it is still {@code currentPassword}, so a rehash racing a password
+     * change never overwrites the newer one.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :currentPassword")
+    int updatePassword(@Param("id") Long id, @Param("currentPassword") String currentPassword,
+                       @Param("newPassword") String newPassword);
 }
@@ -0,0 +1,35 @@
+package br.com.alura.projeto.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Tells which constraint rejected a write, so callers can insert first and turn a violation into the
+ * matching field error instead of querying for duplicates beforehand.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Drivers decorate the name (MySQL reports {@code table.UC_Email}, H2 {@code PUBLIC.UC_EMAIL_INDEX_2}),
+     * so it is matched ignoring case and surroundings. The driver message is searched as well, since the H2
+     * dialect extracts foreign key names with their first letter cut off.
+     */
+    public static boolean violates(DataIntegrityViolationException exception, String constraintName) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return mentions(violation.getConstraintName(), constraintName)
+                        || mentions(violation.getSQLException().getMessage(), constraintName);
+            }
+        }
+        return false;
+    }
+
+    private static boolean mentions(String text, String constraintName) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(constraintName.toLowerCase(Locale.ROOT));
+    }
+}
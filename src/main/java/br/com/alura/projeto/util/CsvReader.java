@@ -0,0 +1,121 @@
+package br.com.alura.projeto.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so an upload of any size is parsed with constant memory.
+ * Quoted fields may contain commas, doubled quotes and line breaks; a quote inside an unquoted field is
+ * kept as text. Blank lines and a leading byte order mark are skipped.
+ */
+public class CsvReader {
+
+    private static final int BOM = '\uFEFF';
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+
+    private long currentLine = 1;
+    private long recordLine;
+    private int lookahead = NONE;
+    private boolean started;
+
+    /**
+     * @param reader read char by char, so pass a buffered one
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the fields of the next record, or {@code null} at the end of the input
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == BOM) {
+                c = read();
+            }
+        }
+        while (c == '\r' || c == '\n') {
+            endLine(c);
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = currentLine;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+
+        while (true) {
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c != -1) {
+                    endLine(c);
+                }
+                return fields;
+            } else if (c == '"' && field.isEmpty() && !quoted) {
+                quoted = true;
+                readQuoted();
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return the line on which the record last returned by {@link #next()} starts, counting from 1
+     */
+    public long line() {
+        return recordLine;
+    }
+
+    /**
+     * Appends up to the closing quote; an unterminated field runs to the end of the input.
+     */
+    private void readQuoted() throws IOException {
+        for (int c = read(); c != -1; c = read()) {
+            if (c == '"') {
+                int next = read();
+                if (next != '"') {
+                    lookahead = next;
+                    return;
+                }
+            } else if (c == '\n') {
+                currentLine++;
+            }
+            field.append((char) c);
+        }
+    }
+
+    private void endLine(int c) throws IOException {
+        currentLine++;
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                lookahead = next;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (lookahead != NONE) {
+            int c = lookahead;
+            lookahead = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,30 @@
+-- Códigos de categoria repetidos fariam o CREATE UNIQUE INDEX falhar sem dizer quais são; eles são
+-- listados antes, para serem corrigidos à mão.
+DROP PROCEDURE IF EXISTS check_category_codes;
+
+DELIMITER //
+CREATE PROCEDURE check_category_codes()
+BEGIN
+    DECLARE duplicated TEXT;
+
+    SELECT GROUP_CONCAT(code ORDER BY code SEPARATOR ', ') INTO duplicated
+    FROM (SELECT code FROM Category GROUP BY code HAVING COUNT(*) > 1) repeated;
+
+    IF duplicated IS NOT NULL THEN
+        SET duplicated = LEFT(CONCAT('Códigos de categoria repetidos: ', duplicated), 128);
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = duplicated;
+    END IF;
+END //
+DELIMITER ;
+
+CALL check_category_codes();
+DROP PROCEDURE check_category_codes;
+
+CREATE UNIQUE INDEX UC_Category_Code ON Category(code);
+
+-- idx_category_code (V6) passa a duplicar o índice único
+DROP INDEX idx_category_code ON Category;
+
+-- O UNIQUE de courses.code foi criado sem nome; idx_course_code duplicava o mesmo índice
+ALTER TABLE courses RENAME INDEX code TO UC_Course_Code;
+DROP INDEX idx_course_code ON courses;
@@ -0,0 +1,12 @@
+-- Os ids vêm de id_generator (V9). Sem AUTO_INCREMENT, um INSERT manual sem id falha em vez de ocupar
+-- um id que o gerador ainda vai entregar. Inserções manuais devem reservar o id na mesma transação:
+--   SELECT next_val FROM id_generator WHERE sequence_name = 'courses' FOR UPDATE;  -- id a usar
+--   UPDATE id_generator SET next_val = next_val + 1 WHERE sequence_name = 'courses';
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE `User` MODIFY id BIGINT NOT NULL;
+ALTER TABLE Category MODIFY id BIGINT NOT NULL;
+ALTER TABLE courses MODIFY id BIGINT NOT NULL;
+ALTER TABLE registration MODIFY id BIGINT NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
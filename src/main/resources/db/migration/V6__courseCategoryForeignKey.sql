@@ -0,0 +1,46 @@
+-- courses.category guarda o nome, que não é único em Category. Um curso sem categoria com esse nome, ou
+-- com mais de uma, ficaria sem category_id e o MODIFY NOT NULL abortaria depois do ADD COLUMN, que no
+-- MySQL não volta atrás. Esses nomes são listados antes de qualquer alteração.
+DROP PROCEDURE IF EXISTS check_course_categories;
+
+DELIMITER //
+CREATE PROCEDURE check_course_categories()
+BEGIN
+    DECLARE unresolved TEXT;
+
+    SELECT GROUP_CONCAT(DISTINCT co.category ORDER BY co.category SEPARATOR ', ') INTO unresolved
+    FROM courses co
+    WHERE (SELECT COUNT(*) FROM Category cat WHERE cat.name = co.category) <> 1;
+
+    IF unresolved IS NOT NULL THEN
+        SET unresolved = LEFT(CONCAT('Categorias ausentes ou repetidas: ', unresolved), 128);
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = unresolved;
+    END IF;
+END //
+DELIMITER ;
+
+CALL check_course_categories();
+DROP PROCEDURE check_course_categories;
+
+-- Só serve ao UPDATE de preenchimento abaixo; removido no fim
+CREATE INDEX idx_category_name ON Category(name);
+CREATE INDEX idx_category_code ON Category(code);
+
+ALTER TABLE courses ADD COLUMN category_id BIGINT NULL AFTER instructor;
+
+UPDATE courses co
+INNER JOIN Category cat ON cat.name = co.category
+SET co.category_id = cat.id;
+
+ALTER TABLE courses MODIFY category_id BIGINT NOT NULL;
+
+ALTER TABLE courses
+    ADD CONSTRAINT fk_course_category FOREIGN KEY (category_id) REFERENCES Category(id);
+
+CREATE INDEX idx_course_category_status ON courses(category_id, status);
+
+DROP INDEX idx_course_category ON courses;
+ALTER TABLE courses DROP COLUMN category;
+
+-- Nada mais busca Category pelo nome
+DROP INDEX idx_category_name ON Category;
@@ -0,0 +1,2 @@
+CREATE INDEX idx_course_created_at_id ON courses(created_at, id);
+CREATE INDEX idx_category_order_id ON Category(`order`, id);
@@ -0,0 +1,14 @@
+CREATE TABLE course_registration_stats (
+    course_id BIGINT PRIMARY KEY,
+    total BIGINT NOT NULL DEFAULT 0,
+    last_registration_at DATETIME,
+
+    FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci ROW_FORMAT=DYNAMIC;
+
+CREATE INDEX idx_course_registration_stats_total ON course_registration_stats(total);
+
+INSERT INTO course_registration_stats (course_id, total, last_registration_at)
+SELECT course_id, COUNT(*), MAX(registration_date)
+FROM registration
+GROUP BY course_id;
@@ -0,0 +1,17 @@
+CREATE TABLE id_generator (
+    sequence_name VARCHAR(64) NOT NULL,
+    next_val      BIGINT      NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci ROW_FORMAT=DYNAMIC;
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'User', COALESCE(MAX(id), 0) + 1 FROM `User`;
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'Category', COALESCE(MAX(id), 0) + 1 FROM Category;
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'courses', COALESCE(MAX(id), 0) + 1 FROM courses;
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'registration', COALESCE(MAX(id), 0) + 1 FROM registration;
@@ -72,7 +72,7 @@ uri="http://www.springframework.org/tags/form" %>
           <div class="form-group">
             <label for="editCourse-category">Categoria *</label>
             <form:select
-              path="category"
+              path="categoryId"
               id="editCourse-category"
               cssClass="form-control"
               required="required"
@@ -80,11 +80,11 @@ uri="http://www.springframework.org/tags/form" %>
               <form:option value="" label="Selecione uma categoria" />
               <form:options
                 items="${categories}"
-                itemValue="name"
+                itemValue="id"
                 itemLabel="name"
               />
             </form:select>
-            <form:errors path="category" cssClass="text-danger" />
+            <form:errors path="categoryId" cssClass="text-danger" />
           </div>
 
           <div class="form-group">
@@ -22,28 +22,5 @@ uri="http://java.sun.com/jsp/jstl/fmt" %>
     </div>
 
     <script src="<c:url value='/assets/external-libs/bootstrap/js/bootstrap.min.js'/>"></script>
-    <script>
-      function inactivateCourse(code) {
-        if (confirm("Tem certeza que deseja inativar este curso?")) {
-          fetch("/course/" + code + "/inactive", {
-            method: "POST",
-            headers: {
-              "Content-Type": "application/json",
-            },
-          })
-            .then((response) => {
-              if (response.ok) {
-                location.reload();
-              } else {
-                alert("Erro ao inativar curso");
-              }
-            })
-            .catch((error) => {
-              console.error("Error:", error);
-              alert("Erro ao inativar curso");
-            });
-        }
-      }
-    </script>
   </body>
 </html>
@@ -61,16 +61,16 @@ uri="http://www.springframework.org/tags/form" %>
           </div>
 
           <div class="form-group">
-            <label for="category">Categoria *</label>
-            <form:select path="category" class="form-control">
+            <label for="categoryId">Categoria *</label>
+            <form:select path="categoryId" class="form-control">
               <form:option value="" label="-- Selecione uma categoria --" />
               <form:options
                 items="${categories}"
-                itemValue="name"
+                itemValue="id"
                 itemLabel="name"
               />
             </form:select>
-            <form:errors path="category" cssClass="text-danger" />
+            <form:errors path="categoryId" cssClass="text-danger" />
           </div>
 
           <div class="form-group">
@@ -39,12 +39,12 @@ uri="http://java.sun.com/jsp/jstl/core" %>
             <article
               class="card"
               role="listitem"
-              aria-labelledby="category-${categoryData.category().code}"
+              aria-labelledby="category-${categoryData.category().code()}"
             >
               <div class="card-icon" aria-hidden="true">
                 <c:choose>
                   <c:when
-                    test="${categoryData.category().name == 'Programação'}"
+                    test="${categoryData.category().name() == 'Programação'}"
                   >
                     <img
                       src="/assets/images/icon-color-programacao copy.svg"
@@ -53,7 +53,7 @@ uri="http://java.sun.com/jsp/jstl/core" %>
                       height="36"
                     />
                   </c:when>
-                  <c:when test="${categoryData.category().name == 'Front-end'}">
+                  <c:when test="${categoryData.category().name() == 'Front-end'}">
                     <img
                       src="/assets/images/icon-color-front copy.svg"
                       alt=""
@@ -62,7 +62,7 @@ uri="http://java.sun.com/jsp/jstl/core" %>
                     />
                   </c:when>
                   <c:when
-                    test="${categoryData.category().name == 'Data Science'}"
+                    test="${categoryData.category().name() == 'Data Science'}"
                   >
                     <img
                       src="/assets/images/icon-color-data-science.svg"
@@ -72,7 +72,7 @@ uri="http://java.sun.com/jsp/jstl/core" %>
                     />
                   </c:when>
                   <c:when
-                    test="${categoryData.category().name == 'Inteligência Artificial'}"
+                    test="${categoryData.category().name() == 'Inteligência Artificial'}"
                   >
                     <img
                       src="/assets/images/icon-color-ia.svg"
@@ -81,7 +81,7 @@ uri="http://java.sun.com/jsp/jstl/core" %>
                       height="36"
                     />
                   </c:when>
-                  <c:when test="${categoryData.category().name == 'DevOps'}">
+                  <c:when test="${categoryData.category().name() == 'DevOps'}">
                     <img
                       src="/assets/images/icon-color-infra copy.svg"
                       alt=""
@@ -90,7 +90,7 @@ uri="http://java.sun.com/jsp/jstl/core" %>
                     />
                   </c:when>
                   <c:when
-                    test="${categoryData.category().name == 'UX & Design'}"
+                    test="${categoryData.category().name() == 'UX & Design'}"
                   >
                     <img
                       src="/assets/images/icon-color-ux-design.svg"
@@ -99,7 +99,7 @@ uri="http://java.sun.com/jsp/jstl/core" %>
                       height="36"
                     />
                   </c:when>
-                  <c:when test="${categoryData.category().name == 'Mobile'}">
+                  <c:when test="${categoryData.category().name() == 'Mobile'}">
                     <img
                       src="/assets/images/icon-color-mobile copy.svg"
                       alt=""
@@ -108,7 +108,7 @@ uri="http://java.sun.com/jsp/jstl/core" %>
                     />
                   </c:when>
                   <c:when
-                    test="${categoryData.category().name == 'Inovação & Gestão'}"
+                    test="${categoryData.category().name() == 'Inovação & Gestão'}"
                   >
                     <img
                       src="/assets/images/icon-color-inovacao-gestao.svg"
@@ -127,19 +127,19 @@ uri="http://java.sun.com/jsp/jstl/core" %>
                   </c:otherwise>
                 </c:choose>
               </div>
-              <h3 id="category-${categoryData.category().code}">
+              <h3 id="category-${categoryData.category().code()}">
                 <span
                   class="escola-prefix"
-                  style="color: ${categoryData.category().color};"
+                  style="color: ${categoryData.category().color()};"
                   >Escola_</span
-                ><span style="color: ${categoryData.category().color};"
-                  >${categoryData.category().name}</span
+                ><span style="color: ${categoryData.category().color()};"
+                  >${categoryData.category().name()}</span
                 >
               </h3>
               <div
                 class="courses-list"
                 role="list"
-                aria-label="Cursos da categoria ${categoryData.category().name}"
+                aria-label="Cursos da categoria ${categoryData.category().name()}"
               >
                 <c:forEach
                   var="course"
@@ -43,7 +43,7 @@
                 <c:forEach var="column" items="${datagridColumns}">
                   <td style="color: #333; border-color: rgba(0, 0, 0, 0.1);">
                     <c:choose>
-                      <c:when test="${column.type == 'status'}">
+                      <c:when test="${column.type == 'STATUS'}">
                         <c:choose>
                           <c:when test="${item[column.field] == 'ACTIVE'}">
                             <span class="label label-success">Ativo</span>
@@ -56,13 +56,10 @@
                           </c:otherwise>
                         </c:choose>
                       </c:when>
-                      <c:when test="${column.type == 'date'}">
-                        <fmt:formatDate value="${item[column.field]}" pattern="dd/MM/yyyy HH:mm" />
-                      </c:when>
-                      <c:when test="${column.type == 'currency'}">
+                      <c:when test="${column.type == 'CURRENCY'}">
                         <fmt:formatNumber value="${item[column.field]}" type="currency" currencySymbol="R$" />
                       </c:when>
-                      <c:when test="${column.type == 'number'}">
+                      <c:when test="${column.type == 'NUMBER'}">
                         <fmt:formatNumber value="${item[column.field]}" />
                       </c:when>
                       <c:otherwise>
@@ -75,35 +72,11 @@
                   <td style="white-space: nowrap; color: #333; border-color: rgba(0, 0, 0, 0.1);">
                     <c:forEach var="action" items="${datagridActions}">
                       <c:choose>
-                        <c:when test="${action.type == 'edit'}">
+                        <c:when test="${action.type == 'EDIT'}">
                           <a href="${action.url}${item[action.idField]}" class="btn btn-primary btn-sm" style="margin-right: 3px;">
                             ${action.label}
                           </a>
                         </c:when>
-                        <c:when test="${action.type == 'delete'}">
-                          <button onclick="confirmDelete('${action.url}${item[action.idField]}', '${item[action.nameField]}')" 
-                                  class="btn btn-danger btn-sm" style="margin-right: 3px;">
-                            ${action.label}
-                          </button>
-                        </c:when>
-                        <c:when test="${action.type == 'custom'}">
-                          <c:choose>
-                            <c:when test="${action.conditionValue == null or item[action.conditionField] == action.conditionValue}">
-                              <c:choose>
-                                <c:when test="${action.actionType == 'inactivate'}">
-                                  <button onclick="inactivateCourse('${item[action.idField]}')" class="btn btn-danger btn-sm" style="margin-right: 3px;">
-                                    ${action.label}
-                                  </button>
-                                </c:when>
-                                <c:otherwise>
-                                  <a href="${action.url}${item[action.idField]}" class="btn ${action.cssClass} btn-sm" style="margin-right: 3px;">
-                                    ${action.label}
-                                  </a>
-                                </c:otherwise>
-                              </c:choose>
-                            </c:when>
-                          </c:choose>
-                        </c:when>
                       </c:choose>
                     </c:forEach>
                   </td>
@@ -120,7 +93,7 @@
   <div class="panel-footer" style="background: rgba(248, 249, 250, 0.95); backdrop-filter: blur(5px); border: none; box-shadow: 0 -2px 10px rgba(0, 0, 0, 0.1);">
     <div class="row">
       <div class="col-md-4">
-        <c:if test="${datagridTotalItems > 0}">
+        <c:if test="${datagridTotalItems > 0 or (datagridKeyset and not empty datagridItems)}">
           <div class="form-inline">
             <label for="itemsPerPage" style="margin-right: 10px; color: #041831; font-weight: 600;">Itens por página:</label>
             <select id="itemsPerPage" class="form-control" onchange="changeItemsPerPage(this.value)" style="width: auto; border: 1px solid rgba(22, 123, 247, 0.3); color: #041831;">
@@ -133,18 +106,58 @@
         </c:if>
       </div>
       <div class="col-md-4 text-center">
-        <span style="color: #041831; font-weight: 600;">
-          Página ${datagridCurrentPage + 1} de ${datagridTotalPages}
-        </span>
-        <c:if test="${datagridTotalItems > 0}">
-          <br>
-          <small style="color: #666;">
-            Mostrando ${datagridStartItem} a ${datagridEndItem} de ${datagridTotalItems} itens
-          </small>
-        </c:if>
+        <c:choose>
+          <c:when test="${datagridKeyset}">
+            <small style="color: #666;">
+              Mostrando ${datagridItems.size()} itens
+            </small>
+          </c:when>
+          <c:otherwise>
+            <span style="color: #041831; font-weight: 600;">
+              Página ${datagridCurrentPage + 1} de ${datagridTotalPages}
+            </span>
+            <c:if test="${datagridTotalItems > 0}">
+              <br>
+              <small style="color: #666;">
+                Mostrando ${datagridStartItem} a ${datagridEndItem} de ${datagridTotalItems} itens
+              </small>
+            </c:if>
+            <c:if test="${not empty datagridSeekCursor}">
+              <br>
+              <a href="?cursor=${datagridSeekCursor}&size=${datagridItemsPerPage}" style="color: #167bf7; font-size: 12px;">
+                Continuar sem numerar as páginas &raquo;
+              </a>
+            </c:if>
+          </c:otherwise>
+        </c:choose>
       </div>
       <div class="col-md-4">
-        <c:if test="${datagridTotalPages > 1}">
+        <c:if test="${datagridKeyset}">
+          <nav aria-label="Navegação de páginas">
+            <ul class="pagination pagination-sm pull-right" style="margin: 0;">
+              <li>
+                <a href="?page=0&size=${datagridItemsPerPage}" aria-label="Primeira" style="color: #041831; border: 1px solid rgba(22, 123, 247, 0.3); background: #fff; transition: all 0.3s ease;">
+                  <span aria-hidden="true">&laquo;&laquo;</span>
+                </a>
+              </li>
+              <c:if test="${not empty datagridPrevCursor}">
+                <li>
+                  <a href="?cursor=${datagridPrevCursor}&size=${datagridItemsPerPage}" aria-label="Anterior" style="color: #041831; border: 1px solid rgba(22, 123, 247, 0.3); background: #fff; transition: all 0.3s ease;">
+                    <span aria-hidden="true">&laquo;</span>
+                  </a>
+                </li>
+              </c:if>
+              <c:if test="${not empty datagridNextCursor}">
+                <li>
+                  <a href="?cursor=${datagridNextCursor}&size=${datagridItemsPerPage}" aria-label="Próxima" style="color: #041831; border: 1px solid rgba(22, 123, 247, 0.3); background: #fff; transition: all 0.3s ease;">
+                    <span aria-hidden="true">&raquo;</span>
+                  </a>
+                </li>
+              </c:if>
+            </ul>
+          </nav>
+        </c:if>
+        <c:if test="${not datagridKeyset and datagridTotalPages > 1}">
           <nav aria-label="Navegação de páginas">
             <ul class="pagination pagination-sm pull-right" style="margin: 0;">
               <!-- Primeira página -->
@@ -334,28 +347,7 @@ function changeItemsPerPage(size) {
   const url = new URL(window.location);
   url.searchParams.set('size', size);
   url.searchParams.set('page', '0'); // Reset to first page
+  url.searchParams.delete('cursor');
   window.location.href = url.toString();
 }
-
-function confirmDelete(url, itemName) {
-  if (confirm('Tem certeza que deseja excluir "' + itemName + '"? Esta ação não pode ser desfeita.')) {
-    // Create a form to submit POST request
-    const form = document.createElement('form');
-    form.method = 'POST';
-    form.action = url;
-    
-    // Add CSRF token if available
-    const csrfToken = document.querySelector('meta[name="_csrf"]');
-    if (csrfToken) {
-      const csrfInput = document.createElement('input');
-      csrfInput.type = 'hidden';
-      csrfInput.name = '_csrf';
-      csrfInput.value = csrfToken.getAttribute('content');
-      form.appendChild(csrfInput);
-    }
-    
-    document.body.appendChild(form);
-    form.submit();
-  }
-}
 </script>
@@ -0,0 +1,41 @@
+package br.com.alura.projeto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ObservabilityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("should expose request, repository, pool and existence filter metrics for Prometheus")
+    void shouldExposeHotPathMetricsForPrometheus() throws Exception {
+        mockMvc.perform(get("/user/all").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/user/all\"")
+                .containsPattern("spring_data_repository_invocations_seconds_bucket\\{.*method=\"findListItemsAfter\"")
+                .containsPattern("spring_data_repository_invocations_seconds_count\\{.*repository=\"UserRepository\"")
+                .contains("hikaricp_connections_active")
+                .containsPattern("existence_filter_checks_total\\{.*key_space=\"user_email\"");
+    }
+}
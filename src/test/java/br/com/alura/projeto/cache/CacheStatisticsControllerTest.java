@@ -0,0 +1,58 @@
+package br.com.alura.projeto.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CacheStatisticsController.class)
+@ActiveProfiles("test")
+class CacheStatisticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("should expose hit and miss counters per cache region")
+    void shouldExposeHitAndMissCountersPerRegion() throws Exception {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Statistics statistics = mock(Statistics.class);
+        CacheRegionStatistics category = mock(CacheRegionStatistics.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getQueryCacheHitCount()).thenReturn(7L);
+        when(statistics.getQueryCacheMissCount()).thenReturn(1L);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"category"});
+        when(statistics.getCacheRegionStatistics("category")).thenReturn(category);
+        when(category.getHitCount()).thenReturn(3L);
+        when(category.getMissCount()).thenReturn(1L);
+        when(category.getPutCount()).thenReturn(1L);
+
+        mockMvc.perform(get("/admin/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statisticsEnabled").value(true))
+                .andExpect(jsonPath("$.queryCacheHits").value(7))
+                .andExpect(jsonPath("$.queryCacheMisses").value(1))
+                .andExpect(jsonPath("$.regions[0].region").value("category"))
+                .andExpect(jsonPath("$.regions[0].hits").value(3))
+                .andExpect(jsonPath("$.regions[0].misses").value(1))
+                .andExpect(jsonPath("$.regions[0].hitRatio").value(0.75));
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.alura.projeto.cache;
+
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.category.CategoryRepository;
+import br.com.alura.projeto.config.HibernateCacheConfiguration;
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseRepository;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(HibernateCacheConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    private Statistics statistics;
+    private Category programming;
+
+    @BeforeEach
+    void setUp() {
+        programming = categoryRepository.save(new Category("Programação", "programacao", "#00C86F", 1));
+        categoryRepository.save(new Category("Front-end", "front-end", "#6BD1FF", 2));
+        courseRepository.save(new Course("Spring Boot", "spring", "João Silva", programming, "Spring Boot course"));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("should size cache regions from hibernate-cache.conf")
+    void shouldSizeCacheRegionsFromConfigFile() {
+        CaffeineConfiguration<?, ?> course = hibernateCacheManager.getCache("course")
+                .getConfiguration(CaffeineConfiguration.class);
+
+        assertThat(course.getMaximumSize()).hasValue(10_000L);
+    }
+
+    @Test
+    @DisplayName("should load category by id from the second level cache after the first read")
+    void shouldLoadCategoryByIdFromSecondLevelCache() {
+        categoryRepository.findById(programming.getId());
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+
+        assertThat(categoryRepository.findById(programming.getId())).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstRead);
+        assertThat(statistics.getCacheRegionStatistics("category").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should answer all categories from the query cache")
+    void shouldAnswerAllCategoriesFromQueryCache() {
+        categoryRepository.findAll();
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+
+        List<Category> categories = categoryRepository.findAll();
+
+        assertThat(categories).extracting(Category::getCode).containsExactlyInAnyOrder("programacao", "front-end");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstRead);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should invalidate cached category queries when a category is saved")
+    void shouldInvalidateCachedCategoryQueriesWhenCategoryIsSaved() {
+        categoryRepository.findAll();
+
+        categoryRepository.save(new Category("Data Science", "data-science", "#9CD33B", 3));
+
+        assertThat(categoryRepository.findAll())
+                .extracting(Category::getCode)
+                .containsExactlyInAnyOrder("programacao", "front-end", "data-science");
+    }
+}
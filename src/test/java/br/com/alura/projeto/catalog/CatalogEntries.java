@@ -0,0 +1,33 @@
+package br.com.alura.projeto.catalog;
+
+import br.com.alura.projeto.category.Category;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class CatalogEntries {
+
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private CatalogEntries() {
+    }
+
+    public static CatalogEntry entry(long categoryId, Category category, long courseId, String courseName, long totalCourses) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("categoryId", categoryId);
+        row.put("categoryName", category.getName());
+        row.put("categoryCode", category.getCode());
+        row.put("categoryColor", category.getColor());
+        row.put("categoryOrder", category.getOrder());
+        row.put("courseId", courseId);
+        row.put("courseName", courseName);
+        row.put("courseCode", courseName.toLowerCase());
+        row.put("courseInstructor", "Instrutor");
+        row.put("courseDescription", courseName + " course");
+        row.put("courseCreatedAt", LocalDateTime.now());
+        row.put("totalCourses", totalCourses);
+        return PROJECTIONS.createProjection(CatalogEntry.class, row);
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.alura.projeto.catalog;
+
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseStatus;
+import br.com.alura.projeto.querycount.QueryCount;
+import br.com.alura.projeto.querycount.QueryCountConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({CatalogSnapshotService.class, QueryCountConfiguration.class})
+@ActiveProfiles("test")
+class CatalogRepositoryTest {
+
+    private static final int CATEGORIES = 12;
+    private static final int ACTIVE_COURSES_PER_CATEGORY = 6;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        for (int c = 0; c < CATEGORIES; c++) {
+            Category category = entityManager.persist(
+                    new Category("Categoria " + letter(c), "cat" + letter(c), "#00C86F", CATEGORIES - c));
+
+            for (int i = 0; i < ACTIVE_COURSES_PER_CATEGORY; i++) {
+                entityManager.persist(new Course("Curso " + letter(c) + letter(i), "co" + letter(c) + letter(i),
+                        "Instrutor", category, "Descrição"));
+            }
+
+            Course inactive = new Course("Inativo " + letter(c), "inact" + letter(c), "Instrutor", category, "Descrição");
+            inactive.setStatus(CourseStatus.INACTIVE);
+            entityManager.persist(inactive);
+        }
+        entityManager.persist(new Category("Sem cursos", "empty", "#000000", 99));
+        entityManager.flush();
+        entityManager.clear();
+        QueryCount.reset();
+    }
+
+    @Test
+    @DisplayName("should return at most nine categories times four courses in a single statement")
+    void shouldReturnBoundedCatalogInSingleStatement() {
+        List<CatalogEntry> entries = catalogRepository.findCatalogEntries(9, 4);
+
+        QueryCount.assertSelectCount(1);
+        assertThat(entries).hasSize(36);
+        assertThat(entries.stream().map(CatalogEntry::getCategoryId).distinct()).hasSize(9);
+        assertThat(entries).allMatch(entry -> entry.getTotalCourses() == CATEGORIES * ACTIVE_COURSES_PER_CATEGORY);
+        assertThat(entries).noneMatch(entry -> entry.getCourseName().startsWith("Inativo"));
+    }
+
+    @Test
+    @DisplayName("should rank categories by order and courses by id")
+    void shouldRankCategoriesByOrderAndCoursesById() {
+        List<CatalogEntry> entries = catalogRepository.findCatalogEntries(2, 2);
+
+        assertThat(entries).extracting(CatalogEntry::getCourseName)
+                .containsExactly("Curso la", "Curso lb", "Curso ka", "Curso kb");
+        assertThat(entries).extracting(CatalogEntry::getCategoryOrder)
+                .containsExactly(1, 1, 2, 2);
+    }
+
+    @Test
+    @DisplayName("should build the home snapshot with one query")
+    void shouldBuildSnapshotWithOneQuery() {
+        CatalogSnapshot snapshot = catalogSnapshotService.refresh();
+
+        QueryCount.assertSelectCount(1);
+        assertThat(snapshot.categories()).hasSize(9);
+        assertThat(snapshot.categories()).allSatisfy(category -> assertThat(category.courses()).hasSize(4));
+        assertThat(snapshot.totalCourses()).isEqualTo(CATEGORIES * ACTIVE_COURSES_PER_CATEGORY);
+    }
+
+    private static String letter(int index) {
+        return String.valueOf((char) ('a' + index));
+    }
+}
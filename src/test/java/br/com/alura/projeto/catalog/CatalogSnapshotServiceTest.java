@@ -0,0 +1,132 @@
+package br.com.alura.projeto.catalog;
+
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static br.com.alura.projeto.catalog.CatalogEntries.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CatalogSnapshotServiceTest {
+
+    private CatalogRepository catalogRepository;
+    private CatalogSnapshotService service;
+
+    private Category programming;
+    private Category frontend;
+
+    @BeforeEach
+    void setUp() {
+        catalogRepository = mock(CatalogRepository.class);
+        service = new CatalogSnapshotService(catalogRepository, mock(PlatformTransactionManager.class));
+
+        programming = new Category("Programação", "programacao", "#00C86F", 1);
+        frontend = new Category("Front-end", "frontend", "#6BD1FF", 2);
+    }
+
+    @Test
+    @DisplayName("should request at most nine categories with four courses each")
+    void shouldRequestLimitedCatalog() {
+        when(catalogRepository.findCatalogEntries(anyInt(), anyInt())).thenReturn(List.of());
+
+        service.current();
+
+        verify(catalogRepository).findCatalogEntries(9, 4);
+    }
+
+    @Test
+    @DisplayName("should group the flat rows by category preserving query order")
+    void shouldGroupRowsByCategory() {
+        when(catalogRepository.findCatalogEntries(9, 4)).thenReturn(List.of(
+                entry(1L, programming, 10L, "Java", 7),
+                entry(1L, programming, 11L, "Kotlin", 7),
+                entry(2L, frontend, 20L, "React", 7)));
+
+        CatalogSnapshot snapshot = service.current();
+
+        assertThat(snapshot.totalCourses()).isEqualTo(7);
+        assertThat(snapshot.categories()).extracting(c -> c.category().name())
+                .containsExactly("Programação", "Front-end");
+        assertThat(snapshot.categories().get(0).courses()).extracting(CourseDTO::name)
+                .containsExactly("Java", "Kotlin");
+        assertThat(snapshot.categories().get(1).courses()).extracting(CourseDTO::category)
+                .containsExactly("Front-end");
+    }
+
+    @Test
+    @DisplayName("should build an empty snapshot when there are no active courses")
+    void shouldBuildEmptySnapshot() {
+        when(catalogRepository.findCatalogEntries(9, 4)).thenReturn(List.of());
+
+        CatalogSnapshot snapshot = service.current();
+
+        assertThat(snapshot.categories()).isEmpty();
+        assertThat(snapshot.totalCourses()).isZero();
+    }
+
+    @Test
+    @DisplayName("should build the snapshot only once until the catalog changes")
+    void shouldBuildSnapshotOnlyOnce() {
+        when(catalogRepository.findCatalogEntries(9, 4)).thenReturn(List.of(entry(1L, programming, 10L, "Java", 1)));
+
+        CatalogSnapshot first = service.current();
+        CatalogSnapshot second = service.current();
+
+        assertThat(second).isSameAs(first);
+        verify(catalogRepository, times(1)).findCatalogEntries(9, 4);
+    }
+
+    @Test
+    @DisplayName("should swap in a newer version when the catalog changes")
+    void shouldSwapSnapshotWhenCatalogChanges() {
+        when(catalogRepository.findCatalogEntries(9, 4)).thenReturn(List.of(entry(1L, programming, 10L, "Java", 1)));
+        CatalogSnapshot before = service.current();
+
+        when(catalogRepository.findCatalogEntries(9, 4)).thenReturn(List.of(
+                entry(1L, programming, 10L, "Java", 2),
+                entry(2L, frontend, 20L, "React", 2)));
+        service.onCatalogChanged(new CatalogChangedEvent(Category.class));
+        CatalogSnapshot after = service.current();
+
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(after.categories()).hasSize(2);
+        assertThat(before.categories()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should rebuild on the next read when a refresh fails")
+    void shouldRebuildOnNextReadWhenRefreshFails() {
+        when(catalogRepository.findCatalogEntries(9, 4)).thenReturn(List.of(entry(1L, programming, 10L, "Java", 1)));
+        service.current();
+
+        when(catalogRepository.findCatalogEntries(9, 4)).thenThrow(new IllegalStateException("database down"));
+        service.onCatalogChanged(new CatalogChangedEvent(Course.class));
+
+        reset(catalogRepository);
+        when(catalogRepository.findCatalogEntries(9, 4)).thenReturn(List.of(entry(1L, programming, 10L, "Java", 1)));
+
+        assertThat(service.current().categories()).hasSize(1);
+        verify(catalogRepository).findCatalogEntries(9, 4);
+    }
+
+    @Test
+    @DisplayName("should return immutable collections")
+    void shouldReturnImmutableCollections() {
+        when(catalogRepository.findCatalogEntries(9, 4)).thenReturn(List.of(entry(1L, programming, 10L, "Java", 1)));
+
+        CatalogSnapshot snapshot = service.current();
+
+        assertThatThrownBy(() -> snapshot.categories().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.categories().get(0).courses().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
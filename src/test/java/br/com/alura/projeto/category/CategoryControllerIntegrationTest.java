@@ -1,5 +1,8 @@
 package br.com.alura.projeto.category;
 
+import br.com.alura.projeto.datagrid.EntityCountService;
+import br.com.alura.projeto.id.EntityIds;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -7,18 +10,25 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -34,6 +44,12 @@ class CategoryControllerIntegrationTest {
     @MockBean
     private CategoryRepository categoryRepository;
 
+    @MockBean
+    private EntityCountService entityCountService;
+
+    @MockBean
+    private EntityIds entityIds;
+
     private Category category;
     private NewCategoryForm validForm;
 
@@ -56,18 +72,51 @@ class CategoryControllerIntegrationTest {
         validForm.setOrder(1);
     }
 
+    @Test
+    void shouldSeekCategoryListByCursorWithoutCounting() throws Exception {
+        Window<Category> window = Window.from(List.of(category),
+                index -> ScrollPosition.forward(Map.of("order", 1, "id", 1L)), true);
+        when(categoryRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(window);
+
+        mockMvc.perform(get("/admin/categories").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin/category/list"))
+                .andExpect(model().attribute("datagridKeyset", true))
+                .andExpect(model().attribute("datagridPrevCursor", nullValue()))
+                .andExpect(model().attributeExists("datagridNextCursor"))
+                .andExpect(model().attributeDoesNotExist("datagridTotalItems"));
+
+        verify(categoryRepository, never()).findAllBy(any(Pageable.class));
+        verify(categoryRepository, never()).count();
+    }
+
     @Test
     void shouldReturnCategoryListPage() throws Exception {
         List<Category> categories = Collections.singletonList(category);
-        Page<Category> categoryPage = new PageImpl<>(categories);
-        when(categoryRepository.findAll(any(Pageable.class))).thenReturn(categoryPage);
+        when(categoryRepository.findAllBy(any(Pageable.class))).thenReturn(categories);
 
         mockMvc.perform(get("/admin/categories"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/category/list"))
                 .andExpect(model().attributeExists("datagridItems"));
 
-        verify(categoryRepository).findAll(any(Pageable.class));
+        verify(categoryRepository).findAllBy(any(Pageable.class));
+    }
+
+    @Test
+    void shouldTakeTotalItemsFromCountServiceOnDeepPages() throws Exception {
+        when(categoryRepository.findAllBy(any(Pageable.class))).thenReturn(List.of(category));
+        when(entityCountService.count(Category.class)).thenReturn(5L);
+
+        mockMvc.perform(get("/admin/categories").param("page", "2").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin/category/list"))
+                .andExpect(model().attribute("datagridTotalItems", 5L))
+                .andExpect(model().attribute("datagridTotalPages", 5))
+                .andExpect(model().attributeExists("datagridSeekCursor"))
+                .andExpect(model().attribute("datagridNextCursor", nullValue()));
+
+        verify(categoryRepository, never()).count();
     }
 
     @Test
@@ -79,8 +128,7 @@ class CategoryControllerIntegrationTest {
 
     @Test
     void shouldSaveCategoryWithValidData() throws Exception {
-        when(categoryRepository.existsByCode(anyString())).thenReturn(false);
-        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenReturn(category);
 
         mockMvc.perform(post("/admin/category/new")
                 .param("name", validForm.getName())
@@ -91,8 +139,8 @@ class CategoryControllerIntegrationTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/categories"));
 
-        verify(categoryRepository).existsByCode(validForm.getCode());
-        verify(categoryRepository).save(any(Category.class));
+        verify(categoryRepository, never()).existsByCode(anyString());
+        verify(categoryRepository).saveAndFlush(any(Category.class));
     }
 
     @ParameterizedTest
@@ -107,7 +155,7 @@ class CategoryControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/category/newForm"));
 
-        verify(categoryRepository, never()).save(any(Category.class));
+        verify(categoryRepository, never()).saveAndFlush(any(Category.class));
     }
 
     @ParameterizedTest
@@ -122,7 +170,7 @@ class CategoryControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/category/newForm"));
 
-        verify(categoryRepository, never()).save(any(Category.class));
+        verify(categoryRepository, never()).saveAndFlush(any(Category.class));
     }
 
     @ParameterizedTest
@@ -137,7 +185,7 @@ class CategoryControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/category/newForm"));
 
-        verify(categoryRepository, never()).save(any(Category.class));
+        verify(categoryRepository, never()).saveAndFlush(any(Category.class));
     }
 
     @ParameterizedTest
@@ -152,7 +200,7 @@ class CategoryControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/category/newForm"));
 
-        verify(categoryRepository, never()).save(any(Category.class));
+        verify(categoryRepository, never()).saveAndFlush(any(Category.class));
     }
 
     @ParameterizedTest
@@ -167,12 +215,13 @@ class CategoryControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/category/newForm"));
 
-        verify(categoryRepository, never()).save(any(Category.class));
+        verify(categoryRepository, never()).saveAndFlush(any(Category.class));
     }
 
     @Test
     void shouldReturnFormWhenCategoryCodeAlreadyExists() throws Exception {
-        when(categoryRepository.existsByCode(validForm.getCode())).thenReturn(true);
+        when(categoryRepository.saveAndFlush(any(Category.class)))
+                .thenThrow(uniqueViolation("Category.UC_Category_Code"));
 
         mockMvc.perform(post("/admin/category/new")
                 .param("name", validForm.getName())
@@ -181,17 +230,29 @@ class CategoryControllerIntegrationTest {
                 .param("order", String.valueOf(validForm.getOrder()))
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
-                .andExpect(view().name("admin/category/newForm"));
+                .andExpect(view().name("admin/category/newForm"))
+                .andExpect(model().attributeHasFieldErrorCode("newCategoryForm", "code", "error.code"));
+
+        verify(categoryRepository, never()).existsByCode(anyString());
+    }
+
+    @Test
+    void shouldRethrowOtherIntegrityViolations() {
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenThrow(uniqueViolation("PRIMARY"));
 
-        verify(categoryRepository).existsByCode(validForm.getCode());
-        verify(categoryRepository, never()).save(any(Category.class));
+        assertThatThrownBy(() -> mockMvc.perform(post("/admin/category/new")
+                .param("name", validForm.getName())
+                .param("code", validForm.getCode())
+                .param("color", validForm.getColor())
+                .param("order", String.valueOf(validForm.getOrder()))
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)))
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
     }
 
     @ParameterizedTest
     @ValueSource(strings = {"prog", "front-end"})
     void shouldAcceptValidCodes(String validCode) throws Exception {
-        when(categoryRepository.existsByCode(anyString())).thenReturn(false);
-        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenReturn(category);
 
         mockMvc.perform(post("/admin/category/new")
                 .param("name", validForm.getName())
@@ -202,8 +263,7 @@ class CategoryControllerIntegrationTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/categories"));
 
-        verify(categoryRepository).existsByCode(validCode);
-        verify(categoryRepository).save(any(Category.class));
+        verify(categoryRepository).saveAndFlush(any(Category.class));
     }
 
     @Test
@@ -233,7 +293,7 @@ class CategoryControllerIntegrationTest {
     @Test
     void shouldUpdateCategoryWithValidData() throws Exception {
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenReturn(category);
 
         mockMvc.perform(post("/admin/category/edit/1")
                 .param("name", "Programação Updated")
@@ -247,7 +307,7 @@ class CategoryControllerIntegrationTest {
         verify(categoryRepository).findById(1L);
 
         verify(categoryRepository, never()).existsByCode("prog");
-        verify(categoryRepository).save(any(Category.class));
+        verify(categoryRepository).saveAndFlush(any(Category.class));
     }
 
     @Test
@@ -263,13 +323,14 @@ class CategoryControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/category/editForm"));
 
-        verify(categoryRepository, never()).save(any(Category.class));
+        verify(categoryRepository, never()).saveAndFlush(any(Category.class));
     }
 
     @Test
     void shouldReturnFormWhenCategoryCodeAlreadyExistsInAnotherCategory() throws Exception {
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-        when(categoryRepository.existsByCode("mobile")).thenReturn(true);
+        when(categoryRepository.saveAndFlush(any(Category.class)))
+                .thenThrow(uniqueViolation("Category.UC_Category_Code"));
 
         mockMvc.perform(post("/admin/category/edit/1")
                 .param("name", "Programação")
@@ -278,17 +339,16 @@ class CategoryControllerIntegrationTest {
                 .param("order", "1")
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
-                .andExpect(view().name("admin/category/editForm"));
+                .andExpect(view().name("admin/category/editForm"))
+                .andExpect(model().attributeHasFieldErrorCode("editCategoryForm", "code", "error.code"));
 
-        verify(categoryRepository).existsByCode("mobile");
-        verify(categoryRepository, never()).save(any(Category.class));
+        verify(categoryRepository, never()).existsByCode(anyString());
     }
 
     @Test
     void shouldAllowSameCodeForSameCategory() throws Exception {
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-        when(categoryRepository.existsByCode("prog")).thenReturn(false);
-        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenReturn(category);
 
         mockMvc.perform(post("/admin/category/edit/1")
                 .param("name", "Programação")
@@ -299,14 +359,31 @@ class CategoryControllerIntegrationTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/categories"));
 
-        verify(categoryRepository).save(any(Category.class));
+        verify(categoryRepository).saveAndFlush(any(Category.class));
+    }
+
+    @Test
+    void shouldAllowChangingOnlyTheCaseOfTheCode() throws Exception {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenReturn(category);
+
+        mockMvc.perform(post("/admin/category/edit/1")
+                .param("name", "Programação")
+                .param("code", "Prog")
+                .param("color", "#FF6B6B")
+                .param("order", "1")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/admin/categories"));
+
+        verify(categoryRepository, never()).existsByCode(anyString());
+        verify(categoryRepository).saveAndFlush(argThat(saved -> "Prog".equals(saved.getCode())));
     }
 
     @Test
     void shouldUpdateCategoryWithNewValues() throws Exception {
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-        when(categoryRepository.existsByCode("prog")).thenReturn(false);
-        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> {
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenAnswer(invocation -> {
             Category savedCategory = invocation.getArgument(0);
             return savedCategory;
         });
@@ -320,10 +397,15 @@ class CategoryControllerIntegrationTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/categories"));
 
-        verify(categoryRepository).save(argThat(category -> 
+        verify(categoryRepository).saveAndFlush(argThat(category -> 
             "Programação Avançada".equals(category.getName()) &&
             "#00FF00".equals(category.getColor()) &&
             category.getOrder() == 5
         ));
     }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("Duplicate entry",
+                new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), constraintName));
+    }
 }
@@ -0,0 +1,91 @@
+package br.com.alura.projeto.category;
+
+import br.com.alura.projeto.catalog.CatalogChangedEvent;
+import br.com.alura.projeto.course.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CategoryOptionsProviderTest {
+
+    private CategoryRepository categoryRepository;
+    private CategoryOptionsProvider provider;
+
+    private final CategoryOption programming = new CategoryOption(1L, "Programação", "#00C86F");
+    private final CategoryOption frontend = new CategoryOption(2L, "Front-end", "#6BD1FF");
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository = mock(CategoryRepository.class);
+        provider = new CategoryOptionsProvider(categoryRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @DisplayName("should load options once and serve them from memory afterwards")
+    void shouldLoadOptionsOnce() {
+        when(categoryRepository.findAllOptions()).thenReturn(List.of(programming, frontend));
+
+        List<CategoryOption> first = provider.options();
+        List<CategoryOption> second = provider.options();
+
+        assertThat(second).isSameAs(first).containsExactly(programming, frontend);
+        verify(categoryRepository, times(1)).findAllOptions();
+    }
+
+    @Test
+    @DisplayName("should expose an immutable list")
+    void shouldExposeImmutableList() {
+        when(categoryRepository.findAllOptions()).thenReturn(new ArrayList<>(List.of(programming)));
+
+        assertThatThrownBy(() -> provider.options().add(frontend))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should reload options when a category changes")
+    void shouldReloadWhenCategoryChanges() {
+        when(categoryRepository.findAllOptions())
+                .thenReturn(List.of(programming))
+                .thenReturn(List.of(programming, frontend));
+        provider.options();
+
+        provider.onCatalogChanged(new CatalogChangedEvent(Category.class));
+
+        assertThat(provider.options()).containsExactly(programming, frontend);
+        verify(categoryRepository, times(2)).findAllOptions();
+    }
+
+    @Test
+    @DisplayName("should keep options when only a course changes")
+    void shouldIgnoreCourseChanges() {
+        when(categoryRepository.findAllOptions()).thenReturn(List.of(programming));
+        provider.options();
+
+        provider.onCatalogChanged(new CatalogChangedEvent(Course.class));
+        provider.options();
+
+        verify(categoryRepository, times(1)).findAllOptions();
+    }
+
+    @Test
+    @DisplayName("should fall back to lazy reload when the reload after a change fails")
+    void shouldInvalidateWhenReloadFails() {
+        when(categoryRepository.findAllOptions())
+                .thenReturn(List.of(programming))
+                .thenThrow(new IllegalStateException("banco indisponível"))
+                .thenReturn(List.of(frontend));
+        provider.options();
+
+        provider.onCatalogChanged(new CatalogChangedEvent(Category.class));
+
+        assertThat(provider.options()).containsExactly(frontend);
+    }
+}
@@ -1,16 +1,19 @@
 package br.com.alura.projeto.category;
 
+import br.com.alura.projeto.util.ConstraintViolations;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -69,16 +72,6 @@ class CategoryRepositoryTest {
         assertThat(exists).isFalse();
     }
 
-    @Test
-    @DisplayName("should find top 9 categories with active courses")
-    void shouldFindTop9CategoriesWithActiveCourses() {
-        List<Category> categories = categoryRepository.findTop9CategoriesWithActiveCourses();
-
-
-        assertThat(categories).isNotNull();
-
-    }
-
     @Test
     @DisplayName("should save new category")
     void shouldSaveNewCategory() {
@@ -187,5 +180,25 @@ class CategoryRepositoryTest {
         assertThat(categories).isEmpty();
         assertThat(count).isEqualTo(0);
     }
-}
 
+    @Test
+    @DisplayName("should load dropdown options sorted by order")
+    void shouldLoadDropdownOptionsSortedByOrder() {
+        Category category4 = new Category("DevOps", "devops", "#FF8C00", 2);
+        entityManager.persistAndFlush(category4);
+
+        List<CategoryOption> options = categoryRepository.findAllOptions();
+
+        assertThat(options).extracting(CategoryOption::getName)
+                .containsExactly("Programação", "Frontend", "DevOps", "Backend");
+        assertThat(options.get(2)).isEqualTo(new CategoryOption(category4.getId(), "DevOps", "#FF8C00"));
+    }
+
+    @Test
+    @DisplayName("should reject a duplicate code through the named unique constraint")
+    void shouldRejectDuplicateCodeThroughUniqueConstraint() {
+        assertThatThrownBy(() -> categoryRepository.saveAndFlush(new Category("Programação 2", "prog", "#00C86F", 4)))
+                .isInstanceOfSatisfying(DataIntegrityViolationException.class,
+                        e -> assertThat(ConstraintViolations.violates(e, Category.CODE_CONSTRAINT)).isTrue());
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.alura.projeto.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionGateDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+
+    @Test
+    @DisplayName("should release permit when connection is closed")
+    void shouldReleasePermitWhenConnectionIsClosed() throws SQLException {
+        Connection raw = mock(Connection.class);
+        when(target.getConnection()).thenReturn(raw);
+        ConnectionGateDataSource gate = new ConnectionGateDataSource(target, 2, Duration.ofMillis(50));
+
+        Connection connection = gate.getConnection();
+        assertThat(gate.availablePermits()).isEqualTo(1);
+
+        connection.close();
+        connection.close();
+
+        verify(raw, times(2)).close();
+        assertThat(gate.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should time out when all permits are in use")
+    void shouldTimeOutWhenAllPermitsAreInUse() throws SQLException {
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        ConnectionGateDataSource gate = new ConnectionGateDataSource(target, 1, Duration.ofMillis(50));
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                gate.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).join();
+
+        assertThatThrownBy(gate::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Tempo esgotado");
+    }
+
+    @Test
+    @DisplayName("should open a nested connection without waiting for a permit")
+    void shouldOpenNestedConnectionWithoutPermit() throws SQLException {
+        when(target.getConnection()).thenReturn(mock(Connection.class), mock(Connection.class), mock(Connection.class));
+        ConnectionGateDataSource gate = new ConnectionGateDataSource(target, 1, Duration.ofMillis(50));
+
+        Connection outer = gate.getConnection();
+        Connection nested = gate.getConnection();
+        assertThat(gate.availablePermits()).isZero();
+
+        nested.close();
+        assertThat(gate.availablePermits()).isZero();
+
+        outer.close();
+        assertThat(gate.availablePermits()).isEqualTo(1);
+
+        gate.getConnection();
+        assertThat(gate.availablePermits()).isZero();
+    }
+
+    @Test
+    @DisplayName("should release permit when pool fails to provide a connection")
+    void shouldReleasePermitWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool fechado"));
+        ConnectionGateDataSource gate = new ConnectionGateDataSource(target, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(gate::getConnection).isInstanceOf(SQLException.class);
+        assertThat(gate.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should delegate calls to the pooled connection")
+    void shouldDelegateCallsToPooledConnection() throws SQLException {
+        Connection raw = mock(Connection.class);
+        when(raw.getAutoCommit()).thenReturn(false);
+        when(target.getConnection()).thenReturn(raw);
+        ConnectionGateDataSource gate = new ConnectionGateDataSource(target, 1, Duration.ofMillis(50));
+
+        try (Connection connection = gate.getConnection()) {
+            assertThat(connection.getAutoCommit()).isFalse();
+        }
+    }
+}
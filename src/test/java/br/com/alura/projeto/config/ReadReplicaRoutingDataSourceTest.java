@@ -0,0 +1,69 @@
+package br.com.alura.projeto.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(lagMonitor.isUsable()).thenReturn(true);
+        routing = new ReadReplicaRoutingDataSource(primary, replica, lagMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("should use the primary outside a read-only transaction")
+    void shouldUsePrimaryOutsideReadOnlyTransaction() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("should use the replica inside a read-only transaction")
+    void shouldUseReplicaInsideReadOnlyTransaction() throws SQLException {
+        readOnlyTransaction();
+
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    @DisplayName("should fall back to the primary when the replica refuses connections")
+    void shouldFallBackToPrimaryWhenReplicaRefusesConnections() throws SQLException {
+        readOnlyTransaction();
+        SQLException refused = new SQLException("Connection refused");
+        when(replica.getConnection()).thenThrow(refused);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        verify(lagMonitor).markUnavailable(refused);
+    }
+
+    private static void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+}
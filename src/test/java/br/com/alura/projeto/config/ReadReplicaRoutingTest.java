@@ -0,0 +1,168 @@
+package br.com.alura.projeto.config;
+
+import br.com.alura.projeto.catalog.CatalogSnapshotService;
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.category.CategoryOption;
+import br.com.alura.projeto.category.CategoryOptionsProvider;
+import br.com.alura.projeto.category.CategoryRepository;
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseRepository;
+import br.com.alura.projeto.datagrid.EntityCountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "app.datasource.replica.url=jdbc:h2:mem:replica-${random.uuid};MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.max-lag=PT5S",
+        "app.datasource.replica.lag-query=SELECT lag_seconds FROM replica_lag"
+})
+@Import({ReadReplicaConfiguration.class, CategoryOptionsProvider.class, CatalogSnapshotService.class,
+        EntityCountService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CategoryOptionsProvider categoryOptionsProvider;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private EntityCountService entityCountService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("""
+                CREATE TABLE IF NOT EXISTS category (
+                    id BIGINT PRIMARY KEY, name VARCHAR(255), code VARCHAR(255), color VARCHAR(255),
+                    "order" INT NOT NULL, createdAt TIMESTAMP)
+                """);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds BIGINT)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        replica.update("DELETE FROM category");
+        replica.update("INSERT INTO category (id, name, code, color, \"order\") VALUES (1, 'Réplica', 'replica', '#000000', 1)");
+
+        categoryRepository.save(new Category("Primário", "primario", "#FFFFFF", 1));
+        replicaLagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("should send read-only transactions to the replica")
+    void shouldSendReadOnlyTransactionsToReplica() {
+        assertThat(categoryRepository.findAll()).extracting(Category::getName).containsExactly("Réplica");
+    }
+
+    @Test
+    @DisplayName("should keep read-write transactions and writes on the primary")
+    void shouldKeepReadWriteTransactionsOnPrimary() {
+        List<Category> categories = new TransactionTemplate(transactionManager).execute(status -> {
+            categoryRepository.save(new Category("Outra", "outra", "#AAAAAA", 2));
+            return categoryRepository.findAll();
+        });
+
+        assertThat(categories).extracting(Category::getName).containsExactlyInAnyOrder("Primário", "Outra");
+        assertThat(new JdbcTemplate(primaryDataSource).queryForObject("SELECT COUNT(*) FROM category", Long.class))
+                .isEqualTo(2);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM category", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reload options, catalog and counts from the primary right after a write")
+    void shouldRefreshFromPrimaryRightAfterWrite() {
+        Category category = categoryRepository.save(new Category("Outra", "outra", "#AAAAAA", 2));
+        courseRepository.save(new Course("Spring Boot", "spring", "Ana Lima", category, "Spring"));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            assertThat(categoryRepository.findAll()).extracting(Category::getName).containsExactly("Réplica");
+            assertThat(categoryOptionsProvider.refresh()).extracting(CategoryOption::getName)
+                    .containsExactly("Primário", "Outra");
+            assertThat(catalogSnapshotService.refresh().totalCourses()).isEqualTo(1);
+            assertThat(entityCountService.count(Category.class)).isEqualTo(2);
+        });
+    }
+
+    @Test
+    @DisplayName("should fall back to the primary when replica lag exceeds the tolerance")
+    void shouldFallBackToPrimaryWhenLagExceedsTolerance() {
+        replica.update("UPDATE replica_lag SET lag_seconds = 30");
+
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isUsable()).isFalse();
+        assertThat(categoryRepository.findAll()).extracting(Category::getName).containsExactly("Primário");
+    }
+
+    @Test
+    @DisplayName("should fall back to the primary when replication is stopped")
+    void shouldFallBackToPrimaryWhenReplicationIsStopped() {
+        replica.update("UPDATE replica_lag SET lag_seconds = NULL");
+
+        replicaLagMonitor.check();
+
+        assertThat(categoryRepository.findAll()).extracting(Category::getName).containsExactly("Primário");
+    }
+
+    @Test
+    @DisplayName("should return to the replica once lag is back within the tolerance")
+    void shouldReturnToReplicaOnceLagRecovers() {
+        replica.update("UPDATE replica_lag SET lag_seconds = 30");
+        replicaLagMonitor.check();
+        replica.update("UPDATE replica_lag SET lag_seconds = 2");
+
+        replicaLagMonitor.check();
+
+        assertThat(categoryRepository.findAll()).extracting(Category::getName).containsExactly("Réplica");
+    }
+}
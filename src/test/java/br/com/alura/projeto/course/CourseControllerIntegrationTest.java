@@ -1,6 +1,12 @@
 package br.com.alura.projeto.course;
 
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.category.CategoryOptionsProvider;
 import br.com.alura.projeto.category.CategoryRepository;
+import br.com.alura.projeto.datagrid.DatagridColumn;
+import br.com.alura.projeto.datagrid.EntityCountService;
+import br.com.alura.projeto.id.EntityIds;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -8,19 +14,32 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -35,16 +54,30 @@ class CourseControllerIntegrationTest {
 
     @MockBean
     private CourseRepository courseRepository;
+
+    @MockBean
+    private EntityCountService entityCountService;
     
     @MockBean
     private CategoryRepository categoryRepository;
 
+    @MockBean
+    private CategoryOptionsProvider categoryOptionsProvider;
+
+    @MockBean
+    private EntityIds entityIds;
+
+    private Category category;
     private Course course;
     private NewCourseForm validForm;
 
     @BeforeEach
     void setUp() {
-        course = new Course("Spring Boot", "spring", "João Silva", "Backend", "Spring Boot course");
+        category = new Category("Backend", "backend", "#00C86F", 1);
+        category.setId(7L);
+        when(categoryRepository.getReferenceById(7L)).thenReturn(category);
+
+        course = new Course("Spring Boot", "spring", "João Silva", category, "Spring Boot course");
         course.setId(1L);
 
         try {
@@ -59,27 +92,78 @@ class CourseControllerIntegrationTest {
         validForm.setName("Spring Boot");
         validForm.setCode("spring");
         validForm.setInstructor("João Silva");
-        validForm.setCategory("Backend");
+        validForm.setCategoryId(7L);
         validForm.setDescription("Spring Boot course");
     }
     
+    @Test
+    void shouldSeekCourseListByCursorWithoutCounting() throws Exception {
+        Window<Course> window = Window.from(List.of(course),
+                index -> ScrollPosition.forward(Map.of("createdAt", course.getCreatedAt(), "id", 1L)), false);
+        when(courseRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(window);
+
+        mockMvc.perform(get("/admin/courses").param("cursor", "invalid"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin/course/list"))
+                .andExpect(model().attribute("datagridKeyset", true))
+                .andExpect(model().attribute("datagridPrevCursor", nullValue()))
+                .andExpect(model().attribute("datagridNextCursor", nullValue()))
+                .andExpect(model().attributeDoesNotExist("datagridTotalItems"));
+
+        verify(courseRepository, never()).findAllBy(any(Pageable.class));
+        verify(courseRepository, never()).count();
+    }
+
     @Test
     void shouldReturnCourseListPage() throws Exception {
         List<Course> courses = Collections.singletonList(course);
-        Page<Course> coursePage = new PageImpl<>(courses);
-        when(courseRepository.findAll(any(Pageable.class))).thenReturn(coursePage);
+        when(courseRepository.findAllBy(any(Pageable.class))).thenReturn(courses);
 
         mockMvc.perform(get("/admin/courses"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/course/list"))
                 .andExpect(model().attributeExists("datagridItems"));
 
-        verify(courseRepository).findAll(any(Pageable.class));
+        verify(courseRepository).findAllBy(any(Pageable.class));
+    }
+
+    @Test
+    void shouldExposeTypedDatagridRowsWithFormattedDates() throws Exception {
+        course.setCreatedAt(LocalDateTime.of(2024, 3, 15, 10, 30));
+        when(courseRepository.findAllBy(any(Pageable.class))).thenReturn(List.of(course));
+
+        mockMvc.perform(get("/admin/courses"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("datagridItems", contains(allOf(
+                        instanceOf(CourseDatagridRow.class),
+                        hasProperty("category", is("Backend")),
+                        hasProperty("status", is(CourseStatus.ACTIVE)),
+                        hasProperty("createdAt", is("15/03/2024 10:30")),
+                        hasProperty("inactivationDate", nullValue())))))
+                .andExpect(model().attribute("datagridColumns", hasItem(allOf(
+                        hasProperty("field", is("createdAt")),
+                        hasProperty("type", is(DatagridColumn.Type.DATE))))));
+    }
+
+    @Test
+    void shouldTakeTotalItemsFromCountServiceOnDeepPages() throws Exception {
+        when(courseRepository.findAllBy(any(Pageable.class))).thenReturn(List.of(course));
+        when(entityCountService.count(Course.class)).thenReturn(5L);
+
+        mockMvc.perform(get("/admin/courses").param("page", "2").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin/course/list"))
+                .andExpect(model().attribute("datagridTotalItems", 5L))
+                .andExpect(model().attribute("datagridTotalPages", 5))
+                .andExpect(model().attributeExists("datagridSeekCursor"))
+                .andExpect(model().attribute("datagridNextCursor", nullValue()));
+
+        verify(courseRepository, never()).count();
     }
 
     @Test
     void shouldReturnNewCourseFormPage() throws Exception {
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
         
         mockMvc.perform(get("/admin/course/new"))
                 .andExpect(status().isOk())
@@ -89,26 +173,27 @@ class CourseControllerIntegrationTest {
     @Test
     void shouldSaveCourseWithValidData() throws Exception {
         when(courseRepository.existsByCode(anyString())).thenReturn(false);
-        when(courseRepository.save(any(Course.class))).thenReturn(course);
+        when(courseRepository.saveAndFlush(any(Course.class))).thenReturn(course);
 
         mockMvc.perform(post("/admin/course/new")
                 .param("name", validForm.getName())
                 .param("code", validForm.getCode())
                 .param("instructor", validForm.getInstructor())
-                .param("category", validForm.getCategory())
+                .param("categoryId", String.valueOf(validForm.getCategoryId()))
                 .param("description", validForm.getDescription())
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/courses"));
 
-        verify(courseRepository).existsByCode(validForm.getCode());
-        verify(courseRepository).save(any(Course.class));
+        verify(courseRepository, never()).existsByCode(anyString());
+        verify(categoryRepository, never()).findById(anyLong());
+        verify(courseRepository).saveAndFlush(any(Course.class));
     }
 
     @Test
     void shouldCreateCourseWithActiveStatusByDefault() throws Exception {
         when(courseRepository.existsByCode(anyString())).thenReturn(false);
-        when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> {
+        when(courseRepository.saveAndFlush(any(Course.class))).thenAnswer(invocation -> {
             Course savedCourse = invocation.getArgument(0);
             savedCourse.setId(1L);
             return savedCourse;
@@ -118,13 +203,13 @@ class CourseControllerIntegrationTest {
                 .param("name", validForm.getName())
                 .param("code", validForm.getCode())
                 .param("instructor", validForm.getInstructor())
-                .param("category", validForm.getCategory())
+                .param("categoryId", String.valueOf(validForm.getCategoryId()))
                 .param("description", validForm.getDescription())
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/courses"));
 
-        verify(courseRepository).save(argThat(course -> 
+        verify(courseRepository).saveAndFlush(argThat(course -> 
             course.getStatus() == CourseStatus.ACTIVE && 
             course.getInactivationDate() == null
         ));
@@ -133,78 +218,78 @@ class CourseControllerIntegrationTest {
     @ParameterizedTest
     @ValueSource(strings = {"", "   "})
     void shouldReturnFormWithValidationErrorsWhenNameIsBlank(String name) throws Exception {
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
         
         mockMvc.perform(post("/admin/course/new")
                 .param("name", name)
                 .param("code", validForm.getCode())
                 .param("instructor", validForm.getInstructor())
-                .param("category", validForm.getCategory())
+                .param("categoryId", String.valueOf(validForm.getCategoryId()))
                 .param("description", validForm.getDescription())
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/course/newForm"));
 
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).saveAndFlush(any(Course.class));
     }
 
     @ParameterizedTest
     @ValueSource(strings = {"", "   "})
     void shouldReturnFormWithValidationErrorsWhenInstructorIsBlank(String instructor) throws Exception {
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
         
         mockMvc.perform(post("/admin/course/new")
                 .param("name", validForm.getName())
                 .param("code", validForm.getCode())
                 .param("instructor", instructor)
-                .param("category", validForm.getCategory())
+                .param("categoryId", String.valueOf(validForm.getCategoryId()))
                 .param("description", validForm.getDescription())
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/course/newForm"));
 
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).saveAndFlush(any(Course.class));
     }
 
     @ParameterizedTest
     @ValueSource(strings = {"", "   "})
     void shouldReturnFormWithValidationErrorsWhenCategoryIsBlank(String category) throws Exception {
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
         
         mockMvc.perform(post("/admin/course/new")
                 .param("name", validForm.getName())
                 .param("code", validForm.getCode())
                 .param("instructor", validForm.getInstructor())
-                .param("category", category)
+                .param("categoryId", category)
                 .param("description", validForm.getDescription())
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/course/newForm"));
 
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).saveAndFlush(any(Course.class));
     }
 
     @ParameterizedTest
     @ValueSource(strings = {"123", "ab", "spring boot", "very-very-very-long-code"})
     void shouldReturnFormWithValidationErrorsWhenCodeIsInvalid(String invalidCode) throws Exception {
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
         
         mockMvc.perform(post("/admin/course/new")
                 .param("name", validForm.getName())
                 .param("code", invalidCode)
                 .param("instructor", validForm.getInstructor())
-                .param("category", validForm.getCategory())
+                .param("categoryId", String.valueOf(validForm.getCategoryId()))
                 .param("description", validForm.getDescription())
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/course/newForm"));
 
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).saveAndFlush(any(Course.class));
     }
 
     @Test
     void shouldReturnFormWithValidationErrorsWhenDescriptionIsTooLong() throws Exception {
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
         
         int charMaxLimit = 501;
         String longDescription = "a".repeat(charMaxLimit);
@@ -213,94 +298,112 @@ class CourseControllerIntegrationTest {
                 .param("name", validForm.getName())
                 .param("code", validForm.getCode())
                 .param("instructor", validForm.getInstructor())
-                .param("category", validForm.getCategory())
+                .param("categoryId", String.valueOf(validForm.getCategoryId()))
                 .param("description", longDescription)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/course/newForm"));
 
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).saveAndFlush(any(Course.class));
     }
     
     @Test
     void shouldReturnFormWhenCourseCodeAlreadyExists() throws Exception {
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
-        when(courseRepository.existsByCode(validForm.getCode())).thenReturn(true);
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
+        when(courseRepository.saveAndFlush(any(Course.class))).thenThrow(constraintViolation("courses.UC_Course_Code"));
 
         mockMvc.perform(post("/admin/course/new")
                 .param("name", validForm.getName())
                 .param("code", validForm.getCode())
                 .param("instructor", validForm.getInstructor())
-                .param("category", validForm.getCategory())
+                .param("categoryId", String.valueOf(validForm.getCategoryId()))
                 .param("description", validForm.getDescription())
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
-                .andExpect(view().name("admin/course/newForm"));
+                .andExpect(view().name("admin/course/newForm"))
+                .andExpect(model().attributeHasFieldErrorCode("newCourseForm", "code", "error.code"));
 
-        verify(courseRepository).existsByCode(validForm.getCode());
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).existsByCode(anyString());
     }
     
+    @Test
+    void shouldReturnFormWithErrorWhenCategoryDoesNotExist() throws Exception {
+        when(courseRepository.existsByCode(anyString())).thenReturn(false);
+        when(categoryRepository.getReferenceById(99L)).thenReturn(new Category());
+        when(courseRepository.saveAndFlush(any(Course.class))).thenThrow(constraintViolation("courses.fk_course_category"));
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(post("/admin/course/new")
+                .param("name", validForm.getName())
+                .param("code", validForm.getCode())
+                .param("instructor", validForm.getInstructor())
+                .param("categoryId", "99")
+                .param("description", validForm.getDescription())
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin/course/newForm"))
+                .andExpect(model().attributeHasFieldErrorCode("newCourseForm", "categoryId", "error.categoryId"));
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"java", "spring", "react-js", "node-js", "teste"})
     void shouldAcceptValidCodes(String validCode) throws Exception {
         when(courseRepository.existsByCode(anyString())).thenReturn(false);
-        when(courseRepository.save(any(Course.class))).thenReturn(course);
+        when(courseRepository.saveAndFlush(any(Course.class))).thenReturn(course);
 
         mockMvc.perform(post("/admin/course/new")
                 .param("name", validForm.getName())
                 .param("code", validCode)
                 .param("instructor", validForm.getInstructor())
-                .param("category", validForm.getCategory())
+                .param("categoryId", String.valueOf(validForm.getCategoryId()))
                 .param("description", validForm.getDescription())
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/courses"));
 
-        verify(courseRepository).existsByCode(validCode);
-        verify(courseRepository).save(any(Course.class));
+        verify(courseRepository).saveAndFlush(any(Course.class));
     }
 
     @ParameterizedTest
     @ValueSource(strings = {"", "   "})
     void shouldHandleEmptyOrBlankDescription(String description) throws Exception {
         when(courseRepository.existsByCode(anyString())).thenReturn(false);
-        when(courseRepository.save(any(Course.class))).thenReturn(course);
+        when(courseRepository.saveAndFlush(any(Course.class))).thenReturn(course);
 
         mockMvc.perform(post("/admin/course/new")
                 .param("name", validForm.getName())
                 .param("code", validForm.getCode())
                 .param("instructor", validForm.getInstructor())
-                .param("category", validForm.getCategory())
+                .param("categoryId", String.valueOf(validForm.getCategoryId()))
                 .param("description", description)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/courses"));
 
-        verify(courseRepository).save(any(Course.class));
+        verify(courseRepository).saveAndFlush(any(Course.class));
     }
 
     @Test
     void shouldHandleNullDescription() throws Exception {
         when(courseRepository.existsByCode(anyString())).thenReturn(false);
-        when(courseRepository.save(any(Course.class))).thenReturn(course);
+        when(courseRepository.saveAndFlush(any(Course.class))).thenReturn(course);
 
         mockMvc.perform(post("/admin/course/new")
                 .param("name", validForm.getName())
                 .param("code", validForm.getCode())
                 .param("instructor", validForm.getInstructor())
-                .param("category", validForm.getCategory())
+                .param("categoryId", String.valueOf(validForm.getCategoryId()))
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/courses"));
 
-        verify(courseRepository).save(any(Course.class));
+        verify(courseRepository).saveAndFlush(any(Course.class));
     }
 
     @Test
     void shouldReturnEditCourseFormPage() throws Exception {
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/admin/course/edit/1"))
                 .andExpect(status().isOk())
@@ -310,7 +413,8 @@ class CourseControllerIntegrationTest {
                 .andExpect(model().attributeExists("categories"));
 
         verify(courseRepository).findById(1L);
-        verify(categoryRepository).findAll();
+        verify(categoryOptionsProvider).options();
+        verify(categoryRepository, never()).findAll();
     }
 
     @Test
@@ -327,13 +431,13 @@ class CourseControllerIntegrationTest {
     @Test
     void shouldUpdateCourseWithValidData() throws Exception {
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(courseRepository.save(any(Course.class))).thenReturn(course);
+        when(courseRepository.saveAndFlush(any(Course.class))).thenReturn(course);
 
         mockMvc.perform(post("/admin/course/edit/1")
                 .param("name", "Spring Boot Updated")
                 .param("code", "spring")
                 .param("instructor", "João Silva")
-                .param("category", "Backend")
+                .param("categoryId", "7")
                 .param("description", "Updated Spring Boot course")
                 .param("status", "ACTIVE")
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
@@ -341,14 +445,13 @@ class CourseControllerIntegrationTest {
                 .andExpect(redirectedUrl("/admin/courses"));
 
         verify(courseRepository).findById(1L);
-        verify(courseRepository).save(any(Course.class));
+        verify(courseRepository).saveAndFlush(any(Course.class));
     }
 
     @Test
     void shouldUpdateCourseStatusToInactive() throws Exception {
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(courseRepository.existsByCode("spring")).thenReturn(false);
-        when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> {
+        when(courseRepository.saveAndFlush(any(Course.class))).thenAnswer(invocation -> {
             Course savedCourse = invocation.getArgument(0);
             return savedCourse;
         });
@@ -357,14 +460,14 @@ class CourseControllerIntegrationTest {
                 .param("name", "Spring Boot")
                 .param("code", "spring")
                 .param("instructor", "João Silva")
-                .param("category", "Backend")
+                .param("categoryId", "7")
                 .param("description", "Spring Boot course")
                 .param("status", "INACTIVE")
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/courses"));
 
-        verify(courseRepository).save(argThat(course -> 
+        verify(courseRepository).saveAndFlush(argThat(course -> 
             course.getStatus() == CourseStatus.INACTIVE && 
             course.getInactivationDate() != null
         ));
@@ -372,14 +475,13 @@ class CourseControllerIntegrationTest {
 
     @Test
     void shouldUpdateCourseStatusToActive() throws Exception {
-        Course inactiveCourse = new Course("Spring Boot", "spring", "João Silva", "Backend", "Spring Boot course");
+        Course inactiveCourse = new Course("Spring Boot", "spring", "João Silva", category, "Spring Boot course");
         inactiveCourse.setId(1L);
         inactiveCourse.setStatus(CourseStatus.INACTIVE);
         inactiveCourse.setInactivationDate(LocalDateTime.now());
         
         when(courseRepository.findById(1L)).thenReturn(Optional.of(inactiveCourse));
-        when(courseRepository.existsByCode("spring")).thenReturn(false);
-        when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> {
+        when(courseRepository.saveAndFlush(any(Course.class))).thenAnswer(invocation -> {
             Course savedCourse = invocation.getArgument(0);
             return savedCourse;
         });
@@ -388,14 +490,14 @@ class CourseControllerIntegrationTest {
                 .param("name", "Spring Boot")
                 .param("code", "spring")
                 .param("instructor", "João Silva")
-                .param("category", "Backend")
+                .param("categoryId", "7")
                 .param("description", "Spring Boot course")
                 .param("status", "ACTIVE")
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/courses"));
 
-        verify(courseRepository).save(argThat(course -> 
+        verify(courseRepository).saveAndFlush(argThat(course -> 
             course.getStatus() == CourseStatus.ACTIVE && 
             course.getInactivationDate() == null
         ));
@@ -404,83 +506,85 @@ class CourseControllerIntegrationTest {
     @Test
     void shouldReturnFormWithValidationErrorsWhenEditingWithInvalidData() throws Exception {
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
 
         mockMvc.perform(post("/admin/course/edit/1")
                 .param("name", "")
                 .param("code", "spring")
                 .param("instructor", "João Silva")
-                .param("category", "Backend")
+                .param("categoryId", "7")
                 .param("description", "Spring Boot course")
                 .param("status", "ACTIVE")
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/course/editForm"));
 
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).saveAndFlush(any(Course.class));
     }
 
     @Test
     void shouldReturnFormWhenCourseCodeAlreadyExistsInAnotherCourse() throws Exception {
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(courseRepository.existsByCode("existing")).thenReturn(true);
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(courseRepository.saveAndFlush(any(Course.class))).thenThrow(constraintViolation("courses.UC_Course_Code"));
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
 
         mockMvc.perform(post("/admin/course/edit/1")
                 .param("name", "Spring Boot")
                 .param("code", "existing")
                 .param("instructor", "João Silva")
-                .param("category", "Backend")
+                .param("categoryId", "7")
                 .param("description", "Spring Boot course")
                 .param("status", "ACTIVE")
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
-                .andExpect(view().name("admin/course/editForm"));
+                .andExpect(view().name("admin/course/editForm"))
+                .andExpect(model().attributeHasFieldErrorCode("editCourseForm", "code", "error.code"));
 
         verify(courseRepository).findById(1L);
-        verify(courseRepository).existsByCode("existing");
-        verify(courseRepository, never()).save(any(Course.class));
     }
 
     @Test
     void shouldReturnFormWhenCourseCodeIsChangedToExistingCode() throws Exception {
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(courseRepository.existsByCode("existing")).thenReturn(true);
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(courseRepository.saveAndFlush(any(Course.class))).thenThrow(constraintViolation("courses.UC_Course_Code"));
+        when(categoryOptionsProvider.options()).thenReturn(Collections.emptyList());
 
         mockMvc.perform(post("/admin/course/edit/1")
                 .param("name", "Spring Boot")
                 .param("code", "existing")
                 .param("instructor", "João Silva")
-                .param("category", "Backend")
+                .param("categoryId", "7")
                 .param("description", "Spring Boot course")
                 .param("status", "ACTIVE")
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().isOk())
-                .andExpect(view().name("admin/course/editForm"));
+                .andExpect(view().name("admin/course/editForm"))
+                .andExpect(model().attributeHasFieldErrorCode("editCourseForm", "code", "error.code"));
 
         verify(courseRepository).findById(1L);
-        verify(courseRepository).existsByCode("existing");
-        verify(courseRepository, never()).save(any(Course.class));
     }
 
     @Test
     void shouldAllowSameCodeForSameCourse() throws Exception {
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
-        when(courseRepository.existsByCode("spring")).thenReturn(false);
-        when(courseRepository.save(any(Course.class))).thenReturn(course);
+        when(courseRepository.saveAndFlush(any(Course.class))).thenReturn(course);
 
         mockMvc.perform(post("/admin/course/edit/1")
                 .param("name", "Spring Boot")
                 .param("code", "spring")
                 .param("instructor", "João Silva")
-                .param("category", "Backend")
+                .param("categoryId", "7")
                 .param("description", "Spring Boot course")
                 .param("status", "ACTIVE")
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/admin/courses"));
 
-        verify(courseRepository).save(any(Course.class));
+        verify(courseRepository).saveAndFlush(any(Course.class));
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("Constraint violation",
+                new ConstraintViolationException("Constraint violation", new SQLException("Constraint violation"), constraintName));
     }
 }
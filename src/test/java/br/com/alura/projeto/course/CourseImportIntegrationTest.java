@@ -0,0 +1,207 @@
+package br.com.alura.projeto.course;
+
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.category.CategoryRepository;
+import br.com.alura.projeto.datagrid.EntityCountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.course-import.batch-size=100")
+@AutoConfigureMockMvc
+class CourseImportIntegrationTest {
+
+    private static final String HEADER = "name,code,instructor,category,description\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityCountService entityCountService;
+
+    private Course existing;
+    private Category frontEnd;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("Programação", "programacao", "#00C86F", 1));
+        frontEnd = categoryRepository.save(new Category("Front-end", "frontend", "#6BD1FF", 2));
+        existing = new Course("Java Antigo", "java", "Ana Lima", category, "Versão anterior");
+        existing.inactivate();
+        existing = courseRepository.save(existing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("should create new codes, update existing ones and report each rejected line")
+    void shouldUpsertCsvAndReportRejectedLines() throws Exception {
+        String csv = HEADER
+                + "Java Moderno,java,Bruno Reis,Programação,\"Records, sealed e \"\"pattern matching\"\"\"\n"
+                + "React,react,Carla Dias,front-end,\"Hooks\ne contexto\"\n"
+                + "Sem Categoria,semcat,Davi Melo,Inexistente,\n"
+                + "Código Inválido,java 21,,Programação,\n"
+                + "Curta,linha\n";
+
+        importCsv(csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(5))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.errorsTruncated").value(false))
+                .andExpect(jsonPath("$.errors[0].line").value(5))
+                .andExpect(jsonPath("$.errors[0].field").value("category"))
+                .andExpect(jsonPath("$.errors[0].message").value("Categoria não encontrada"))
+                .andExpect(jsonPath("$.errors[1].line").value(6))
+                .andExpect(jsonPath("$.errors[1].field").value("code"))
+                .andExpect(jsonPath("$.errors[2].line").value(6))
+                .andExpect(jsonPath("$.errors[2].field").value("instructor"))
+                .andExpect(jsonPath("$.errors[3].line").value(7))
+                .andExpect(jsonPath("$.errors[3].field").value(nullValue()));
+
+        Course updated = courseRepository.findByCode("java").orElseThrow();
+        assertThat(updated.getId()).isEqualTo(existing.getId());
+        assertThat(updated.getName()).isEqualTo("Java Moderno");
+        assertThat(updated.getDescription()).isEqualTo("Records, sealed e \"pattern matching\"");
+        assertThat(updated.getStatus()).isEqualTo(CourseStatus.INACTIVE);
+
+        Course created = courseRepository.findByCode("react").orElseThrow();
+        assertThat(created.getCategory().getId()).isEqualTo(frontEnd.getId());
+        assertThat(created.getDescription()).isEqualTo("Hooks\ne contexto");
+        assertThat(created.getStatus()).isEqualTo(CourseStatus.ACTIVE);
+        assertThat(courseRepository.existsByCode("semcat")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should resolve categories by code and reject names shared by two categories")
+    void shouldRejectSharedCategoryNames() throws Exception {
+        Category mobile = categoryRepository.save(new Category("Celular", "mobile", "#FFBA05", 3));
+        categoryRepository.save(new Category("Celular", "mobile-legado", "#FFBA05", 4));
+
+        importCsv(HEADER
+                + "Flutter,flutter,Gabi Luz,Celular,\n"
+                + "Kotlin,kotlin,Gabi Luz,MOBILE,\n")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].field").value("category"))
+                .andExpect(jsonPath("$.errors[0].message").value("Categoria com nome repetido, informe o código"));
+
+        assertThat(courseRepository.findByCode("kotlin").orElseThrow().getCategory().getId()).isEqualTo(mobile.getId());
+    }
+
+    @Test
+    @DisplayName("should import NDJSON and report lines that are not valid JSON")
+    void shouldImportNdjson() throws Exception {
+        String ndjson = """
+                {"name":"Kotlin","code":"kotlin","instructor":"Eva Rocha","category":"Programação"}
+
+                {"name":"Quebrado","code":
+                {"name":"Spring","code":"spring","instructor":"Eva Rocha","category":"Programação","extra":1}
+                """;
+
+        mockMvc.perform(post("/admin/course/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(3))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        assertThat(courseRepository.existsByCode("kotlin")).isTrue();
+        assertThat(courseRepository.existsByCode("spring")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reject the upload when the header misses a required column")
+    void shouldRejectHeaderWithoutRequiredColumn() throws Exception {
+        importCsv("name,instructor,category\nJava,Ana,Programação\n")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.field").value("file"))
+                .andExpect(jsonPath("$.message").value("Coluna obrigatória ausente no cabeçalho: code"));
+    }
+
+    @Test
+    @DisplayName("should keep the rest of a batch when the database rejects one of its rows")
+    void shouldKeepBatchWhenDatabaseRejectsOneRow() throws Exception {
+        // Válido pelo formulário (até 15 letras), mas a coluna code só comporta 10
+        String csv = HEADER
+                + "Go,golang,Fábio Cruz,Programação,\n"
+                + "Longo,codigolongodemais,Fábio Cruz,Programação,\n"
+                + "Rust,rust,Fábio Cruz,Programação,\n";
+
+        importCsv(csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        assertThat(courseRepository.existsByCode("golang")).isTrue();
+        assertThat(courseRepository.existsByCode("rust")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should import across several batches and keep the datagrid count in step")
+    void shouldImportAcrossBatches() throws Exception {
+        assertThat(entityCountService.count(Course.class)).isEqualTo(1);
+
+        String rows = IntStream.range(0, 1050)
+                .mapToObj(i -> "Curso " + i + "," + code(i) + ",Gil Souza,Programação,\n")
+                .collect(Collectors.joining());
+
+        importCsv(HEADER + rows)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(1050))
+                .andExpect(jsonPath("$.created").value(1050))
+                .andExpect(jsonPath("$.rejected").value(0));
+
+        assertThat(courseRepository.count()).isEqualTo(1051);
+        assertThat(entityCountService.count(Course.class)).isEqualTo(1051);
+    }
+
+    private ResultActions importCsv(String csv) throws Exception {
+        return mockMvc.perform(post("/admin/course/import")
+                .contentType("text/csv")
+                .content(csv));
+    }
+
+    /**
+     * Letters only, as the code pattern requires: 0 → "caaa", 1 → "caab", ...
+     */
+    private static String code(int i) {
+        StringBuilder code = new StringBuilder();
+        for (int n = 0; n < 3; n++, i /= 26) {
+            code.insert(0, (char) ('a' + i % 26));
+        }
+        return "c" + code;
+    }
+}
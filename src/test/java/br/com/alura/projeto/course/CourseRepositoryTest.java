@@ -1,20 +1,36 @@
 package br.com.alura.projeto.course;
 
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.datagrid.KeysetCursors;
+import br.com.alura.projeto.querycount.QueryCount;
+import br.com.alura.projeto.querycount.QueryCountConfiguration;
+import br.com.alura.projeto.util.ConstraintViolations;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
+@Import(QueryCountConfiguration.class)
 @ActiveProfiles("test")
 class CourseRepositoryTest {
 
@@ -28,27 +44,32 @@ class CourseRepositoryTest {
     private Course activeCourse2;
     private Course inactiveCourse;
     private Course courseWithCategory;
+    private Category backend;
+    private Category frontend;
 
     @BeforeEach
     void setUp() throws InterruptedException {
         LocalDateTime now = LocalDateTime.now();
+
+        backend = entityManager.persistAndFlush(new Category("Backend", "backend", "#00C86F", 1));
+        frontend = entityManager.persistAndFlush(new Category("Frontend", "frontend", "#6BD1FF", 2));
         
-        courseWithCategory = new Course("Java", "java", "Ana Lima", "Backend", "Java course");
+        courseWithCategory = new Course("Java", "java", "Ana Lima", backend, "Java course");
         courseWithCategory.setStatus(CourseStatus.ACTIVE);
         courseWithCategory.setCreatedAt(now.minusHours(3));
         entityManager.persistAndFlush(courseWithCategory);
         
-        activeCourse1 = new Course("Spring Boot", "spring", "João Silva", "Backend", "Spring Boot course");
+        activeCourse1 = new Course("Spring Boot", "spring", "João Silva", backend, "Spring Boot course");
         activeCourse1.setStatus(CourseStatus.ACTIVE);
         activeCourse1.setCreatedAt(now.minusHours(2));
         entityManager.persistAndFlush(activeCourse1);
         
-        activeCourse2 = new Course("React", "react", "Maria Santos", "Frontend", "React course");
+        activeCourse2 = new Course("React", "react", "Maria Santos", frontend, "React course");
         activeCourse2.setStatus(CourseStatus.ACTIVE);
         activeCourse2.setCreatedAt(now.minusHours(1));
         entityManager.persistAndFlush(activeCourse2);
 
-        inactiveCourse = new Course("Angular", "angular", "Pedro Costa", "Frontend", "Angular course");
+        inactiveCourse = new Course("Angular", "angular", "Pedro Costa", frontend, "Angular course");
         inactiveCourse.setStatus(CourseStatus.INACTIVE);
         inactiveCourse.setCreatedAt(now.minusHours(4));
         entityManager.persistAndFlush(inactiveCourse);
@@ -114,7 +135,7 @@ class CourseRepositoryTest {
     @DisplayName("should find active courses by category")
     void shouldFindActiveCoursesByCategory() {
 
-        List<Course> backendCourses = courseRepository.findActiveCoursesByCategory("Backend");
+        List<Course> backendCourses = courseRepository.findActiveCoursesByCategory(backend.getId());
 
 
         assertThat(backendCourses).hasSize(2);
@@ -122,14 +143,17 @@ class CourseRepositoryTest {
                 .containsExactlyInAnyOrder("spring", "java");
         assertThat(backendCourses).allMatch(course -> 
                 course.getStatus() == CourseStatus.ACTIVE && 
-                course.getCategory().equals("Backend"));
+                course.getCategory().getId().equals(backend.getId()));
     }
 
     @Test
     @DisplayName("should find active courses by category when no courses exist")
     void shouldFindActiveCoursesByCategoryWhenNoCoursesExist() {
 
-        List<Course> frontendCourses = courseRepository.findActiveCoursesByCategory("Mobile");
+        Category mobile = entityManager.persistAndFlush(new Category("Mobile", "mobile", "#FFBA05", 3));
+
+
+        List<Course> frontendCourses = courseRepository.findActiveCoursesByCategory(mobile.getId());
 
 
         assertThat(frontendCourses).isEmpty();
@@ -151,7 +175,7 @@ class CourseRepositoryTest {
     @DisplayName("should save new course")
     void shouldSaveNewCourse() {
 
-        Course newCourse = new Course("Vue.js", "vue-js", "Carlos Silva", "Frontend", "Vue.js course");
+        Course newCourse = new Course("Vue.js", "vue-js", "Carlos Silva", frontend, "Vue.js course");
         newCourse.setStatus(CourseStatus.ACTIVE);
 
 
@@ -250,5 +274,91 @@ class CourseRepositoryTest {
 
         assertThat(exists).isFalse();
     }
-}
 
+    @Test
+    @DisplayName("should seek through all courses by created at and id without repeating rows")
+    void shouldSeekThroughCoursesWithKeyset() {
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        List<Long> expected = courseRepository.findAll(sort).stream().map(Course::getId).toList();
+
+        List<Long> seen = new ArrayList<>();
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<Course> window;
+        do {
+            window = courseRepository.findBy(position, sort, Limit.of(3));
+            window.forEach(course -> seen.add(course.getId()));
+            position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        } while (window.hasNext());
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("should return the previous page when seeking backward from a cursor")
+    void shouldSeekBackwardWithKeyset() {
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        KeysetScrollPosition start = ScrollPosition.keyset();
+        Window<Course> firstPage = courseRepository.findBy(start, sort, Limit.of(2));
+        KeysetCursors firstCursors = KeysetCursors.of(firstPage, start);
+
+        KeysetScrollPosition next = (KeysetScrollPosition) firstPage.positionAt(firstPage.size() - 1);
+        Window<Course> secondPage = courseRepository.findBy(next, sort, Limit.of(2));
+        KeysetScrollPosition back = ScrollPosition.backward(
+                ((KeysetScrollPosition) secondPage.positionAt(0)).getKeys());
+        Window<Course> previousPage = courseRepository.findBy(back, sort, Limit.of(2));
+        KeysetCursors previousCursors = KeysetCursors.of(previousPage, back);
+
+        assertThat(firstCursors.previous()).isNull();
+        assertThat(firstCursors.next()).isNotNull();
+        assertThat(previousPage.getContent()).extracting(Course::getId)
+                .containsExactlyElementsOf(firstPage.getContent().stream().map(Course::getId).toList());
+        assertThat(previousCursors.previous()).isNull();
+        assertThat(previousCursors.next()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should render a course datagrid page, categories included, with one select")
+    void shouldRenderDatagridPageWithOneSelect() {
+        entityManager.clear();
+        QueryCount.reset();
+
+        List<CourseDatagridRow> rows = courseRepository.findAllBy(PageRequest.of(0, 10, Sort.by("createdAt")))
+                .stream().map(CourseDatagridRow::of).toList();
+
+        assertThat(rows).extracting(CourseDatagridRow::getCategory)
+                .containsExactlyInAnyOrder("Backend", "Backend", "Frontend", "Frontend");
+        QueryCount.assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("should render a keyset course datagrid window, categories included, with one select")
+    void shouldRenderKeysetWindowWithOneSelect() {
+        entityManager.clear();
+        QueryCount.reset();
+
+        Window<Course> window = courseRepository.findBy(ScrollPosition.keyset(),
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")), Limit.of(3));
+        List<CourseDatagridRow> rows = window.stream().map(CourseDatagridRow::of).toList();
+
+        assertThat(rows).hasSize(3).extracting(CourseDatagridRow::getCategory).doesNotContainNull();
+        QueryCount.assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("should reject a duplicate code through the named unique constraint")
+    void shouldRejectDuplicateCodeThroughUniqueConstraint() {
+        assertThatThrownBy(() -> courseRepository.saveAndFlush(new Course("Spring Avançado", "spring", "Ana Lima", backend, "Spring")))
+                .isInstanceOfSatisfying(DataIntegrityViolationException.class,
+                        e -> assertThat(ConstraintViolations.violates(e, Course.CODE_CONSTRAINT)).isTrue());
+    }
+
+    @Test
+    @DisplayName("should reject a missing category through the named foreign key")
+    void shouldRejectMissingCategoryThroughForeignKey() {
+        Category missing = entityManager.getEntityManager().getReference(Category.class, Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> courseRepository.saveAndFlush(new Course("Go", "golang", "Ana Lima", missing, "Go")))
+                .isInstanceOfSatisfying(DataIntegrityViolationException.class,
+                        e -> assertThat(ConstraintViolations.violates(e, Course.CATEGORY_CONSTRAINT)).isTrue());
+    }
+}
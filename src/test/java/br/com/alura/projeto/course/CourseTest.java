@@ -1,5 +1,6 @@
 package br.com.alura.projeto.course;
 
+import br.com.alura.projeto.category.Category;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
@@ -14,13 +15,15 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class CourseTest {
+
+    private final Category category = new Category("Backend", "backend", "#00C86F", 1);
+
     @Test
     @DisplayName("should create course with valid data and set status as ACTIVE by default")
     void shouldCreateCourseWithValidDataAndSetStatusAsActiveByDefault() {
         String name = "Spring Boot Advanced";
         String code = "spring-boot-avancado";
         String instructor = "João Silva";
-        String category = "Backend";
         String description = "Advanced Spring Boot course";
 
         Course course = new Course(name, code, instructor, category, description);
@@ -40,7 +43,7 @@ class CourseTest {
     void shouldAcceptValidCodeWithLettersAndHyphens() {
         String validCode = "spring-boot-avancado";
 
-        Course course = new Course("Test Course", validCode, "Instructor", "Category", "Description");
+        Course course = new Course("Test Course", validCode, "Instructor", category, "Description");
 
         assertThat(course.getCode()).isEqualTo(validCode);
         assertThat(course.getStatus()).isEqualTo(CourseStatus.ACTIVE);
@@ -49,7 +52,7 @@ class CourseTest {
     @Test
     @DisplayName("should inactivate course and set inactivation date")
     void shouldInactivateCourseAndSetInactivationDate() {
-        Course course = new Course("Test Course", "test-course", "Instructor", "Category", "Description");
+        Course course = new Course("Test Course", "test-course", "Instructor", category, "Description");
         LocalDateTime beforeInactivation = LocalDateTime.now();
 
         course.inactivate();
@@ -63,7 +66,7 @@ class CourseTest {
     @Test
     @DisplayName("should activate course and clear inactivation date")
     void shouldActivateCourseAndClearInactivationDate() {
-        Course course = new Course("Test Course", "test-course", "Instructor", "Category", "Description");
+        Course course = new Course("Test Course", "test-course", "Instructor", category, "Description");
         course.inactivate();
 
         course.activate();
@@ -79,7 +82,7 @@ class CourseTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         Validator validator = factory.getValidator();
         
-        Course course = new Course("Test Course", "code123", "Instructor", "Category", "Description");
+        Course course = new Course("Test Course", "code123", "Instructor", category, "Description");
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -96,7 +99,7 @@ class CourseTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         Validator validator = factory.getValidator();
         
-        Course course = new Course("Test Course", "abc", "Instructor", "Category", "Description");
+        Course course = new Course("Test Course", "abc", "Instructor", category, "Description");
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -113,7 +116,7 @@ class CourseTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         Validator validator = factory.getValidator();
         
-        Course course = new Course("", "valid-code", "Instructor", "Category", "Description");
+        Course course = new Course("", "valid-code", "Instructor", category, "Description");
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -130,7 +133,7 @@ class CourseTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         Validator validator = factory.getValidator();
         
-        Course course = new Course("Valid Name", "valid-code", "", "Category", "Description");
+        Course course = new Course("Valid Name", "valid-code", "", category, "Description");
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -142,12 +145,12 @@ class CourseTest {
     }
 
     @Test
-    @DisplayName("should reject course with blank category")
-    void shouldRejectCourseWithBlankCategory() {
+    @DisplayName("should reject course without category")
+    void shouldRejectCourseWithoutCategory() {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         Validator validator = factory.getValidator();
         
-        Course course = new Course("Valid Name", "valid-code", "Instructor", "", "Description");
+        Course course = new Course("Valid Name", "valid-code", "Instructor", null, "Description");
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -165,7 +168,7 @@ class CourseTest {
         Validator validator = factory.getValidator();
         
         String longName = "A".repeat(101); // 101 characters
-        Course course = new Course(longName, "valid-code", "Instructor", "Category", "Description");
+        Course course = new Course(longName, "valid-code", "Instructor", category, "Description");
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -183,7 +186,7 @@ class CourseTest {
         Validator validator = factory.getValidator();
         
         String longInstructor = "A".repeat(101); // 101 characters
-        Course course = new Course("Valid Name", "valid-code", longInstructor, "Category", "Description");
+        Course course = new Course("Valid Name", "valid-code", longInstructor, category, "Description");
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -194,24 +197,6 @@ class CourseTest {
                 .isTrue();
     }
 
-    @Test
-    @DisplayName("should reject course with category too long")
-    void shouldRejectCourseWithCategoryTooLong() {
-        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-        Validator validator = factory.getValidator();
-        
-        String longCategory = "A".repeat(51); // 51 characters
-        Course course = new Course("Valid Name", "valid-code", "Instructor", longCategory, "Description");
-
-        Set<ConstraintViolation<Course>> violations = validator.validate(course);
-
-        assertThat(violations).isNotEmpty();
-        assertThat(violations.stream()
-                .anyMatch(v -> v.getPropertyPath().toString().equals("category") && 
-                              v.getMessage().contains("Categoria não pode exceder 50 caracteres")))
-                .isTrue();
-    }
-
     @Test
     @DisplayName("should reject course with description too long")
     void shouldRejectCourseWithDescriptionTooLong() {
@@ -219,7 +204,7 @@ class CourseTest {
         Validator validator = factory.getValidator();
         
         String longDescription = "A".repeat(501); // 501 characters
-        Course course = new Course("Valid Name", "valid-code", "Instructor", "Category", longDescription);
+        Course course = new Course("Valid Name", "valid-code", "Instructor", category, longDescription);
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -236,7 +221,7 @@ class CourseTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         Validator validator = factory.getValidator();
         
-        Course course = new Course("Valid Name", "valid-code", "Instructor", "Category", null);
+        Course course = new Course("Valid Name", "valid-code", "Instructor", category, null);
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -249,7 +234,7 @@ class CourseTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         Validator validator = factory.getValidator();
         
-        Course course = new Course("Valid Name", "valid-code", "Instructor", "Category", "");
+        Course course = new Course("Valid Name", "valid-code", "Instructor", category, "");
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -262,7 +247,7 @@ class CourseTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         Validator validator = factory.getValidator();
         
-        Course course = new Course("Test Course", "code with spaces", "Instructor", "Category", "Description");
+        Course course = new Course("Test Course", "code with spaces", "Instructor", category, "Description");
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -279,7 +264,7 @@ class CourseTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         Validator validator = factory.getValidator();
         
-        Course course = new Course("Test Course", "code@#$", "Instructor", "Category", "Description");
+        Course course = new Course("Test Course", "code@#$", "Instructor", category, "Description");
 
         Set<ConstraintViolation<Course>> violations = validator.validate(course);
 
@@ -299,7 +284,7 @@ class CourseTest {
         String[] validCodes = {"java", "spring-boot", "react-js", "node-js", "python-django"};
         
         for (String code : validCodes) {
-            Course course = new Course("Test Course", code, "Instructor", "Category", "Description");
+            Course course = new Course("Test Course", code, "Instructor", category, "Description");
             Set<ConstraintViolation<Course>> violations = validator.validate(course);
             
             assertThat(violations.stream()
@@ -1,5 +1,6 @@
 package br.com.alura.projeto.course;
 
+import br.com.alura.projeto.category.Category;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -18,13 +19,16 @@ class EditCourseFormTest {
 
     private Validator validator;
     private Course testCourse;
+    private Category backend;
 
     @BeforeEach
     void setUp() {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         validator = factory.getValidator();
         
-        testCourse = new Course("Spring Boot", "spring", "João Silva", "Backend", "Spring Boot course");
+        backend = new Category("Backend", "backend", "#00C86F", 1);
+        backend.setId(1L);
+        testCourse = new Course("Spring Boot", "spring", "João Silva", backend, "Spring Boot course");
         testCourse.setId(1L);
         testCourse.setStatus(CourseStatus.ACTIVE);
         testCourse.setCreatedAt(LocalDateTime.now());
@@ -40,7 +44,7 @@ class EditCourseFormTest {
         assertThat(form.getName()).isEqualTo("Spring Boot");
         assertThat(form.getCode()).isEqualTo("spring");
         assertThat(form.getInstructor()).isEqualTo("João Silva");
-        assertThat(form.getCategory()).isEqualTo("Backend");
+        assertThat(form.getCategoryId()).isEqualTo(1L);
         assertThat(form.getDescription()).isEqualTo("Spring Boot course");
         assertThat(form.getStatus()).isEqualTo(CourseStatus.ACTIVE);
     }
@@ -58,7 +62,7 @@ class EditCourseFormTest {
         assertThat(form.getName()).isEqualTo("Spring Boot");
         assertThat(form.getCode()).isEqualTo("spring");
         assertThat(form.getInstructor()).isEqualTo("João Silva");
-        assertThat(form.getCategory()).isEqualTo("Backend");
+        assertThat(form.getCategoryId()).isEqualTo(1L);
         assertThat(form.getDescription()).isNull();
         assertThat(form.getStatus()).isEqualTo(CourseStatus.ACTIVE);
     }
@@ -71,18 +75,18 @@ class EditCourseFormTest {
         form.setName("Spring Boot Advanced");
         form.setCode("spring-advanced");
         form.setInstructor("Maria Santos");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Advanced Spring Boot course");
         form.setStatus(CourseStatus.ACTIVE);
 
 
-        form.updateCourse(testCourse);
+        form.updateCourse(testCourse, backend);
 
 
         assertThat(testCourse.getName()).isEqualTo("Spring Boot Advanced");
         assertThat(testCourse.getCode()).isEqualTo("spring-advanced");
         assertThat(testCourse.getInstructor()).isEqualTo("Maria Santos");
-        assertThat(testCourse.getCategory()).isEqualTo("Backend");
+        assertThat(testCourse.getCategory()).isEqualTo(backend);
         assertThat(testCourse.getDescription()).isEqualTo("Advanced Spring Boot course");
         assertThat(testCourse.getStatus()).isEqualTo(CourseStatus.ACTIVE);
     }
@@ -98,7 +102,7 @@ class EditCourseFormTest {
         form.setStatus(CourseStatus.ACTIVE);
 
 
-        form.updateCourse(testCourse);
+        form.updateCourse(testCourse, backend);
 
 
         assertThat(testCourse.getStatus()).isEqualTo(CourseStatus.ACTIVE);
@@ -116,7 +120,7 @@ class EditCourseFormTest {
         form.setStatus(CourseStatus.INACTIVE);
 
 
-        form.updateCourse(testCourse);
+        form.updateCourse(testCourse, backend);
 
 
         assertThat(testCourse.getStatus()).isEqualTo(CourseStatus.INACTIVE);
@@ -131,7 +135,7 @@ class EditCourseFormTest {
         form.setName("");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -154,7 +158,7 @@ class EditCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -177,7 +181,7 @@ class EditCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -193,14 +197,13 @@ class EditCourseFormTest {
     }
 
     @Test
-    @DisplayName("should reject form with blank category")
-    void shouldRejectFormWithBlankCategory() {
+    @DisplayName("should reject form without category")
+    void shouldRejectFormWithoutCategory() {
 
         EditCourseForm form = new EditCourseForm();
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("");
         form.setDescription("Description");
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -210,7 +213,7 @@ class EditCourseFormTest {
 
         assertThat(violations).isNotEmpty();
         assertThat(violations.stream()
-                .anyMatch(v -> v.getPropertyPath().toString().equals("category") && 
+                .anyMatch(v -> v.getPropertyPath().toString().equals("categoryId") && 
                               v.getMessage().contains("Categoria é obrigatória")))
                 .isTrue();
     }
@@ -223,7 +226,7 @@ class EditCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring123");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -246,7 +249,7 @@ class EditCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("ab");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -269,7 +272,7 @@ class EditCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("very-very-very-long-code");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -292,7 +295,7 @@ class EditCourseFormTest {
         form.setName("A".repeat(101)); // 101 characters
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -315,7 +318,7 @@ class EditCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("A".repeat(101)); // 101 characters
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -330,29 +333,6 @@ class EditCourseFormTest {
                 .isTrue();
     }
 
-    @Test
-    @DisplayName("should reject form with category too long")
-    void shouldRejectFormWithCategoryTooLong() {
-
-        EditCourseForm form = new EditCourseForm();
-        form.setName("Spring Boot");
-        form.setCode("spring");
-        form.setInstructor("João Silva");
-        form.setCategory("A".repeat(51)); // 51 characters
-        form.setDescription("Description");
-        form.setStatus(CourseStatus.ACTIVE);
-
-
-        Set<ConstraintViolation<EditCourseForm>> violations = validator.validate(form);
-
-
-        assertThat(violations).isNotEmpty();
-        assertThat(violations.stream()
-                .anyMatch(v -> v.getPropertyPath().toString().equals("category") && 
-                              v.getMessage().contains("Categoria não pode exceder 50 caracteres")))
-                .isTrue();
-    }
-
     @Test
     @DisplayName("should reject form with description too long")
     void shouldRejectFormWithDescriptionTooLong() {
@@ -361,7 +341,7 @@ class EditCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("A".repeat(501)); // 501 characters
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -384,7 +364,7 @@ class EditCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription(null);
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -403,7 +383,7 @@ class EditCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("");
         form.setStatus(CourseStatus.ACTIVE);
 
@@ -424,7 +404,7 @@ class EditCourseFormTest {
             form.setName("Test Course");
             form.setCode(code);
             form.setInstructor("Instructor");
-            form.setCategory("Category");
+            form.setCategoryId(1L);
             form.setDescription("Description");
             form.setStatus(CourseStatus.ACTIVE);
             
@@ -21,13 +21,13 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Spring Boot course");
 
         assertThat(form.getName()).isEqualTo("Spring Boot");
         assertThat(form.getCode()).isEqualTo("spring");
         assertThat(form.getInstructor()).isEqualTo("João Silva");
-        assertThat(form.getCategory()).isEqualTo("Backend");
+        assertThat(form.getCategoryId()).isEqualTo(1L);
         assertThat(form.getDescription()).isEqualTo("Spring Boot course");
     }
 
@@ -41,7 +41,7 @@ class NewCourseFormTest {
         form.setName("");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -63,7 +63,7 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -85,7 +85,7 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -98,8 +98,8 @@ class NewCourseFormTest {
     }
 
     @Test
-    @DisplayName("should reject form with blank category")
-    void shouldRejectFormWithBlankCategory() {
+    @DisplayName("should reject form without category")
+    void shouldRejectFormWithoutCategory() {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         Validator validator = factory.getValidator();
         
@@ -107,14 +107,13 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("");
         form.setDescription("Description");
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
 
         assertThat(violations).isNotEmpty();
         assertThat(violations.stream()
-                .anyMatch(v -> v.getPropertyPath().toString().equals("category") && 
+                .anyMatch(v -> v.getPropertyPath().toString().equals("categoryId") && 
                               v.getMessage().contains("Categoria é obrigatória")))
                 .isTrue();
     }
@@ -129,7 +128,7 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring123");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -151,7 +150,7 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("ab");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -173,7 +172,7 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("very-very-very-long-code");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -195,7 +194,7 @@ class NewCourseFormTest {
         form.setName("A".repeat(101)); // 101 characters
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -217,7 +216,7 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("A".repeat(101)); // 101 characters
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("Description");
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -229,28 +228,6 @@ class NewCourseFormTest {
                 .isTrue();
     }
 
-    @Test
-    @DisplayName("should reject form with category too long")
-    void shouldRejectFormWithCategoryTooLong() {
-        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-        Validator validator = factory.getValidator();
-        
-        NewCourseForm form = new NewCourseForm();
-        form.setName("Spring Boot");
-        form.setCode("spring");
-        form.setInstructor("João Silva");
-        form.setCategory("A".repeat(51)); // 51 characters
-        form.setDescription("Description");
-
-        Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
-
-        assertThat(violations).isNotEmpty();
-        assertThat(violations.stream()
-                .anyMatch(v -> v.getPropertyPath().toString().equals("category") && 
-                              v.getMessage().contains("Categoria não pode exceder 50 caracteres")))
-                .isTrue();
-    }
-
     @Test
     @DisplayName("should reject form with description too long")
     void shouldRejectFormWithDescriptionTooLong() {
@@ -261,7 +238,7 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("A".repeat(501)); // 501 characters
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -283,7 +260,7 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription(null);
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -301,7 +278,7 @@ class NewCourseFormTest {
         form.setName("Spring Boot");
         form.setCode("spring");
         form.setInstructor("João Silva");
-        form.setCategory("Backend");
+        form.setCategoryId(1L);
         form.setDescription("");
 
         Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -322,7 +299,7 @@ class NewCourseFormTest {
             form.setName("Test Course");
             form.setCode(code);
             form.setInstructor("Instructor");
-            form.setCategory("Category");
+            form.setCategoryId(1L);
             form.setDescription("Description");
             
             Set<ConstraintViolation<NewCourseForm>> violations = validator.validate(form);
@@ -0,0 +1,35 @@
+package br.com.alura.projeto.datagrid;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatagridDatesTest {
+
+    @Test
+    @DisplayName("should format date with zero padded fields")
+    void shouldFormatDateWithZeroPaddedFields() {
+        assertThat(DatagridDates.format(LocalDateTime.of(2024, 3, 5, 9, 7))).isEqualTo("05/03/2024 09:07");
+    }
+
+    @Test
+    @DisplayName("should match the datagrid date pattern")
+    void shouldMatchTheDatagridDatePattern() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+        LocalDateTime dateTime = LocalDateTime.of(1999, 12, 31, 23, 59);
+
+        for (int i = 0; i < 1000; i++, dateTime = dateTime.plusMinutes(7919)) {
+            assertThat(DatagridDates.format(dateTime)).isEqualTo(formatter.format(dateTime));
+        }
+    }
+
+    @Test
+    @DisplayName("should return null for missing date")
+    void shouldReturnNullForMissingDate() {
+        assertThat(DatagridDates.format(null)).isNull();
+    }
+}
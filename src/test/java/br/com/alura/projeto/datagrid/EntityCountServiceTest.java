@@ -0,0 +1,68 @@
+package br.com.alura.projeto.datagrid;
+
+import br.com.alura.projeto.category.Category;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({EntityCountService.class, EntityCountListener.class})
+@ActiveProfiles("test")
+class EntityCountServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityCountService entityCountService;
+
+    @Test
+    @DisplayName("should follow committed inserts without querying the database")
+    void shouldIncrementAfterCommit() {
+        long before = entityCountService.count(Category.class);
+
+        entityManager.persist(new Category("Programação", "programacao", "#00C86F", 1));
+        entityManager.flush();
+        assertThat(entityCountService.count(Category.class)).isEqualTo(before);
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertThat(entityCountService.count(Category.class)).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("should ignore inserts that are rolled back")
+    void shouldIgnoreRolledBackInserts() {
+        long before = entityCountService.count(Category.class);
+
+        entityManager.persist(new Category("Front-end", "frontend", "#6BD1FF", 2));
+        entityManager.flush();
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        assertThat(entityCountService.count(Category.class)).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("should reconcile counters with rows written outside JPA")
+    void shouldReconcileWithDatabase() {
+        long before = entityCountService.count(Category.class);
+
+        entityManager.getEntityManager().createNativeQuery(
+                "INSERT INTO Category (id, name, code, color, `order`, createdAt) VALUES (1000000, 'DevOps', 'devops', '#F16165', 3, NOW())")
+                .executeUpdate();
+        assertThat(entityCountService.count(Category.class)).isEqualTo(before);
+
+        entityCountService.reconcile();
+
+        assertThat(entityCountService.count(Category.class)).isEqualTo(before + 1);
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.alura.projeto.datagrid;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    private static final Map<String, Function<String, ?>> PARSERS =
+            Map.of("createdAt", LocalDateTime::parse, "id", Long::valueOf);
+
+    @Test
+    @DisplayName("should round trip a forward position with typed keys")
+    void shouldRoundTripForwardPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", LocalDateTime.of(2024, 5, 10, 14, 30, 15));
+        keys.put("id", 42L);
+
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(keys));
+        KeysetScrollPosition decoded = KeysetCursor.decode(cursor, PARSERS);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(decoded.scrollsForward()).isTrue();
+        assertThat(decoded.getKeys()).isEqualTo(keys);
+    }
+
+    @Test
+    @DisplayName("should keep the direction of a backward position")
+    void shouldKeepBackwardDirection() {
+        Map<String, Object> keys = Map.of("createdAt", LocalDateTime.of(2024, 1, 1, 0, 0), "id", 1L);
+
+        KeysetScrollPosition decoded = KeysetCursor.decode(KeysetCursor.encode(ScrollPosition.backward(keys)), PARSERS);
+
+        assertThat(decoded.scrollsBackward()).isTrue();
+        assertThat(decoded.getKeys()).isEqualTo(keys);
+    }
+
+    @Test
+    @DisplayName("should reject tampered or incomplete cursors")
+    void shouldRejectTamperedCursors() {
+        String unknownKey = KeysetCursor.encode(ScrollPosition.forward(Map.of("name", "x", "id", 1L)));
+        String missingKey = KeysetCursor.encode(ScrollPosition.forward(Map.of("id", 1L)));
+
+        assertThatThrownBy(() -> KeysetCursor.decode("%%%", PARSERS)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(unknownKey, PARSERS)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(missingKey, PARSERS)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should fall back to the first page when the cursor is blank or invalid")
+    void shouldFallBackToInitialPosition() {
+        assertThat(KeysetCursor.parseOrStart("", PARSERS).isInitial()).isTrue();
+        assertThat(KeysetCursor.parseOrStart("not-a-cursor", PARSERS).isInitial()).isTrue();
+    }
+}
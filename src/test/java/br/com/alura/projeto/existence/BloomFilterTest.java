@@ -0,0 +1,53 @@
+package br.com.alura.projeto.existence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("should never report an inserted key as absent")
+    void shouldNeverReportInsertedKeyAsAbsent() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@alura.com.br"));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i + "@alura.com.br")))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("should keep false positives close to the configured probability")
+    void shouldKeepFalsePositivesCloseToConfiguredProbability() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@alura.com.br"));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("absent" + i + "@alura.com.br"))
+                .count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveProbability()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    @DisplayName("should size bits and hash functions from expected insertions")
+    void shouldSizeFromExpectedInsertions() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        assertThat(filter.bitSize()).isBetween(9_585L, 9_585L + Long.SIZE);
+        assertThat(filter.hashFunctions()).isEqualTo(7);
+        assertThat(filter.mightContain("qualquer")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject an impossible false positive probability")
+    void shouldRejectImpossibleProbability() {
+        assertThatThrownBy(() -> BloomFilter.create(1_000, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
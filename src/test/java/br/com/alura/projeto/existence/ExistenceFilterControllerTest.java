@@ -0,0 +1,52 @@
+package br.com.alura.projeto.existence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ExistenceFilterController.class)
+@ActiveProfiles("test")
+class ExistenceFilterControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExistenceFilters existenceFilters;
+
+    @Test
+    @DisplayName("should expose false positive rates per key space")
+    void shouldExposeFalsePositiveRates() throws Exception {
+        when(existenceFilters.stats()).thenReturn(List.of(new ExistenceFilterStats(ExistenceKeySpace.USER_EMAIL,
+                true, 95_872, 7, 0, 990, 10, 1, 0.001, 0.0008)));
+
+        mockMvc.perform(get("/admin/existence-filters/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].keySpace").value("USER_EMAIL"))
+                .andExpect(jsonPath("$[0].ready").value(true))
+                .andExpect(jsonPath("$[0].falsePositives").value(1))
+                .andExpect(jsonPath("$[0].observedFalsePositiveRate").value(0.001));
+    }
+
+    @Test
+    @DisplayName("should rebuild every filter on demand")
+    void shouldRebuildOnDemand() throws Exception {
+        mockMvc.perform(post("/admin/existence-filters/rebuild"))
+                .andExpect(status().isOk());
+
+        verify(existenceFilters).rebuildAll();
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.alura.projeto.existence;
+
+import br.com.alura.projeto.user.Role;
+import br.com.alura.projeto.user.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static br.com.alura.projeto.existence.ExistenceKeySpace.USER_EMAIL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ExistenceFilters.class)
+@ActiveProfiles("test")
+class ExistenceFiltersTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManager sharedEntityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ExistenceFilters registeredFilters;
+
+    private ExistenceFilters existenceFilters;
+
+    private final AtomicInteger databaseChecks = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        existenceFilters = new ExistenceFilters(sharedEntityManager, transactionManager, 0.01, 100, 10);
+        entityManager.persist(new User("Charles", "charles@alura.com.br", Role.STUDENT, "mudar123"));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("should go to the database until the filter is built")
+    void shouldGoToDatabaseUntilBuilt() {
+        assertThat(existenceFilters.exists(USER_EMAIL, "novo@alura.com.br", database(false))).isFalse();
+
+        assertThat(databaseChecks).hasValue(1);
+        assertThat(stats(USER_EMAIL).ready()).isFalse();
+        assertThat(stats(USER_EMAIL).bypassed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should answer absent keys without touching the database")
+    void shouldAnswerAbsentKeysWithoutDatabase() {
+        existenceFilters.rebuild(USER_EMAIL);
+
+        assertThat(existenceFilters.exists(USER_EMAIL, "novo@alura.com.br", database(false))).isFalse();
+
+        assertThat(databaseChecks).hasValue(0);
+        assertThat(stats(USER_EMAIL).definitelyAbsent()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should confirm keys found in the scan with the database, ignoring case")
+    void shouldConfirmScannedKeysWithDatabase() {
+        existenceFilters.rebuild(USER_EMAIL);
+
+        assertThat(existenceFilters.exists(USER_EMAIL, " Charles@Alura.com.br", database(true))).isTrue();
+
+        assertThat(databaseChecks).hasValue(1);
+        assertThat(stats(USER_EMAIL).maybePresent()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should add inserted keys to the filter")
+    void shouldAddInsertedKeys() {
+        registeredFilters.rebuild(USER_EMAIL);
+
+        entityManager.persist(new User("Ana", "ana@alura.com.br", Role.STUDENT, "mudar123"));
+        entityManager.flush();
+
+        assertThat(registeredFilters.exists(USER_EMAIL, "ana@alura.com.br", database(true))).isTrue();
+        assertThat(databaseChecks).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should count a maybe answer the database denies as a false positive")
+    void shouldCountFalsePositives() {
+        existenceFilters.rebuild(USER_EMAIL);
+
+        assertThat(existenceFilters.exists(USER_EMAIL, "charles@alura.com.br", database(false))).isFalse();
+        existenceFilters.exists(USER_EMAIL, "outro@alura.com.br", database(false));
+
+        ExistenceFilterStats stats = stats(USER_EMAIL);
+        assertThat(stats.falsePositives()).isEqualTo(1);
+        assertThat(stats.observedFalsePositiveRate()).isEqualTo(0.5);
+        assertThat(stats.expectedFalsePositiveRate()).isBetween(0.0, 0.01);
+    }
+
+    @Test
+    @DisplayName("should pick up rows written behind its back on rebuild")
+    void shouldPickUpRowsWrittenOutsideJpaOnRebuild() {
+        existenceFilters.rebuild(USER_EMAIL);
+        entityManager.getEntityManager().createNativeQuery(
+                        "INSERT INTO \"User\" (id, name, email, role, password) VALUES (9001, 'Maria', 'maria@alura.com.br', 'STUDENT', 'x')")
+                .executeUpdate();
+
+        existenceFilters.rebuild(USER_EMAIL);
+
+        assertThat(existenceFilters.exists(USER_EMAIL, "maria@alura.com.br", database(true))).isTrue();
+        assertThat(databaseChecks).hasValue(1);
+    }
+
+    private Predicate<String> database(boolean exists) {
+        return key -> {
+            databaseChecks.incrementAndGet();
+            return exists;
+        };
+    }
+
+    private ExistenceFilterStats stats(ExistenceKeySpace keySpace) {
+        return existenceFilters.stats().stream().filter(stats -> stats.keySpace() == keySpace).findFirst().orElseThrow();
+    }
+}
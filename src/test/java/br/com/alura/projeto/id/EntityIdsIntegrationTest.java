@@ -0,0 +1,105 @@
+package br.com.alura.projeto.id;
+
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.category.CategoryRepository;
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseRepository;
+import br.com.alura.projeto.registration.NewRegistrationDTO;
+import br.com.alura.projeto.registration.RegistrationBatchResult;
+import br.com.alura.projeto.registration.RegistrationBatchService;
+import br.com.alura.projeto.registration.RegistrationBatchStatus;
+import br.com.alura.projeto.user.Role;
+import br.com.alura.projeto.user.User;
+import br.com.alura.projeto.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With a single pooled connection, refilling an id block inside the inserting transaction would wait for a
+ * second connection until the pool gives up. Crossing more than one block proves the ids were drawn before.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+@AutoConfigureMockMvc
+class EntityIdsIntegrationTest {
+
+    private static final int MORE_THAN_ONE_BLOCK = PreallocatedTableGenerator.BLOCK_SIZE + 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityIds entityIds;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationBatchService registrationBatchService;
+
+    @Test
+    @DisplayName("should create students past the first id block with a single pooled connection")
+    void shouldCreateStudentsWithSinglePooledConnection() throws Exception {
+        for (int i = 0; i < MORE_THAN_ONE_BLOCK; i++) {
+            mockMvc.perform(post("/user/newStudent")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"name": "Aluno %d", "email": "bloco%d@email.com", "password": "mudar123"}
+                                    """.formatted(i, i)))
+                    .andExpect(status().isCreated());
+        }
+
+        assertThat(userRepository.findAll())
+                .filteredOn(user -> user.getEmail().startsWith("bloco"))
+                .extracting(User::getId)
+                .doesNotHaveDuplicates()
+                .hasSize(MORE_THAN_ONE_BLOCK);
+    }
+
+    @Test
+    @DisplayName("should enroll a batch past the first id block with a single pooled connection")
+    void shouldEnrollBatchWithSinglePooledConnection() {
+        Category category = new Category("Blocos", "blocos", "#00C86F", 1);
+        entityIds.preallocate(category);
+        categoryRepository.save(category);
+        Course course = new Course("Ids em blocos", "blocos", "Ana Lima", category, "Pooled-lo");
+        entityIds.preallocate(course);
+        courseRepository.save(course);
+
+        List<NewRegistrationDTO> requests = new ArrayList<>();
+        for (int i = 0; i < MORE_THAN_ONE_BLOCK; i++) {
+            User user = new User("Lote " + i, "lote" + i + "@email.com", Role.STUDENT, "mudar123");
+            entityIds.preallocate(user);
+            userRepository.save(user);
+            NewRegistrationDTO request = new NewRegistrationDTO();
+            request.setStudentEmail(user.getEmail());
+            request.setCourseCode(course.getCode());
+            requests.add(request);
+        }
+
+        assertThat(registrationBatchService.register(requests))
+                .extracting(RegistrationBatchResult::status)
+                .containsOnly(RegistrationBatchStatus.CREATED)
+                .hasSize(MORE_THAN_ONE_BLOCK);
+    }
+}
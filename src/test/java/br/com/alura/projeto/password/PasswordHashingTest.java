@@ -0,0 +1,138 @@
+package br.com.alura.projeto.password;
+
+import br.com.alura.projeto.util.EncryptUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class PasswordHashingTest {
+
+    private final Pbkdf2PasswordHasher pbkdf2 = new Pbkdf2PasswordHasher(1000);
+    private final LegacyMd5PasswordHasher md5 = new LegacyMd5PasswordHasher();
+
+    private PasswordHashing passwordHashing;
+
+    @AfterEach
+    void tearDown() {
+        passwordHashing.destroy();
+    }
+
+    @Test
+    @DisplayName("should hash with the configured algorithm and verify legacy MD5 hashes")
+    void shouldHashWithCurrentAlgorithmAndVerifyLegacy() {
+        passwordHashing = hashing(pbkdf2, 2, 8);
+
+        assertThat(passwordHashing.hash("mudar123")).startsWith("$pbkdf2-sha256$");
+        assertThat(passwordHashing.matches("mudar123", EncryptUtil.toMD5("mudar123"))).isTrue();
+        assertThat(passwordHashing.matches("mudar124", EncryptUtil.toMD5("mudar123"))).isFalse();
+        assertThat(passwordHashing.matches("mudar123", "{bcrypt}desconhecido")).isFalse();
+        assertThat(passwordHashing.matches("mudar123", null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should ask for a rehash of legacy and weaker hashes only")
+    void shouldAskForRehashOfLegacyAndWeakerHashes() {
+        passwordHashing = hashing(pbkdf2, 1, 8);
+
+        assertThat(passwordHashing.needsRehash(EncryptUtil.toMD5("mudar123"))).isTrue();
+        assertThat(passwordHashing.needsRehash(new Pbkdf2PasswordHasher(500).hash("mudar123"))).isTrue();
+        assertThat(passwordHashing.needsRehash(passwordHashing.hash("mudar123"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should refuse an unknown algorithm")
+    void shouldRefuseUnknownAlgorithm() {
+        passwordHashing = hashing(pbkdf2, 1, 1);
+
+        assertThatThrownBy(() -> new PasswordHashing(List.of(pbkdf2, md5), "bcrypt", 1, 1, Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should reject work beyond the pool and its queue instead of piling it up")
+    void shouldRejectWorkBeyondPoolAndQueue() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordHasher blocking = new BlockingHasher(started, release);
+        passwordHashing = hashing(blocking, 1, 1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> passwordHashing.hash("primeira"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            callers.submit(() -> passwordHashing.hash("na fila"));
+
+            // Com a thread ocupada e a fila, que tem uma vaga, preenchida, a terceira é recusada
+            await().atMost(5, TimeUnit.SECONDS).until(() -> passwordHashing.queued() == 1);
+            assertThatThrownBy(() -> passwordHashing.hash("terceira"))
+                    .isInstanceOf(PasswordHashingBusyException.class);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            assertThat(callers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("should give up waiting after the timeout")
+    void shouldGiveUpAfterTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordHasher blocking = new BlockingHasher(new CountDownLatch(1), release);
+        passwordHashing = new PasswordHashing(List.of(blocking), BlockingHasher.ALGORITHM, 1, 1,
+                Duration.ofMillis(50));
+
+        try {
+            assertThatThrownBy(() -> passwordHashing.hash("mudar123"))
+                    .isInstanceOf(PasswordHashingBusyException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private PasswordHashing hashing(PasswordHasher current, int threads, int queueCapacity) {
+        List<PasswordHasher> hashers = current == pbkdf2 ? List.of(pbkdf2, md5) : List.of(current);
+        return new PasswordHashing(hashers, current.algorithm(), threads, queueCapacity, Duration.ofSeconds(5));
+    }
+
+    private record BlockingHasher(CountDownLatch started, CountDownLatch release) implements PasswordHasher {
+
+        static final String ALGORITHM = "blocking";
+
+        @Override
+        public String algorithm() {
+            return ALGORITHM;
+        }
+
+        @Override
+        public String hash(String rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword;
+        }
+
+        @Override
+        public boolean supports(String encodedPassword) {
+            return true;
+        }
+
+        @Override
+        public boolean matches(String rawPassword, String encodedPassword) {
+            return rawPassword.equals(encodedPassword);
+        }
+    }
+}
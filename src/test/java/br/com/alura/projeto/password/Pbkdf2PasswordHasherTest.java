@@ -0,0 +1,57 @@
+package br.com.alura.projeto.password;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Pbkdf2PasswordHasherTest {
+
+    private final Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(1000);
+
+    @Test
+    @DisplayName("should verify the password it hashed and reject any other")
+    void shouldVerifyOwnHash() {
+        String encoded = hasher.hash("mudar123");
+
+        assertThat(encoded).startsWith("$pbkdf2-sha256$1000$");
+        assertThat(hasher.supports(encoded)).isTrue();
+        assertThat(hasher.matches("mudar123", encoded)).isTrue();
+        assertThat(hasher.matches("mudar124", encoded)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should salt every hash")
+    void shouldSaltEveryHash() {
+        assertThat(hasher.hash("mudar123")).isNotEqualTo(hasher.hash("mudar123"));
+    }
+
+    @Test
+    @DisplayName("should verify hashes made with another work factor and flag the weaker ones as outdated")
+    void shouldFlagLowerWorkFactorAsOutdated() {
+        String weaker = new Pbkdf2PasswordHasher(500).hash("mudar123");
+        String stronger = new Pbkdf2PasswordHasher(2000).hash("mudar123");
+
+        assertThat(hasher.matches("mudar123", weaker)).isTrue();
+        assertThat(hasher.isOutdated(weaker)).isTrue();
+        assertThat(hasher.isOutdated(stronger)).isFalse();
+        assertThat(hasher.isOutdated(hasher.hash("mudar123"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject malformed hashes instead of failing")
+    void shouldRejectMalformedHashes() {
+        assertThat(hasher.matches("mudar123", "$pbkdf2-sha256$abc$c2FsdA$aGFzaA")).isFalse();
+        assertThat(hasher.matches("mudar123", "$pbkdf2-sha256$1000$@@@$aGFzaA")).isFalse();
+        assertThat(hasher.matches("mudar123", "$pbkdf2-sha256$1000")).isFalse();
+        assertThat(hasher.supports("5f4dcc3b5aa765d61d8327deb882cf99")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should refuse a non-positive work factor")
+    void shouldRefuseNonPositiveWorkFactor() {
+        assertThatThrownBy(() -> new Pbkdf2PasswordHasher(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
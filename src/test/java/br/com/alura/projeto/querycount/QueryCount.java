@@ -0,0 +1,84 @@
+package br.com.alura.projeto.querycount;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements executed through a {@link QueryCountingDataSource} since the last {@link #reset()}.
+ * Call {@code reset()} once the test data is in place, run the code under test and assert with
+ * e.g. {@code assertSelectCount(1)}; a lazy association loaded per row shows up as extra SELECTs.
+ */
+public final class QueryCount {
+
+    enum Kind { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    private static final Map<Kind, AtomicInteger> COUNTS = new EnumMap<>(Kind.class);
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    static {
+        for (Kind kind : Kind.values()) {
+            COUNTS.put(kind, new AtomicInteger());
+        }
+    }
+
+    private QueryCount() {
+    }
+
+    public static synchronized void reset() {
+        COUNTS.values().forEach(count -> count.set(0));
+        STATEMENTS.clear();
+    }
+
+    static synchronized void record(String sql) {
+        COUNTS.get(kindOf(sql)).incrementAndGet();
+        STATEMENTS.add(sql);
+    }
+
+    public static int selectCount() {
+        return COUNTS.get(Kind.SELECT).get();
+    }
+
+    public static void assertSelectCount(int expected) {
+        assertCount(Kind.SELECT, expected);
+    }
+
+    public static void assertInsertCount(int expected) {
+        assertCount(Kind.INSERT, expected);
+    }
+
+    public static void assertUpdateCount(int expected) {
+        assertCount(Kind.UPDATE, expected);
+    }
+
+    public static void assertDeleteCount(int expected) {
+        assertCount(Kind.DELETE, expected);
+    }
+
+    private static synchronized void assertCount(Kind kind, int expected) {
+        assertThat(COUNTS.get(kind).get())
+                .as("%s statements executed; all statements since reset:%n%s", kind, String.join("\n", STATEMENTS))
+                .isEqualTo(expected);
+    }
+
+    static Kind kindOf(String sql) {
+        String statement = sql.stripLeading();
+        while (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            statement = end < 0 ? "" : statement.substring(end + 2).stripLeading();
+        }
+        String keyword = statement.split("[\\s(]", 2)[0].toUpperCase(Locale.ROOT);
+        return switch (keyword) {
+            case "SELECT", "WITH" -> Kind.SELECT;
+            case "INSERT" -> Kind.INSERT;
+            case "UPDATE" -> Kind.UPDATE;
+            case "DELETE" -> Kind.DELETE;
+            default -> Kind.OTHER;
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.alura.projeto.querycount;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+
+/**
+ * {@code @Import} into a test to route the application {@link DataSource} through
+ * {@link QueryCountingDataSource} and assert statement counts with {@link QueryCount}.
+ */
+@TestConfiguration
+public class QueryCountConfiguration {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())
+                        ? QueryCountingDataSource.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.alura.projeto.querycount;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryCountTest {
+
+    @Test
+    @DisplayName("should classify statements by their leading keyword")
+    void shouldClassifyStatementsByLeadingKeyword() {
+        assertThat(QueryCount.kindOf("select c1_0.id from Course c1_0")).isEqualTo(QueryCount.Kind.SELECT);
+        assertThat(QueryCount.kindOf("/* <criteria> */ select 1")).isEqualTo(QueryCount.Kind.SELECT);
+        assertThat(QueryCount.kindOf("  WITH ranked AS (SELECT 1) SELECT * FROM ranked")).isEqualTo(QueryCount.Kind.SELECT);
+        assertThat(QueryCount.kindOf("insert into Course (id) values (?)")).isEqualTo(QueryCount.Kind.INSERT);
+        assertThat(QueryCount.kindOf("update id_generator set next_val=?")).isEqualTo(QueryCount.Kind.UPDATE);
+        assertThat(QueryCount.kindOf("delete from Registration")).isEqualTo(QueryCount.Kind.DELETE);
+        assertThat(QueryCount.kindOf("create table foo (id int)")).isEqualTo(QueryCount.Kind.OTHER);
+    }
+
+    @Test
+    @DisplayName("should fail with the executed statements when the count differs")
+    void shouldFailWithExecutedStatements() {
+        QueryCount.reset();
+        QueryCount.record("select * from Course");
+        QueryCount.record("select * from Category where id=?");
+
+        assertThatThrownBy(() -> QueryCount.assertSelectCount(1))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("select * from Category where id=?");
+        QueryCount.assertInsertCount(0);
+        QueryCount.reset();
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.alura.projeto.querycount;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * JDK proxies around a {@link DataSource} and the connections and statements it hands out, recording
+ * every executed statement in {@link QueryCount}.
+ */
+final class QueryCountingDataSource {
+
+    private QueryCountingDataSource() {
+    }
+
+    static DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (method, args, result) ->
+                result instanceof Connection connection && method.getName().equals("getConnection")
+                        ? connection(connection) : result);
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, target, (method, args, result) -> switch (method.getName()) {
+            case "createStatement" -> statement(Statement.class, (Statement) result, null);
+            case "prepareStatement" -> statement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+            case "prepareCall" -> statement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+            default -> result;
+        });
+    }
+
+    private static <T extends Statement> T statement(Class<T> type, T target, String preparedSql) {
+        return proxy(type, target, (method, args, result) -> {
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String given ? given : preparedSql;
+                if (sql != null) {
+                    QueryCount.record(sql);
+                }
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface ResultDecorator {
+        Object decorate(Method method, Object[] args, Object result);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultDecorator decorator) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return decorator.decorate(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.alura.projeto.registration;
+
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseStatus;
+import br.com.alura.projeto.user.Role;
+import br.com.alura.projeto.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(RegistrationStatsReconciler.class)
+@ActiveProfiles("test")
+class CourseRegistrationStatsRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseRegistrationStatsRepository statsRepository;
+
+    @Autowired
+    private RegistrationStatsReconciler reconciler;
+
+    private Course spring;
+    private Course react;
+    private Course angular;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(new Category("Programação", "programacao", "#00C86F", 1));
+        spring = entityManager.persist(new Course("Spring Boot", "spring", "João Silva", category, "Spring Boot course"));
+        react = entityManager.persist(new Course("React", "react", "Maria Santos", category, "React course"));
+        angular = new Course("Angular", "angular", "Pedro Costa", category, "Angular course");
+        angular.setStatus(CourseStatus.INACTIVE);
+        entityManager.persist(angular);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("should create the counter on first registration and increment it afterwards")
+    void shouldUpsertCounter() {
+        LocalDateTime first = LocalDateTime.of(2024, 3, 1, 10, 0);
+        LocalDateTime second = LocalDateTime.of(2024, 3, 2, 9, 30);
+
+        statsRepository.incrementTotal(spring.getId(), second);
+        statsRepository.incrementTotal(spring.getId(), first);
+        entityManager.clear();
+
+        CourseRegistrationStats stats = statsRepository.findById(spring.getId()).orElseThrow();
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getLastRegistrationAt()).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("should rebuild counters from the registration table")
+    void shouldRebuildCountersFromRegistrations() {
+        User ana = entityManager.persist(new User("Ana", "ana@email.com", Role.STUDENT, "password123"));
+        User bruno = entityManager.persist(new User("Bruno", "bruno@email.com", Role.STUDENT, "password123"));
+        entityManager.persist(new Registration(ana, spring));
+        entityManager.persist(new Registration(bruno, spring));
+        entityManager.persist(new Registration(ana, react));
+        statsRepository.incrementTotal(react.getId(), LocalDateTime.now());
+        statsRepository.incrementTotal(react.getId(), LocalDateTime.now());
+        statsRepository.incrementTotal(react.getId(), LocalDateTime.now());
+        entityManager.flush();
+
+        reconciler.reconcile();
+        entityManager.clear();
+
+        assertThat(statsRepository.findById(spring.getId())).get()
+                .extracting(CourseRegistrationStats::getTotal).isEqualTo(2L);
+        assertThat(statsRepository.findById(react.getId())).get()
+                .extracting(CourseRegistrationStats::getTotal).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("should rewrite only the counters that differ from the registration table")
+    void shouldRewriteOnlyDifferingCounters() {
+        User ana = entityManager.persist(new User("Ana", "ana@email.com", Role.STUDENT, "password123"));
+        entityManager.persist(new Registration(ana, spring));
+        LocalDateTime recorded = LocalDateTime.of(2024, 1, 1, 8, 0);
+        statsRepository.incrementTotal(spring.getId(), recorded);
+        statsRepository.incrementTotal(angular.getId(), recorded);
+        entityManager.flush();
+
+        reconciler.reconcile();
+        entityManager.clear();
+
+        assertThat(statsRepository.findById(spring.getId())).get()
+                .extracting(CourseRegistrationStats::getLastRegistrationAt).isEqualTo(recorded);
+        assertThat(statsRepository.findById(angular.getId())).get()
+                .satisfies(stats -> {
+                    assertThat(stats.getTotal()).isZero();
+                    assertThat(stats.getLastRegistrationAt()).isNull();
+                });
+        assertThat(statsRepository.findById(react.getId())).isEmpty();
+    }
+}
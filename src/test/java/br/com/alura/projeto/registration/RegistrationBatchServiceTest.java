@@ -0,0 +1,137 @@
+package br.com.alura.projeto.registration;
+
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseStatus;
+import br.com.alura.projeto.id.EntityIds;
+import br.com.alura.projeto.querycount.QueryCountConfiguration;
+import br.com.alura.projeto.user.Role;
+import br.com.alura.projeto.user.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.alura.projeto.querycount.QueryCount.assertInsertCount;
+import static br.com.alura.projeto.querycount.QueryCount.reset;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({RegistrationBatchService.class, EntityIds.class, QueryCountConfiguration.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@ActiveProfiles("test")
+class RegistrationBatchServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RegistrationBatchService batchService;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private CourseRegistrationStatsRepository statsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User ana;
+    private User bruno;
+    private Course spring;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(new Category("Programação", "programacao", "#00C86F", 1));
+        spring = entityManager.persist(new Course("Spring Boot", "spring", "João Silva", category, "Spring Boot course"));
+        Course angular = new Course("Angular", "angular", "Pedro Costa", category, "Angular course");
+        angular.setStatus(CourseStatus.INACTIVE);
+        entityManager.persist(angular);
+        ana = entityManager.persist(new User("Ana", "ana@email.com", Role.STUDENT, "password123"));
+        bruno = entityManager.persist(new User("Bruno", "bruno@email.com", Role.STUDENT, "password123"));
+        entityManager.persist(new Registration(bruno, spring));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("should report a result for every item and insert only the valid new pairs")
+    void shouldReportPerItemResults() {
+        List<NewRegistrationDTO> requests = new ArrayList<>();
+        requests.add(registration("ana@email.com", "spring"));
+        requests.add(registration("bruno@email.com", "spring"));
+        requests.add(registration("ANA@email.com", "spring"));
+        requests.add(registration("carla@email.com", "spring"));
+        requests.add(registration("ana@email.com", "kotlin"));
+        requests.add(registration("ana@email.com", "angular"));
+        requests.add(registration("not-an-email", "spring"));
+        requests.add(null);
+
+        List<RegistrationBatchResult> results = batchService.register(requests);
+
+        assertThat(results).extracting(RegistrationBatchResult::status).containsExactly(
+                RegistrationBatchStatus.CREATED,
+                RegistrationBatchStatus.ALREADY_REGISTERED,
+                RegistrationBatchStatus.DUPLICATED_IN_BATCH,
+                RegistrationBatchStatus.USER_NOT_FOUND,
+                RegistrationBatchStatus.COURSE_NOT_FOUND,
+                RegistrationBatchStatus.COURSE_INACTIVE,
+                RegistrationBatchStatus.INVALID,
+                RegistrationBatchStatus.INVALID);
+        assertThat(results).extracting(RegistrationBatchResult::index).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        assertThat(results.get(6).message()).contains("studentEmail");
+
+        entityManager.clear();
+        assertThat(registrationRepository.findByCourseCode("spring"))
+                .extracting(registration -> registration.getUser().getEmail())
+                .containsExactlyInAnyOrder("ana@email.com", "bruno@email.com");
+        assertThat(statsRepository.findById(spring.getId())).get()
+                .extracting(CourseRegistrationStats::getTotal).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("should resolve and insert a large batch with a constant number of statements")
+    void shouldResolveLargeBatchWithConstantQueries() {
+        List<NewRegistrationDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            User user = new User("Aluno " + i, "aluno" + i + "@email.com", Role.STUDENT, "password123");
+            entityManager.persist(user);
+            requests.add(registration(user.getEmail(), "spring"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        reset();
+
+        List<RegistrationBatchResult> results = batchService.register(requests);
+
+        assertThat(results).allMatch(result -> result.status() == RegistrationBatchStatus.CREATED);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+        // One batch of INSERT IGNORE plus the stats upsert for the course
+        assertInsertCount(2);
+        assertThat(statsRepository.findById(spring.getId())).get()
+                .extracting(CourseRegistrationStats::getTotal).isEqualTo(200L);
+    }
+
+    private static NewRegistrationDTO registration(String email, String courseCode) {
+        NewRegistrationDTO dto = new NewRegistrationDTO();
+        dto.setStudentEmail(email);
+        dto.setCourseCode(courseCode);
+        return dto;
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.alura.projeto.registration;
+
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.category.CategoryRepository;
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseRepository;
+import br.com.alura.projeto.course.CourseStatus;
+import br.com.alura.projeto.user.Role;
+import br.com.alura.projeto.user.User;
+import br.com.alura.projeto.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RegistrationConcurrencyTest {
+
+    private static final int THREADS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private CourseRegistrationStatsRepository statsRepository;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User("Maria Souza", "maria@email.com", Role.STUDENT, "mudar123"));
+        Category category = categoryRepository.save(new Category("Concorrência", "concorrencia", "#00C86F", 1));
+        course = new Course("Java Concorrente", "concorrente", "Ana Lima", category, "Threads e locks");
+        course.setStatus(CourseStatus.ACTIVE);
+        course = courseRepository.save(course);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAllInBatch();
+        statsRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("should create exactly one registration when hundreds of requests race for the same pair")
+    void shouldCreateExactlyOneRegistrationUnderContention() throws Exception {
+        String body = "{\"studentEmail\":\"maria@email.com\",\"courseCode\":\"concorrente\"}";
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> responses = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/registration/new")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+        }
+
+        List<Integer> statuses = new ArrayList<>();
+        for (Future<Integer> response : responses) {
+            statuses.add(response.get());
+        }
+        Map<Integer, Long> byStatus = statuses.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        assertThat(byStatus).containsOnly(Map.entry(201, 1L), Map.entry(409, (long) THREADS - 1));
+        assertThat(registrationRepository.count()).isEqualTo(1);
+        assertThat(statsRepository.findById(course.getId()))
+                .hasValueSatisfying(stats -> assertThat(stats.getTotal()).isEqualTo(1));
+    }
+}
@@ -1,8 +1,11 @@
 package br.com.alura.projeto.registration;
 
+import br.com.alura.projeto.category.Category;
 import br.com.alura.projeto.course.Course;
 import br.com.alura.projeto.course.CourseRepository;
 import br.com.alura.projeto.course.CourseStatus;
+import br.com.alura.projeto.existence.ExistenceFilters;
+import br.com.alura.projeto.id.EntityIds;
 import br.com.alura.projeto.user.Role;
 import br.com.alura.projeto.user.User;
 import br.com.alura.projeto.user.UserRepository;
@@ -13,17 +16,23 @@ import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -43,6 +52,24 @@ class RegistrationControllerTest {
     @MockBean
     private CourseRepository courseRepository;
 
+    @MockBean
+    private CourseRegistrationStatsRepository courseRegistrationStatsRepository;
+
+    @MockBean
+    private RegistrationReportReader registrationReportReader;
+
+    @MockBean
+    private RegistrationBatchService registrationBatchService;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private EntityIds entityIds;
+
+    @MockBean
+    private ExistenceFilters existenceFilters;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -53,7 +80,7 @@ class RegistrationControllerTest {
     @BeforeEach
     void setUp() {
         user = new User("João Silva", "joao@email.com", Role.STUDENT, "password123");
-        course = new Course("Spring Boot", "spring", "João Silva", "Backend", "Spring Boot course");
+        course = new Course("Spring Boot", "spring", "João Silva", new Category("Backend", "backend", "#00C86F", 1), "Spring Boot course");
         course.setStatus(CourseStatus.ACTIVE);
 
         newRegistration = new NewRegistrationDTO();
@@ -66,8 +93,7 @@ class RegistrationControllerTest {
     void shouldCreateRegistrationSuccessfully() throws Exception {
         when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(user));
         when(courseRepository.findByCode("spring")).thenReturn(Optional.of(course));
-        when(registrationRepository.existsByUserAndCourse(user, course)).thenReturn(false);
-        when(registrationRepository.save(any(Registration.class))).thenReturn(new Registration(user, course));
+        when(registrationRepository.insertIfAbsent(any(Registration.class))).thenReturn(true);
 
         mockMvc.perform(post("/registration/new")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -76,8 +102,8 @@ class RegistrationControllerTest {
 
         verify(userRepository).findByEmail("joao@email.com");
         verify(courseRepository).findByCode("spring");
-        verify(registrationRepository).existsByUserAndCourse(user, course);
-        verify(registrationRepository).save(any(Registration.class));
+        verify(registrationRepository).insertIfAbsent(any(Registration.class));
+        verify(courseRegistrationStatsRepository).incrementTotal(any(), any(LocalDateTime.class));
     }
 
     @Test
@@ -93,7 +119,7 @@ class RegistrationControllerTest {
 
         verify(userRepository).findByEmail("joao@email.com");
         verify(courseRepository, never()).findByCode(anyString());
-        verify(registrationRepository, never()).save(any(Registration.class));
+        verify(registrationRepository, never()).insertIfAbsent(any(Registration.class));
     }
 
     @Test
@@ -110,7 +136,7 @@ class RegistrationControllerTest {
 
         verify(userRepository).findByEmail("joao@email.com");
         verify(courseRepository).findByCode("spring");
-        verify(registrationRepository, never()).save(any(Registration.class));
+        verify(registrationRepository, never()).insertIfAbsent(any(Registration.class));
     }
 
     @Test
@@ -128,7 +154,7 @@ class RegistrationControllerTest {
 
         verify(userRepository).findByEmail("joao@email.com");
         verify(courseRepository).findByCode("spring");
-        verify(registrationRepository, never()).save(any(Registration.class));
+        verify(registrationRepository, never()).insertIfAbsent(any(Registration.class));
     }
 
     @Test
@@ -136,7 +162,7 @@ class RegistrationControllerTest {
     void shouldReturn409WhenUserAlreadyRegistered() throws Exception {
         when(userRepository.findByEmail("joao@email.com")).thenReturn(Optional.of(user));
         when(courseRepository.findByCode("spring")).thenReturn(Optional.of(course));
-        when(registrationRepository.existsByUserAndCourse(user, course)).thenReturn(true);
+        when(registrationRepository.insertIfAbsent(any(Registration.class))).thenReturn(false);
 
         mockMvc.perform(post("/registration/new")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -146,8 +172,8 @@ class RegistrationControllerTest {
 
         verify(userRepository).findByEmail("joao@email.com");
         verify(courseRepository).findByCode("spring");
-        verify(registrationRepository).existsByUserAndCourse(user, course);
-        verify(registrationRepository, never()).save(any(Registration.class));
+        verify(registrationRepository).insertIfAbsent(any(Registration.class));
+        verify(courseRegistrationStatsRepository, never()).incrementTotal(any(), any());
     }
 
     @Test
@@ -162,7 +188,7 @@ class RegistrationControllerTest {
 
         verify(userRepository, never()).findByEmail(anyString());
         verify(courseRepository, never()).findByCode(anyString());
-        verify(registrationRepository, never()).save(any(Registration.class));
+        verify(registrationRepository, never()).insertIfAbsent(any(Registration.class));
     }
 
     @Test
@@ -177,23 +203,63 @@ class RegistrationControllerTest {
 
         verify(userRepository, never()).findByEmail(anyString());
         verify(courseRepository, never()).findByCode(anyString());
-        verify(registrationRepository, never()).save(any(Registration.class));
+        verify(registrationRepository, never()).insertIfAbsent(any(Registration.class));
+    }
+
+    @Test
+    @DisplayName("should return per item results for a registration batch")
+    void shouldReturnPerItemResultsForBatch() throws Exception {
+        when(registrationBatchService.register(anyList())).thenReturn(List.of(
+                new RegistrationBatchResult(0, "joao@email.com", "spring", RegistrationBatchStatus.CREATED, null),
+                new RegistrationBatchResult(1, "joao@email.com", "react", RegistrationBatchStatus.COURSE_NOT_FOUND,
+                        "Curso não encontrado: react")));
+
+        mockMvc.perform(post("/registration/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(newRegistration, newRegistration))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("COURSE_NOT_FOUND"))
+                .andExpect(jsonPath("$.results[1].message").value("Curso não encontrado: react"));
+
+        verify(registrationBatchService).register(anyList());
     }
 
     @Test
-    @DisplayName("should return course registration report")
+    @DisplayName("should return 400 when registration batch is empty")
+    void shouldReturn400WhenBatchIsEmpty() throws Exception {
+        mockMvc.perform(post("/registration/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Nenhuma matrícula informada"));
+
+        verify(registrationBatchService, never()).register(anyList());
+    }
+
+    @Test
+    @DisplayName("should stream course registration report")
     void shouldReturnCourseRegistrationReport() throws Exception {
 
-        Object[] course1Data = {"Java para Iniciantes", "java", "Paulo Silveira", "paulo@alura.com", 10L};
-        Object[] course2Data = {"Spring Boot", "spring", "João Silva", "joao@alura.com", 8L};
-        Object[] course3Data = {"React", "react", "Maria Santos", "maria@alura.com", 5L};
-        
-        List<Object[]> mockResults = List.of(course1Data, course2Data, course3Data);
-        when(registrationRepository.findCourseRegistrationReport()).thenReturn(mockResults);
+        List<RegistrationReportItem> items = List.of(
+                new RegistrationReportItem("Java para Iniciantes", "java", "Paulo Silveira", "paulo@alura.com", 10L),
+                new RegistrationReportItem("Spring Boot", "spring", "João Silva", "joao@alura.com", 8L),
+                new RegistrationReportItem("React", "react", "Maria Santos", "maria@alura.com", 5L));
+        doAnswer(invocation -> {
+            Consumer<RegistrationReportItem> consumer = invocation.getArgument(0);
+            items.forEach(consumer);
+            return null;
+        }).when(registrationReportReader).readAll(any());
+
 
+        MvcResult result = mockMvc.perform(get("/registration/report"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        mockMvc.perform(get("/registration/report"))
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(3))
                 .andExpect(jsonPath("$[0].courseName").value("Java para Iniciantes"))
@@ -206,21 +272,54 @@ class RegistrationControllerTest {
                 .andExpect(jsonPath("$[2].courseName").value("React"))
                 .andExpect(jsonPath("$[2].totalRegistrations").value(5));
 
-        verify(registrationRepository).findCourseRegistrationReport();
+        verify(registrationReportReader).readAll(any());
     }
 
     @Test
     @DisplayName("should return empty report when no registrations exist")
     void shouldReturnEmptyReportWhenNoRegistrationsExist() throws Exception {
 
-        when(registrationRepository.findCourseRegistrationReport()).thenReturn(new ArrayList<>());
+        MvcResult result = mockMvc.perform(get("/registration/report"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-
-        mockMvc.perform(get("/registration/report"))
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(registrationRepository).findCourseRegistrationReport();
+        verify(registrationReportReader).readAll(any());
+    }
+
+    @Test
+    @DisplayName("should page registrations of a user")
+    void shouldPageRegistrationsOfUser() throws Exception {
+        RegistrationListItem item = new RegistrationListItem(1L, LocalDateTime.of(2024, 1, 1, 10, 0),
+                "João", "joao@email.com", "Spring Boot", "spring");
+        when(registrationRepository.findItemsByUserEmail("joao@email.com", PageRequest.of(1, 5)))
+                .thenReturn(new SliceImpl<>(List.of(item), PageRequest.of(1, 5), true));
+
+        mockMvc.perform(get("/registration/by-user/joao@email.com").param("page", "1").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].courseCode").value("spring"))
+                .andExpect(jsonPath("$.items[0].studentEmail").value("joao@email.com"))
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.size").value(5))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @DisplayName("should page registrations of a course with a capped page size")
+    void shouldPageRegistrationsOfCourseWithCappedSize() throws Exception {
+        PageRequest capped = PageRequest.of(0, RegistrationController.MAX_PAGE_SIZE);
+        when(registrationRepository.findItemsByCourseCode("spring", capped))
+                .thenReturn(new SliceImpl<>(List.of(), capped, false));
+
+        mockMvc.perform(get("/registration/by-course/spring").param("size", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(registrationRepository).findItemsByCourseCode("spring", capped);
     }
-}
\ No newline at end of file
+}
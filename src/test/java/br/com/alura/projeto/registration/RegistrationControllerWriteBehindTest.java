@@ -0,0 +1,172 @@
+package br.com.alura.projeto.registration;
+
+import br.com.alura.projeto.course.CourseRepository;
+import br.com.alura.projeto.existence.ExistenceFilters;
+import br.com.alura.projeto.existence.ExistenceKeySpace;
+import br.com.alura.projeto.id.EntityIds;
+import br.com.alura.projeto.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RegistrationController.class)
+class RegistrationControllerWriteBehindTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private RegistrationWriteBehind registrationWriteBehind;
+
+    @MockBean
+    private RegistrationRepository registrationRepository;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private CourseRepository courseRepository;
+
+    @MockBean
+    private CourseRegistrationStatsRepository courseRegistrationStatsRepository;
+
+    @MockBean
+    private RegistrationReportReader registrationReportReader;
+
+    @MockBean
+    private RegistrationBatchService registrationBatchService;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private EntityIds entityIds;
+
+    @MockBean
+    private ExistenceFilters existenceFilters;
+
+    @Test
+    @DisplayName("should accept registration and return tracking id when write-behind is enabled")
+    void shouldAcceptRegistration() throws Exception {
+        knownStudentAndCourse();
+        UUID trackingId = UUID.randomUUID();
+        when(registrationWriteBehind.submit(any())).thenReturn(Optional.of(trackingId));
+
+        mockMvc.perform(post("/registration/new")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/registration/tracking/" + trackingId))
+                .andExpect(jsonPath("$.trackingId").value(trackingId.toString()));
+
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    @DisplayName("should return 503 with Retry-After when the queue is full")
+    void shouldReturn503WhenQueueIsFull() throws Exception {
+        knownStudentAndCourse();
+        when(registrationWriteBehind.submit(any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/registration/new")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, RegistrationController.RETRY_AFTER_SECONDS));
+    }
+
+    @Test
+    @DisplayName("should validate registration before queueing it")
+    void shouldValidateBeforeQueueing() throws Exception {
+        mockMvc.perform(post("/registration/new")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(registrationWriteBehind, never()).submit(any());
+    }
+
+    @Test
+    @DisplayName("should refuse an unknown student before queueing")
+    void shouldRefuseUnknownStudentBeforeQueueing() throws Exception {
+        when(existenceFilters.exists(eq(ExistenceKeySpace.USER_EMAIL), eq("joao@email.com"), any())).thenReturn(false);
+
+        mockMvc.perform(post("/registration/new")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request())))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Usuário não encontrado com o email: joao@email.com"));
+
+        verify(registrationWriteBehind, never()).submit(any());
+    }
+
+    @Test
+    @DisplayName("should refuse an unknown course before queueing")
+    void shouldRefuseUnknownCourseBeforeQueueing() throws Exception {
+        when(existenceFilters.exists(eq(ExistenceKeySpace.USER_EMAIL), any(), any())).thenReturn(true);
+        when(existenceFilters.exists(eq(ExistenceKeySpace.COURSE_CODE), eq("spring"), any())).thenReturn(false);
+
+        mockMvc.perform(post("/registration/new")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request())))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Curso não encontrado: spring"));
+
+        verify(registrationWriteBehind, never()).submit(any());
+    }
+
+    @Test
+    @DisplayName("should return registration tracking status")
+    void shouldReturnTrackingStatus() throws Exception {
+        UUID trackingId = UUID.randomUUID();
+        when(registrationWriteBehind.tracking(trackingId)).thenReturn(Optional.of(new RegistrationTracking(
+                trackingId, false, RegistrationBatchStatus.ALREADY_REGISTERED, "O usuário já está registrado nesse curso")));
+
+        mockMvc.perform(get("/registration/tracking/" + trackingId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pending").value(false))
+                .andExpect(jsonPath("$.status").value("ALREADY_REGISTERED"));
+    }
+
+    @Test
+    @DisplayName("should return 404 for unknown tracking id")
+    void shouldReturn404ForUnknownTrackingId() throws Exception {
+        when(registrationWriteBehind.tracking(any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/registration/tracking/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private void knownStudentAndCourse() {
+        when(existenceFilters.exists(any(), any(), any())).thenReturn(true);
+    }
+
+    private static NewRegistrationDTO request() {
+        NewRegistrationDTO request = new NewRegistrationDTO();
+        request.setStudentEmail("joao@email.com");
+        request.setCourseCode("spring");
+        return request;
+    }
+}
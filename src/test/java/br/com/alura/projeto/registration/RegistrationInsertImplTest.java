@@ -0,0 +1,78 @@
+package br.com.alura.projeto.registration;
+
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.user.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.jdbc.ReturningWork;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The warnings MySQL attaches to {@code INSERT IGNORE} cannot be produced by H2, so the statement is mocked.
+ */
+class RegistrationInsertImplTest {
+
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement insert = mock(PreparedStatement.class);
+    private final RegistrationInsertImpl registrationInsert = new RegistrationInsertImpl();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        EntityManager entityManager = mock(EntityManager.class);
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.doReturningWork(any())).thenAnswer(invocation ->
+                invocation.<ReturningWork<?>>getArgument(0).execute(connection));
+        when(connection.prepareStatement(anyString())).thenReturn(insert);
+        when(insert.executeBatch()).thenReturn(new int[]{0});
+        ReflectionTestUtils.setField(registrationInsert, "entityManager", entityManager);
+    }
+
+    @Test
+    @DisplayName("should report a duplicate from MySQL's 1062 warning without a lookup")
+    void shouldReportDuplicateFromWarning() throws SQLException {
+        when(insert.getWarnings()).thenReturn(new SQLWarning("Duplicate entry '1-2' for key 'UC_User_Course'", "23000", 1062));
+        Registration registration = registration();
+
+        assertThat(registrationInsert.insertIfAbsent(registration)).isFalse();
+
+        assertThat(registration.getId()).isNull();
+        verify(connection).prepareStatement(anyString());
+    }
+
+    @Test
+    @DisplayName("should fail when the row was skipped for anything but a duplicate")
+    void shouldFailOnOtherWarnings() throws SQLException {
+        when(insert.getWarnings()).thenReturn(new SQLWarning("Cannot add or update a child row", "23000", 1452));
+
+        assertThatThrownBy(() -> registrationInsert.insertIfAbsent(registration()))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("Cannot add or update a child row");
+    }
+
+    private static Registration registration() {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(1L);
+        Course course = mock(Course.class);
+        when(course.getId()).thenReturn(2L);
+        Registration registration = new Registration(user, course);
+        registration.setId(10L);
+        return registration;
+    }
+}
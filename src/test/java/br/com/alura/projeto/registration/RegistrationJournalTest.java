@@ -0,0 +1,148 @@
+package br.com.alura.projeto.registration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistrationJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("should replay registrations that were appended but not acknowledged")
+    void shouldReplayUnacknowledgedRegistrations() throws IOException {
+        Path file = dir.resolve("journal.log");
+        QueuedRegistration committed = registration("ana@email.com");
+        QueuedRegistration pending = registration("bia@email.com");
+
+        try (RegistrationJournal journal = new RegistrationJournal(file, Long.MAX_VALUE, objectMapper)) {
+            assertThat(journal.recover()).isEmpty();
+            journal.append(committed);
+            journal.append(pending);
+            journal.acknowledge(List.of(committed.trackingId()));
+        }
+
+        try (RegistrationJournal journal = new RegistrationJournal(file, Long.MAX_VALUE, objectMapper)) {
+            assertThat(journal.recover()).containsExactly(pending);
+            assertThat(journal.pendingCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep every registration appended concurrently")
+    void shouldKeepConcurrentAppends() throws Exception {
+        Path file = dir.resolve("journal.log");
+        List<QueuedRegistration> registrations = IntStream.range(0, 200)
+                .mapToObj(i -> registration("aluno" + i + "@email.com"))
+                .toList();
+
+        try (RegistrationJournal journal = new RegistrationJournal(file, 4096, objectMapper);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            journal.recover();
+            List<Future<?>> appends = registrations.stream()
+                    .<Future<?>>map(registration -> executor.submit(() -> journal.append(registration)))
+                    .toList();
+            for (Future<?> append : appends) {
+                append.get();
+            }
+            journal.acknowledge(registrations.subList(0, 100).stream().map(QueuedRegistration::trackingId).toList());
+        }
+
+        try (RegistrationJournal journal = new RegistrationJournal(file, Long.MAX_VALUE, objectMapper)) {
+            assertThat(journal.recover()).containsExactlyInAnyOrderElementsOf(registrations.subList(100, 200));
+        }
+    }
+
+    @Test
+    @DisplayName("should not replay registrations marked as failed")
+    void shouldNotReplayFailedRegistrations() throws IOException {
+        Path file = dir.resolve("journal.log");
+        QueuedRegistration failed = registration("ana@email.com");
+        QueuedRegistration pending = registration("bia@email.com");
+
+        try (RegistrationJournal journal = new RegistrationJournal(file, Long.MAX_VALUE, objectMapper)) {
+            journal.recover();
+            journal.append(failed);
+            journal.append(pending);
+            journal.fail(List.of(failed.trackingId()));
+        }
+
+        assertThat(Files.readAllLines(file)).last().asString().startsWith("F " + failed.trackingId());
+        try (RegistrationJournal journal = new RegistrationJournal(file, Long.MAX_VALUE, objectMapper)) {
+            assertThat(journal.recover()).containsExactly(pending);
+        }
+    }
+
+    @Test
+    @DisplayName("should ignore a line torn by a crash")
+    void shouldIgnoreTornLine() throws IOException {
+        Path file = dir.resolve("journal.log");
+        QueuedRegistration pending = registration("ana@email.com");
+
+        try (RegistrationJournal journal = new RegistrationJournal(file, Long.MAX_VALUE, objectMapper)) {
+            journal.recover();
+            journal.append(pending);
+        }
+        Files.writeString(file, "A {\"trackingId\":\"", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (RegistrationJournal journal = new RegistrationJournal(file, Long.MAX_VALUE, objectMapper)) {
+            assertThat(journal.recover()).containsExactly(pending);
+        }
+    }
+
+    @Test
+    @DisplayName("should empty the file once every registration is acknowledged")
+    void shouldTruncateWhenNothingIsPending() throws IOException {
+        Path file = dir.resolve("journal.log");
+        QueuedRegistration registration = registration("ana@email.com");
+
+        try (RegistrationJournal journal = new RegistrationJournal(file, Long.MAX_VALUE, objectMapper)) {
+            journal.recover();
+            journal.append(registration);
+            journal.acknowledge(List.of(registration.trackingId()));
+        }
+
+        assertThat(Files.size(file)).isZero();
+    }
+
+    @Test
+    @DisplayName("should compact the file past the size limit keeping only pending registrations")
+    void shouldCompactPastSizeLimit() throws IOException {
+        Path file = dir.resolve("journal.log");
+        QueuedRegistration pending = registration("pendente@email.com");
+
+        try (RegistrationJournal journal = new RegistrationJournal(file, 1, objectMapper)) {
+            journal.recover();
+            journal.append(pending);
+            for (int i = 0; i < 20; i++) {
+                QueuedRegistration committed = registration("aluno" + i + "@email.com");
+                journal.append(committed);
+                journal.acknowledge(List.of(committed.trackingId()));
+            }
+        }
+
+        assertThat(Files.readAllLines(file)).hasSize(1).first().asString().contains("pendente@email.com");
+    }
+
+    private static QueuedRegistration registration(String email) {
+        return new QueuedRegistration(UUID.randomUUID(), email, "spring");
+    }
+}
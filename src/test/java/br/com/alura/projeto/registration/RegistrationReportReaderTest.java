@@ -0,0 +1,75 @@
+package br.com.alura.projeto.registration;
+
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseStatus;
+import br.com.alura.projeto.querycount.QueryCount;
+import br.com.alura.projeto.querycount.QueryCountConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "registration.report.fetch-size=2")
+@Import({RegistrationReportReader.class, QueryCountConfiguration.class})
+@ActiveProfiles("test")
+class RegistrationReportReaderTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseRegistrationStatsRepository statsRepository;
+
+    @Autowired
+    private RegistrationReportReader reportReader;
+
+    @Test
+    @DisplayName("should stream active courses ordered by total registrations")
+    void shouldStreamActiveCoursesOrderedByTotal() {
+        Category category = entityManager.persist(new Category("Programação", "programacao", "#00C86F", 1));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            Course course = entityManager.persist(new Course("Curso " + i, "curso" + (char) ('a' + i),
+                    "Instrutor " + i, category, "Descrição"));
+            for (int j = 0; j <= i; j++) {
+                statsRepository.incrementTotal(course.getId(), now);
+            }
+        }
+        Course inactive = new Course("Inativo", "inativo", "Instrutor", category, "Descrição");
+        inactive.setStatus(CourseStatus.INACTIVE);
+        entityManager.persist(inactive);
+        entityManager.flush();
+        statsRepository.incrementTotal(inactive.getId(), now);
+
+        QueryCount.reset();
+        List<RegistrationReportItem> items = new ArrayList<>();
+        reportReader.readAll(items::add);
+
+        QueryCount.assertSelectCount(1);
+        assertThat(items).extracting(RegistrationReportItem::getCourseCode)
+                .containsExactly("cursoe", "cursod", "cursoc", "cursob", "cursoa");
+        assertThat(items).extracting(RegistrationReportItem::getTotalRegistrations)
+                .containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(items.get(0).getInstructorName()).isEqualTo("Instrutor 4");
+    }
+
+    @Test
+    @DisplayName("should not call the consumer when there are no registrations")
+    void shouldNotCallConsumerWithoutRegistrations() {
+        List<RegistrationReportItem> items = new ArrayList<>();
+
+        reportReader.readAll(items::add);
+
+        assertThat(items).isEmpty();
+    }
+}
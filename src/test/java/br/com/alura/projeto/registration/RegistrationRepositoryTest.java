@@ -0,0 +1,199 @@
+package br.com.alura.projeto.registration;
+
+import br.com.alura.projeto.category.Category;
+import br.com.alura.projeto.course.Course;
+import br.com.alura.projeto.course.CourseStatus;
+import br.com.alura.projeto.id.EntityIds;
+import br.com.alura.projeto.querycount.QueryCountConfiguration;
+import br.com.alura.projeto.user.Role;
+import br.com.alura.projeto.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static br.com.alura.projeto.querycount.QueryCount.assertInsertCount;
+import static br.com.alura.projeto.querycount.QueryCount.assertSelectCount;
+import static br.com.alura.projeto.querycount.QueryCount.reset;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import({QueryCountConfiguration.class, EntityIds.class})
+@ActiveProfiles("test")
+class RegistrationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private EntityIds entityIds;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(new Category("Programação", "programacao", "#00C86F", 1));
+        Course spring = entityManager.persist(new Course("Spring Boot", "spring", "João Silva", category, "Spring"));
+        Course java = entityManager.persist(new Course("Java", "java", "Ana Lima", category, "Java"));
+        Course angular = new Course("Angular", "angular", "Pedro Costa", category, "Angular");
+        angular.setStatus(CourseStatus.INACTIVE);
+        entityManager.persist(angular);
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < 4; i++) {
+            User user = entityManager.persist(new User("Aluno " + i, "aluno" + i + "@email.com", Role.STUDENT, "mudar123"));
+            persistRegistration(user, spring, start.plusDays(i));
+            persistRegistration(user, java, start.plusDays(i).plusHours(1));
+            persistRegistration(user, angular, start.plusDays(i).plusHours(2));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        reset();
+    }
+
+    @Test
+    @DisplayName("should load a user's registrations with user and course in one select")
+    void shouldLoadRegistrationsByUserEmailInOneSelect() {
+        List<Registration> registrations = registrationRepository.findByUserEmail("aluno1@email.com");
+
+        assertThat(registrations).extracting(registration -> registration.getCourse().getName())
+                .containsExactlyInAnyOrder("Spring Boot", "Java", "Angular");
+        assertThat(registrations).extracting(registration -> registration.getUser().getName())
+                .containsOnly("Aluno 1");
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("should load a course's registrations with user and course in one select")
+    void shouldLoadRegistrationsByCourseCodeInOneSelect() {
+        List<Registration> registrations = registrationRepository.findByCourseCode("spring");
+
+        assertThat(registrations).extracting(registration -> registration.getUser().getEmail())
+                .containsExactlyInAnyOrder("aluno0@email.com", "aluno1@email.com", "aluno2@email.com", "aluno3@email.com");
+        assertThat(registrations).extracting(registration -> registration.getCourse().getCode())
+                .containsOnly("spring");
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("should load active registrations with user and course in one select")
+    void shouldLoadActiveRegistrationsInOneSelect() {
+        List<Registration> registrations = registrationRepository.findAllActiveRegistrations();
+
+        assertThat(registrations).hasSize(8);
+        assertThat(registrations).extracting(registration -> registration.getCourse().getStatus())
+                .containsOnly(CourseStatus.ACTIVE);
+        assertThat(registrations).extracting(registration -> registration.getUser().getName())
+                .doesNotContainNull();
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("should page a user's registrations as DTOs, newest first, in one select")
+    void shouldPageRegistrationItemsByUserEmailInOneSelect() {
+        Slice<RegistrationListItem> first = registrationRepository.findItemsByUserEmail("aluno2@email.com", PageRequest.of(0, 2));
+
+        assertThat(first.getContent()).extracting(RegistrationListItem::courseCode).containsExactly("angular", "java");
+        assertThat(first.getContent()).extracting(RegistrationListItem::studentName).containsOnly("Aluno 2");
+        assertThat(first.hasNext()).isTrue();
+        assertSelectCount(1);
+
+        Slice<RegistrationListItem> second = registrationRepository.findItemsByUserEmail("aluno2@email.com", PageRequest.of(1, 2));
+
+        assertThat(second.getContent()).extracting(RegistrationListItem::courseCode).containsExactly("spring");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should page a course's registrations as DTOs, newest first, in one select")
+    void shouldPageRegistrationItemsByCourseCodeInOneSelect() {
+        Slice<RegistrationListItem> page = registrationRepository.findItemsByCourseCode("java", PageRequest.of(0, 3));
+
+        assertThat(page.getContent()).extracting(RegistrationListItem::studentEmail)
+                .containsExactly("aluno3@email.com", "aluno2@email.com", "aluno1@email.com");
+        assertThat(page.getContent()).extracting(RegistrationListItem::courseName).containsOnly("Java");
+        assertThat(page.hasNext()).isTrue();
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("should insert a new registration with a single statement")
+    void shouldInsertNewRegistrationWithSingleStatement() {
+        User student = entityManager.persist(new User("Nova Aluna", "nova@email.com", Role.STUDENT, "mudar123"));
+        Course spring = entityManager.find(Course.class, courseId("spring"));
+        entityManager.flush();
+        Registration registration = new Registration(student, spring);
+        registration.setId(entityIds.next(Registration.class));
+        reset();
+
+        assertThat(registrationRepository.insertIfAbsent(registration)).isTrue();
+
+        assertInsertCount(1);
+        assertSelectCount(0);
+        assertThat(registration.getId()).isNotNull();
+        assertThat(registrationRepository.findByUserEmail("nova@email.com"))
+                .extracting(found -> found.getCourse().getCode())
+                .containsExactly("spring");
+    }
+
+    @Test
+    @DisplayName("should report an existing pair without writing and without a prior lookup")
+    void shouldReportExistingPairWithoutWriting() {
+        User student = entityManager.getEntityManager()
+                .createQuery("SELECT u FROM User u WHERE u.email = 'aluno1@email.com'", User.class)
+                .getSingleResult();
+        Course spring = entityManager.find(Course.class, courseId("spring"));
+        Registration registration = new Registration(student, spring);
+        registration.setId(entityIds.next(Registration.class));
+        reset();
+
+        assertThat(registrationRepository.insertIfAbsent(registration)).isFalse();
+
+        // H2 skips the row without MySQL's 1062 warning, so the pair is confirmed by a select instead
+        assertInsertCount(1);
+        assertSelectCount(1);
+        assertThat(registration.getId()).isNull();
+        assertThat(registrationRepository.findItemsByCourseCode("spring", PageRequest.of(0, 10))).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("should fail instead of reporting a duplicate when the course does not exist")
+    void shouldFailWhenCourseDoesNotExist() {
+        User student = entityManager.persist(new User("Nova Aluna", "nova@email.com", Role.STUDENT, "mudar123"));
+        entityManager.flush();
+        Course missing = mock(Course.class);
+        when(missing.getId()).thenReturn(Long.MAX_VALUE);
+        Registration registration = new Registration(student, missing);
+        registration.setId(entityIds.next(Registration.class));
+
+        assertThatThrownBy(() -> registrationRepository.insertIfAbsent(registration))
+                .isInstanceOf(DataAccessException.class);
+    }
+
+    private Long courseId(String code) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT c.id FROM Course c WHERE c.code = :code", Long.class)
+                .setParameter("code", code)
+                .getSingleResult();
+    }
+
+    private void persistRegistration(User user, Course course, LocalDateTime date) {
+        Registration registration = new Registration(user, course);
+        registration.setRegistrationDate(date);
+        entityManager.persist(registration);
+    }
+}
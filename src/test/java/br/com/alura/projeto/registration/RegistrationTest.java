@@ -1,5 +1,6 @@
 package br.com.alura.projeto.registration;
 
+import br.com.alura.projeto.category.Category;
 import br.com.alura.projeto.course.Course;
 import br.com.alura.projeto.course.CourseStatus;
 import br.com.alura.projeto.user.Role;
@@ -20,7 +21,7 @@ class RegistrationTest {
     @BeforeEach
     void setUp() {
         user = new User("João Silva", "joao@email.com", Role.STUDENT, "password123");
-        course = new Course("Spring Boot", "spring", "João Silva", "Backend", "Spring Boot course");
+        course = new Course("Spring Boot", "spring", "João Silva", new Category("Backend", "backend", "#00C86F", 1), "Spring Boot course");
         course.setStatus(CourseStatus.ACTIVE);
     }
 
@@ -58,7 +59,7 @@ class RegistrationTest {
     @DisplayName("should create registration with different users and courses")
     void shouldCreateRegistrationWithDifferentUsersAndCourses() {
         User user2 = new User("Maria Santos", "maria@email.com", Role.STUDENT, "password456");
-        Course course2 = new Course("React", "react", "Maria Santos", "Frontend", "React course");
+        Course course2 = new Course("React", "react", "Maria Santos", new Category("Frontend", "frontend", "#6BD1FF", 2), "React course");
         course2.setStatus(CourseStatus.ACTIVE);
 
         Registration registration1 = new Registration(user, course);
@@ -0,0 +1,228 @@
+package br.com.alura.projeto.registration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegistrationWriteBehindTest {
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RegistrationBatchService batchService = mock(RegistrationBatchService.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final List<String> committedEmails = new CopyOnWriteArrayList<>();
+    private final List<RegistrationWriteBehind> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        started.stream().filter(RegistrationWriteBehind::isRunning).forEach(RegistrationWriteBehind::stop);
+    }
+
+    @Test
+    @DisplayName("should commit queued registrations in batches and report their status")
+    void shouldCommitInBatches() {
+        commitEverything();
+        RegistrationWriteBehind writeBehind = start(properties(100, 50, Duration.ofMillis(200)));
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            ids.add(writeBehind.submit(request("aluno" + i + "@email.com")).orElseThrow());
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> committedEmails.size() == 120);
+        assertThat(batchSizes).allMatch(size -> size <= 50);
+        assertThat(batchSizes.size()).isLessThan(120);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(ids)
+                .allSatisfy(id -> assertThat(writeBehind.tracking(id))
+                        .hasValueSatisfying(tracking -> assertThat(tracking.status()).isEqualTo(RegistrationBatchStatus.CREATED))));
+    }
+
+    @Test
+    @DisplayName("should refuse registrations while the queue is full")
+    void shouldRefuseWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchService.register(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return created(invocation.getArgument(0));
+        });
+        RegistrationWriteBehind writeBehind = start(properties(2, 10, Duration.ZERO));
+
+        assertThat(writeBehind.submit(request("ana@email.com"))).isPresent();
+        assertThat(writeBehind.submit(request("bia@email.com"))).isPresent();
+        assertThat(writeBehind.submit(request("caio@email.com"))).isEmpty();
+
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> writeBehind.submit(request("caio@email.com")).isPresent());
+    }
+
+    @Test
+    @DisplayName("should replay registrations left in the journal by a crash")
+    void shouldReplayAfterCrash() throws Exception {
+        RegistrationWriteBehindProperties properties = properties(100, 50, Duration.ZERO);
+        try (RegistrationJournal crashed = new RegistrationJournal(properties.journal(), Long.MAX_VALUE, objectMapper)) {
+            crashed.recover();
+            crashed.append(QueuedRegistration.of(request("ana@email.com")));
+            crashed.append(QueuedRegistration.of(request("bia@email.com")));
+        }
+
+        commitEverything();
+        start(properties);
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(committedEmails).containsExactly("ana@email.com", "bia@email.com"));
+    }
+
+    @Test
+    @DisplayName("should retry a failed batch until it commits")
+    void shouldRetryFailedBatch() {
+        when(batchService.register(anyList()))
+                .thenThrow(new IllegalStateException("banco indisponível"))
+                .thenAnswer(invocation -> created(invocation.getArgument(0)));
+        RegistrationWriteBehind writeBehind = start(properties(100, 50, Duration.ZERO));
+
+        UUID id = writeBehind.submit(request("ana@email.com")).orElseThrow();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> writeBehind.tracking(id)
+                .map(tracking -> !tracking.pending())
+                .orElse(false));
+    }
+
+    @Test
+    @DisplayName("should isolate a registration that keeps failing and commit the rest of its batch")
+    void shouldIsolatePoisonRegistration() {
+        when(batchService.register(anyList())).thenAnswer(invocation -> {
+            List<NewRegistrationDTO> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(request -> request.getStudentEmail().equals("veneno@email.com"))) {
+                throw new IllegalStateException("linha inválida");
+            }
+            batch.forEach(request -> committedEmails.add(request.getStudentEmail()));
+            return created(batch);
+        });
+        RegistrationWriteBehind writeBehind = start(properties(100, 50, Duration.ofMillis(200)));
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ids.add(writeBehind.submit(request(i == 5 ? "veneno@email.com" : "aluno" + i + "@email.com")).orElseThrow());
+        }
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> writeBehind.tracking(ids.get(5))
+                .map(tracking -> tracking.status() == RegistrationBatchStatus.FAILED)
+                .orElse(false));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> committedEmails.size() == 7);
+        assertThat(committedEmails).doesNotContain("veneno@email.com");
+        assertThat(writeBehind.submit(request("depois@email.com"))).isPresent();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> committedEmails.contains("depois@email.com"));
+    }
+
+    @Test
+    @DisplayName("should keep retrying while the database is unreachable")
+    void shouldKeepRetryingWhileDatabaseIsUnreachable() {
+        when(batchService.register(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("banco indisponível"))
+                .thenThrow(new DataAccessResourceFailureException("banco indisponível"))
+                .thenThrow(new DataAccessResourceFailureException("banco indisponível"))
+                .thenThrow(new DataAccessResourceFailureException("banco indisponível"))
+                .thenAnswer(invocation -> created(invocation.getArgument(0)));
+        RegistrationWriteBehind writeBehind = start(properties(100, 50, Duration.ZERO));
+
+        UUID id = writeBehind.submit(request("ana@email.com")).orElseThrow();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> writeBehind.tracking(id)
+                .map(tracking -> tracking.status() == RegistrationBatchStatus.CREATED)
+                .orElse(false));
+    }
+
+    @Test
+    @DisplayName("should rethrow a failed append and mark it failed, never committed")
+    void shouldRethrowFailedAppend() {
+        RegistrationJournal journal = mock(RegistrationJournal.class);
+        UncheckedIOException full = new UncheckedIOException(new IOException("disco cheio"));
+        UncheckedIOException stillFull = new UncheckedIOException(new IOException("disco cheio"));
+        doThrow(full).when(journal).append(any());
+        doThrow(stillFull).when(journal).fail(anyCollection());
+        RegistrationWriteBehindProperties properties = properties(1, 50, Duration.ZERO);
+        RegistrationWriteBehind writeBehind = new RegistrationWriteBehind(batchService, journal, properties);
+        writeBehind.start();
+        started.add(writeBehind);
+
+        assertThatThrownBy(() -> writeBehind.submit(request("ana@email.com")))
+                .isSameAs(full)
+                .hasSuppressedException(stillFull);
+
+        verify(journal).fail(anyCollection());
+        verify(journal, never()).acknowledge(anyCollection());
+        assertThat(writeBehind.pending()).isZero();
+        doNothing().when(journal).append(any());
+        assertThat(writeBehind.submit(request("bia@email.com"))).isPresent();
+    }
+
+    private void commitEverything() {
+        when(batchService.register(anyList())).thenAnswer(invocation -> {
+            List<NewRegistrationDTO> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            batch.forEach(request -> committedEmails.add(request.getStudentEmail()));
+            return created(batch);
+        });
+    }
+
+    private RegistrationWriteBehind start(RegistrationWriteBehindProperties properties) {
+        RegistrationJournal journal = new RegistrationJournal(properties.journal(), properties.compactAbove().toBytes(), objectMapper);
+        RegistrationWriteBehind writeBehind = new RegistrationWriteBehind(batchService, journal, properties);
+        writeBehind.start();
+        started.add(writeBehind);
+        return writeBehind;
+    }
+
+    private RegistrationWriteBehindProperties properties(int capacity, int batchSize, Duration maxWait) {
+        return new RegistrationWriteBehindProperties(true, capacity, batchSize, maxWait, Duration.ofMillis(10),
+                dir.resolve("journal.log"), DataSize.ofMegabytes(1), 3);
+    }
+
+    private static List<RegistrationBatchResult> created(List<NewRegistrationDTO> batch) {
+        List<RegistrationBatchResult> results = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            NewRegistrationDTO request = batch.get(i);
+            results.add(new RegistrationBatchResult(i, request.getStudentEmail(), request.getCourseCode(),
+                    RegistrationBatchStatus.CREATED, null));
+        }
+        return results;
+    }
+
+    private static NewRegistrationDTO request(String email) {
+        NewRegistrationDTO request = new NewRegistrationDTO();
+        request.setStudentEmail(email);
+        request.setCourseCode("spring");
+        return request;
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.alura.projeto.user;
+
+import br.com.alura.projeto.password.LegacyMd5PasswordHasher;
+import br.com.alura.projeto.password.PasswordHashing;
+import br.com.alura.projeto.password.Pbkdf2PasswordHasher;
+import br.com.alura.projeto.util.EncryptUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({UserAuthenticator.class, PasswordHashing.class, Pbkdf2PasswordHasher.class, LegacyMd5PasswordHasher.class})
+@ActiveProfiles("test")
+class UserAuthenticatorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserAuthenticator userAuthenticator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashing passwordHashing;
+
+    @Test
+    @DisplayName("should accept a legacy MD5 password and replace it with the current hash")
+    void shouldRehashLegacyPasswordOnLogin() {
+        User user = persist(EncryptUtil.toMD5("mudar123"));
+
+        assertThat(userAuthenticator.authenticate("charles@alura.com.br", "mudar123")).isPresent();
+
+        String stored = storedPassword(user);
+        assertThat(stored).startsWith("$" + Pbkdf2PasswordHasher.ALGORITHM + "$");
+        assertThat(passwordHashing.matches("mudar123", stored)).isTrue();
+        assertThat(passwordHashing.needsRehash(stored)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should keep a current hash untouched")
+    void shouldKeepCurrentHash() {
+        String current = passwordHashing.hash("mudar123");
+        User user = persist(current);
+
+        assertThat(userAuthenticator.authenticate("charles@alura.com.br", "mudar123")).isPresent();
+
+        assertThat(storedPassword(user)).isEqualTo(current);
+    }
+
+    @Test
+    @DisplayName("should reject a wrong password without rehashing")
+    void shouldRejectWrongPassword() {
+        String legacy = EncryptUtil.toMD5("mudar123");
+        User user = persist(legacy);
+
+        assertThat(userAuthenticator.authenticate("charles@alura.com.br", "errada")).isEmpty();
+        assertThat(userAuthenticator.authenticate("outro@alura.com.br", "mudar123")).isEmpty();
+
+        assertThat(storedPassword(user)).isEqualTo(legacy);
+    }
+
+    @Test
+    @DisplayName("should not overwrite a password changed since it was read")
+    void shouldNotOverwriteConcurrentPasswordChange() {
+        String legacy = EncryptUtil.toMD5("mudar123");
+        User user = persist(legacy);
+        String changed = passwordHashing.hash("nova-senha");
+        assertThat(userRepository.updatePassword(user.getId(), legacy, changed)).isEqualTo(1);
+
+        assertThat(userRepository.updatePassword(user.getId(), legacy, passwordHashing.hash("mudar123"))).isZero();
+        assertThat(storedPassword(user)).isEqualTo(changed);
+    }
+
+    private User persist(String encodedPassword) {
+        User user = entityManager.persistFlushFind(
+                new User("Charles", "charles@alura.com.br", Role.STUDENT, encodedPassword));
+        entityManager.clear();
+        return user;
+    }
+
+    private String storedPassword(User user) {
+        entityManager.clear();
+        return entityManager.find(User.class, user.getId()).getPassword();
+    }
+}
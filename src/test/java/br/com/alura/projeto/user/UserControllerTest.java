@@ -1,19 +1,43 @@
 package br.com.alura.projeto.user;
 
+import br.com.alura.projeto.existence.ExistenceFilters;
+import br.com.alura.projeto.id.EntityIds;
+import br.com.alura.projeto.password.PasswordHashing;
+import br.com.alura.projeto.password.PasswordHashingBusyException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
-import java.util.Arrays;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
@@ -25,9 +49,28 @@ class UserControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private UserListReader userListReader;
+
+    @MockBean
+    private ExistenceFilters existenceFilters;
+
+    @MockBean
+    private PasswordHashing passwordHashing;
+
+    @MockBean
+    private EntityIds entityIds;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void setUp() {
+        when(existenceFilters.exists(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Predicate<String>>getArgument(2).test(invocation.getArgument(1)));
+        when(passwordHashing.hash(any())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+    }
+
     @Test
     void newStudent__should_return_bad_request_when_password_is_blank() throws Exception {
         NewStudentUserDTO newStudentUserDTO = new NewStudentUserDTO();
@@ -103,20 +146,140 @@ class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(newStudentUserDTO)))
                 .andExpect(status().isCreated());
+
+        verify(userRepository).saveAndFlush(argThat(user -> user.getPassword().equals("hash:mudar123")));
     }
 
     @Test
-    void listAllUsers__should_list_all_users() throws Exception {
-        User user1 = new User("User 1", "user1@test.com", Role.STUDENT,"mudar123");
-        User user2 = new User("User 2", "user2@test.com",Role.STUDENT,"mudar123");
+    @DisplayName("should answer 503 with Retry-After when the hashing pool is saturated")
+    void shouldReturnServiceUnavailableWhenHashingIsBusy() throws Exception {
+        NewStudentUserDTO newStudentUserDTO = new NewStudentUserDTO();
+        newStudentUserDTO.setEmail("charles@alura.com.br");
+        newStudentUserDTO.setName("Charles");
+        newStudentUserDTO.setPassword("mudar123");
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user1, user2));
+        when(userRepository.existsByEmail(newStudentUserDTO.getEmail())).thenReturn(false);
+        when(passwordHashing.hash(any())).thenThrow(new PasswordHashingBusyException("Fila de hashing de senhas cheia"));
+
+        mockMvc.perform(post("/user/newStudent")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newStudentUserDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", UserController.RETRY_AFTER_SECONDS));
+
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void newStudent__should_return_bad_request_when_email_is_taken_between_check_and_insert() throws Exception {
+        NewStudentUserDTO newStudentUserDTO = new NewStudentUserDTO();
+        newStudentUserDTO.setEmail("charles@alura.com.br");
+        newStudentUserDTO.setName("Charles");
+        newStudentUserDTO.setPassword("mudar123");
+
+        when(userRepository.existsByEmail(newStudentUserDTO.getEmail())).thenReturn(false);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("\"User\".UC_Email"));
+
+        mockMvc.perform(post("/user/newStudent")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newStudentUserDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.field").value("email"))
+                .andExpect(jsonPath("$.message").value("Email já cadastrado no sistema"));
+    }
+
+    @Test
+    void listAllUsers__should_list_all_users() throws Exception {
+        when(userRepository.findListItemsAfter(0L, Limit.of(100)))
+                .thenReturn(List.of(item(1L, "User 1"), item(2L, "User 2")));
 
         mockMvc.perform(get("/user/all")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("User 1"))
-                .andExpect(jsonPath("$[1].name").value("User 2"));
+                .andExpect(jsonPath("$[0].email").value("user1@test.com"))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[1].name").value("User 2"))
+                .andExpect(header().doesNotExist(UserController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    @DisplayName("should return a next cursor when the page is full and resume after it")
+    void shouldReturnNextCursorWhenPageIsFull() throws Exception {
+        when(userRepository.findListItemsAfter(0L, Limit.of(2)))
+                .thenReturn(List.of(item(1L, "User 1"), item(2L, "User 2")));
+        when(userRepository.findListItemsAfter(2L, Limit.of(2)))
+                .thenReturn(List.of(item(3L, "User 3")));
+
+        String cursor = mockMvc.perform(get("/user/all").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(UserController.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(UserController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/user/all").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("User 3"))
+                .andExpect(header().doesNotExist(UserController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    @DisplayName("should cap the page size")
+    void shouldCapPageSize() throws Exception {
+        when(userRepository.findListItemsAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+
+        mockMvc.perform(get("/user/all").param("size", "100000"))
+                .andExpect(status().isOk());
+
+        verify(userRepository).findListItemsAfter(0L, Limit.of(UserController.MAX_PAGE_SIZE));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("should reject an invalid cursor")
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get("/user/all").param("cursor", "nao-e-um-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.field").value("cursor"));
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("should stream every user as NDJSON")
+    @SuppressWarnings("unchecked")
+    void shouldStreamUsersAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserListItem> consumer = invocation.getArgument(0);
+            consumer.accept(item(1L, "User 1"));
+            consumer.accept(item(2L, "User 2"));
+            return null;
+        }).when(userListReader).readAll(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/user/all").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("""
+                        {"name":"User 1","email":"user1@test.com","role":"STUDENT"}
+                        {"name":"User 2","email":"user2@test.com","role":"STUDENT"}
+                        """));
+    }
+
+    private static UserListItem item(Long id, String name) {
+        return new UserListItem() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getEmail() { return "user" + id + "@test.com"; }
+            public Role getRole() { return Role.STUDENT; }
+        };
+    }
+
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("Duplicate entry",
+                new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), constraintName));
+    }
+}
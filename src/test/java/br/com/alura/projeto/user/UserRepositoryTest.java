@@ -0,0 +1,83 @@
+package br.com.alura.projeto.user;
+
+import br.com.alura.projeto.querycount.QueryCount;
+import br.com.alura.projeto.querycount.QueryCountConfiguration;
+import br.com.alura.projeto.util.ConstraintViolations;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({UserListReader.class, QueryCountConfiguration.class})
+@ActiveProfiles("test")
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserListReader userListReader;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(new User("User " + i, "user" + i + "@test.com", Role.STUDENT, "mudar123"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        QueryCount.reset();
+    }
+
+    @Test
+    @DisplayName("should page list items by id after the given cursor")
+    void shouldPageListItemsAfterCursor() {
+        List<UserListItem> first = userRepository.findListItemsAfter(0L, Limit.of(2));
+        List<UserListItem> second = userRepository.findListItemsAfter(first.get(1).getId(), Limit.of(2));
+        List<UserListItem> last = userRepository.findListItemsAfter(second.get(1).getId(), Limit.of(2));
+
+        assertThat(first).extracting(UserListItem::getName).containsExactly("User 1", "User 2");
+        assertThat(second).extracting(UserListItem::getName).containsExactly("User 3", "User 4");
+        assertThat(last).extracting(UserListItem::getName).containsExactly("User 5");
+        assertThat(last.get(0).getEmail()).isEqualTo("user5@test.com");
+        assertThat(last.get(0).getRole()).isEqualTo(Role.STUDENT);
+    }
+
+    @Test
+    @DisplayName("should stream every list item without loading entities")
+    void shouldStreamListItemsWithoutLoadingEntities() {
+        List<UserListItem> items = new ArrayList<>();
+
+        userListReader.readAll(items::add);
+
+        QueryCount.assertSelectCount(1);
+        assertThat(items).extracting(UserListItem::getName)
+                .containsExactly("User 1", "User 2", "User 3", "User 4", "User 5");
+        assertThat(entityManager.getEntityManager().unwrap(SharedSessionContractImplementor.class)
+                .getPersistenceContext().getNumberOfManagedEntities()).isZero();
+    }
+
+    @Test
+    @DisplayName("should reject a duplicate email through the named unique constraint")
+    void shouldRejectDuplicateEmailThroughUniqueConstraint() {
+        assertThatThrownBy(() -> userRepository.saveAndFlush(new User("Outro", "user1@test.com", Role.STUDENT, "mudar123")))
+                .isInstanceOfSatisfying(DataIntegrityViolationException.class,
+                        e -> assertThat(ConstraintViolations.violates(e, User.EMAIL_CONSTRAINT)).isTrue());
+    }
+}
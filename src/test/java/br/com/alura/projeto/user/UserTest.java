@@ -1,6 +1,5 @@
 package br.com.alura.projeto.user;
 
-import br.com.alura.projeto.util.EncryptUtil;
 import org.junit.jupiter.api.Test;
 
 import static br.com.alura.projeto.user.Role.STUDENT;
@@ -9,10 +8,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 class UserTest {
 
     @Test
-    void password__should_be_encrypted_to_md5() {
-        User user = new User("Charles", "charles@alura.com.br", STUDENT, "mudar123");
+    void password__should_be_stored_as_given_already_encoded() {
+        User user = new User("Charles", "charles@alura.com.br", STUDENT, "$pbkdf2-sha256$1000$c2FsdA$aGFzaA");
         assertThat(user.getPassword())
-                .isEqualTo(EncryptUtil.toMD5("mudar123"));
+                .isEqualTo("$pbkdf2-sha256$1000$c2FsdA$aGFzaA");
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package br.com.alura.projeto.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConstraintViolationsTest {
+
+    @Test
+    @DisplayName("should match the constraint name as decorated by MySQL and H2")
+    void shouldMatchDecoratedConstraintName() {
+        assertThat(ConstraintViolations.violates(violation("courses.UC_Course_Code"), "UC_Course_Code")).isTrue();
+        assertThat(ConstraintViolations.violates(violation("PUBLIC.UC_COURSE_CODE_INDEX_C"), "UC_Course_Code")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should not match another constraint")
+    void shouldNotMatchAnotherConstraint() {
+        assertThat(ConstraintViolations.violates(violation("User.UC_Email"), "UC_Course_Code")).isFalse();
+        assertThat(ConstraintViolations.violates(violation(null), "UC_Course_Code")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should search the driver message when the dialect mangled the constraint name")
+    void shouldSearchDriverMessageWhenConstraintNameIsMangled() {
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("could not execute batch",
+                new ConstraintViolationException("could not execute batch", new SQLException(
+                        "Referential integrity constraint violation: \"fk_course_category: public.courses\""), "k_course_category"));
+
+        assertThat(ConstraintViolations.violates(exception, "fk_course_category")).isTrue();
+        assertThat(ConstraintViolations.violates(exception, "UC_Course_Code")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should not match when the cause is not a constraint violation")
+    void shouldNotMatchWithoutConstraintViolationCause() {
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("Data too long",
+                new SQLException("Data too long for column 'code'"));
+
+        assertThat(ConstraintViolations.violates(exception, "UC_Course_Code")).isFalse();
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("Duplicate entry",
+                new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), constraintName));
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.alura.projeto.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("should split plain records and report the line each one starts on")
+    void shouldSplitPlainRecords() throws IOException {
+        CsvReader csv = reader("name,code\r\nJava,java\n\nSpring,spring");
+
+        assertThat(csv.next()).containsExactly("name", "code");
+        assertThat(csv.line()).isEqualTo(1);
+        assertThat(csv.next()).containsExactly("Java", "java");
+        assertThat(csv.line()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("Spring", "spring");
+        assertThat(csv.line()).isEqualTo(4);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("should keep commas, doubled quotes and line breaks inside quoted fields")
+    void shouldReadQuotedFields() throws IOException {
+        CsvReader csv = reader("\"a, b\",\"diz \"\"oi\"\"\",\"linha 1\nlinha 2\"\nnext,,\n");
+
+        assertThat(csv.next()).containsExactly("a, b", "diz \"oi\"", "linha 1\nlinha 2");
+        assertThat(csv.next()).containsExactly("next", "", "");
+        assertThat(csv.line()).isEqualTo(3);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("should skip a byte order mark and keep stray quotes in unquoted fields")
+    void shouldSkipBomAndKeepStrayQuotes() throws IOException {
+        CsvReader csv = reader("\uFEFFcode,note\njava,5\" tela\n");
+
+        assertThat(csv.next()).containsExactly("code", "note");
+        assertThat(csv.next()).containsExactly("java", "5\" tela");
+    }
+
+    @Test
+    @DisplayName("should end an unterminated quoted field at the end of the input")
+    void shouldEndUnterminatedQuotedField() throws IOException {
+        CsvReader csv = reader("\"sem fim,ainda");
+
+        assertThat(csv.next()).isEqualTo(List.of("sem fim,ainda"));
+        assertThat(csv.next()).isNull();
+    }
+
+    private static CsvReader reader(String text) {
+        return new CsvReader(new StringReader(text));
+    }
+}